@@ -0,0 +1,93 @@
+package nimbus.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the trigram index with the linear scan that {@code find} used before it,
+ * for a rare term, a common word and a mid-word substring.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FindBenchmark {
+    private static final String[] WORDS = {
+        "read", "book", "return", "library", "write", "report", "submit", "assignment", "buy", "groceries",
+        "call", "mom", "project", "meeting", "review", "notes", "pay", "invoice", "clean", "room",
+        "plan", "trip", "fix", "bug", "prepare", "slides", "email", "team", "water", "plants",
+    };
+
+    @Param({"10000", "100000", "1000000"})
+    private int taskCount;
+
+    @Param({"4242", "report", "ook"})
+    private String query;
+
+    private List<Task> tasks;
+    private TrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        tasks = new ArrayList<>(taskCount);
+        index = new TrigramIndex();
+        for (int i = 0; i < taskCount; i++) {
+            StringBuilder description = new StringBuilder();
+            int wordCount = 2 + random.nextInt(3);
+            for (int j = 0; j < wordCount; j++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            description.append(random.nextInt(100_000));
+
+            Task task = new Todo(description.toString());
+            task.setId(i + 1);
+            tasks.add(task);
+            index.add(task);
+        }
+    }
+
+    /**
+     * The scan {@code find} used before the index: lowercase every description and the keyword.
+     */
+    @Benchmark
+    public List<Task> linearScan() {
+        ArrayList<Task> matchingTasks = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getDescription().toLowerCase().contains(query.toLowerCase())) {
+                matchingTasks.add(task);
+            }
+        }
+        return matchingTasks;
+    }
+
+    @Benchmark
+    public List<Task> trigramIndex() {
+        PostingList ids = index.find(query);
+        ArrayList<Task> matchingTasks = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            matchingTasks.add(tasks.get(ids.get(i) - 1));
+        }
+        return matchingTasks;
+    }
+}
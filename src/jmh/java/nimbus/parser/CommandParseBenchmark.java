@@ -0,0 +1,82 @@
+package nimbus.parser;
+
+import java.util.concurrent.TimeUnit;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.parser.CommandLine.Marker;
+import nimbus.parser.Parser.Command;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares splitting a command with {@link CommandLine} and finding it in the keyword trie with the
+ * splits, uppercasing and {@code Command.valueOf} used before, up to the strings a task is created from.
+ * The allocation per command is reported by the {@code gc} profiler as {@code gc.alloc.rate.norm}.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandParseBenchmark {
+    @Param({
+        "todo Read book",
+        "deadline Submit report /by 2023-12-01 1800",
+        "event Team meeting /from 2023-10-15 1600 /to 2023-10-15 1800",
+        "mark 12",
+    })
+    private String input;
+
+    /**
+     * The parsing done before the tokenizer: a split for the keyword, then more splits for the arguments.
+     */
+    @Benchmark
+    public void splitAndValueOf(Blackhole blackhole) {
+        Command command = Command.valueOf(input.split(" ")[0].toUpperCase());
+        switch (command) {
+        case TODO -> blackhole.consume(input.substring(5).trim());
+        case DEADLINE -> {
+            String[] parts = input.substring(9).split(" /by ");
+            blackhole.consume(parts[0].trim());
+            blackhole.consume(parts[1].trim());
+        }
+        case EVENT -> {
+            String[] parts = input.substring(6).split(" /from | /to ");
+            blackhole.consume(parts[0].trim());
+            blackhole.consume(parts[1].trim());
+            blackhole.consume(parts[2].trim());
+        }
+        default -> blackhole.consume(Integer.parseInt(input.split(" ")[1]));
+        }
+    }
+
+    @Benchmark
+    public void tokenizerAndTrie(Blackhole blackhole) throws NimbusException {
+        CommandLine line = new CommandLine(input);
+        switch (Command.parseCommand(line)) {
+        case TODO -> blackhole.consume(line.getArguments());
+        case DEADLINE -> {
+            blackhole.consume(line.getDescription());
+            blackhole.consume(line.getValue(Marker.BY));
+        }
+        case EVENT -> {
+            blackhole.consume(line.getDescription());
+            blackhole.consume(line.getValue(Marker.FROM));
+            blackhole.consume(line.getValue(Marker.TO));
+        }
+        default -> blackhole.consume(Integer.parseInt(input, line.getArgumentStart(), line.getFirstArgumentEnd(), 10));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package nimbus.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.tasks.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading a text task file of deadlines and events whose dates are all written in one of
+ * the input formats, as in a file edited by hand. The later formats are where trying each
+ * {@code DateTimeFormatter} in turn threw an exception per format tried.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoadBenchmark {
+    @Param({"1000000"})
+    private int taskCount;
+
+    @Param({"2023-10-15 1800", "15/10/2023 1800", "Oct 15 2023 1800", "15 10 2023 1800"})
+    private String dateTime;
+
+    private Path file;
+    private Storage storage;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("nimbus-load", ".txt");
+        List<String> lines = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            lines.add(i % 2 == 0
+                    ? "D | 0 | Submit report " + i + " | " + dateTime
+                    : "E | 1 | Team meeting " + i + " | " + dateTime + " | " + dateTime);
+        }
+        Files.write(file, lines);
+        storage = new Storage(file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Task> loadTasks() throws NimbusException {
+        return storage.loadTasks();
+    }
+}
@@ -0,0 +1,78 @@
+package nimbus.tasklist;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.storage.Storage;
+import nimbus.ui.UI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link TaskList#deleteTask(String)} end to end, with the list and every index updated, for a task
+ * at a random position and for a task looked up by ID. The descriptions share most of their trigrams, as real
+ * ones share words, so each deletion touches posting lists holding nearly every task.
+ * Every deletion is followed by an append, so the list keeps its size across invocations.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DeleteBenchmark {
+    @Param({"100000", "1000000"})
+    private int taskCount;
+
+    @Param({"TREE", "COLUMNAR"})
+    private TaskStore store;
+
+    private File file;
+    private TaskList taskList;
+    private Random random;
+
+    @Setup
+    public void setUp() throws IOException, NimbusException {
+        file = File.createTempFile("nimbus_delete", ".txt");
+        taskList = new TaskList(new Storage(file.getAbsolutePath()), new UI(), store);
+        for (int i = 0; i < taskCount; i++) {
+            taskList.addTodoTask("todo Review the weekly report " + i);
+        }
+        random = new Random(42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public String deleteRandom() throws NimbusException {
+        String reply = taskList.deleteTask("delete " + (random.nextInt(taskCount) + 1));
+        taskList.addTodoTask("todo Review the weekly report again");
+        return reply;
+    }
+
+    @Benchmark
+    public String deleteById() throws NimbusException {
+        int id = taskList.getTasks().get(random.nextInt(taskCount)).getId();
+        String reply = taskList.deleteTask("delete #" + id);
+        taskList.addTodoTask("todo Review the weekly report again");
+        return reply;
+    }
+}
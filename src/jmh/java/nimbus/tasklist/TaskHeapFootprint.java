@@ -0,0 +1,78 @@
+package nimbus.tasklist;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.storage.DurabilityPolicy;
+import nimbus.storage.Storage;
+import nimbus.storage.StorageFormat;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import nimbus.ui.UI;
+
+/**
+ * Measures the heap retained per task by a whole {@link TaskList} loaded in each {@link TaskStore},
+ * indexes included, for a mix of todos, deadlines and events, so that copies of the descriptions kept
+ * by an index show up next to the store's own footprint.
+ * Heap use is read after a full collection, so run it with a fixed heap, for example {@code java -Xms4g -Xmx4g}.
+ */
+public class TaskHeapFootprint {
+    private static final int TASK_COUNT = 1_000_000;
+
+    public static void main(String[] args) throws IOException, NimbusException {
+        File file = File.createTempFile("nimbus_footprint", ".bin");
+        file.deleteOnExit();
+        long textBytes = 0;
+        for (int i = 0; i < TASK_COUNT; i++) {
+            textBytes += 2L * description(i).length();
+        }
+        openStorage(file).saveTasks(createTasks());
+
+        System.out.printf("descriptions: %d bytes per task as strings%n", textBytes / TASK_COUNT);
+        for (TaskStore store : TaskStore.values()) {
+            long before = usedHeap();
+            TaskList taskList = new TaskList(openStorage(file), new UI(), store);
+            long bytes = usedHeap() - before;
+            System.out.printf("%-9s %d bytes per task on the heap, indexes included%n", store.name().toLowerCase(),
+                    bytes / TASK_COUNT);
+            System.out.println(taskList.getTasks().get(TASK_COUNT - 1));
+        }
+    }
+
+    private static Storage openStorage(File file) {
+        return new Storage(file.getAbsolutePath(), StorageFormat.BINARY, false, DurabilityPolicy.SYNC, 0);
+    }
+
+    private static List<Task> createTasks() {
+        List<Task> tasks = new ArrayList<>(TASK_COUNT);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            Task task = switch (i % 3) {
+            case 0 -> new Todo(description(i));
+            case 1 -> new Deadline(description(i), base.plusMinutes(i));
+            default -> new Event(description(i), base.plusMinutes(i), base.plusMinutes(i + 60));
+            };
+            task.setId(i + 1);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static String description(int i) {
+        return "Task number " + i;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,73 @@
+package nimbus.tasklist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link TreeList} behind the task list with the {@link ArrayList} it replaced,
+ * for deleting at the head, deleting at a random position, and reading a random position.
+ * Every deletion is followed by an append, so the list keeps its size across invocations.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TreeListBenchmark {
+    @Param({"1000000"})
+    private int taskCount;
+
+    @Param({"ArrayList", "TreeList"})
+    private String implementation;
+
+    private List<Task> tasks;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        List<Task> loaded = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            loaded.add(new Todo("Task " + i));
+        }
+        tasks = implementation.equals("TreeList") ? new TreeList<>(loaded) : loaded;
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public Task deleteFirst() {
+        Task removed = tasks.remove(0);
+        tasks.add(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public Task deleteRandom() {
+        Task removed = tasks.remove(random.nextInt(taskCount));
+        tasks.add(removed);
+        return removed;
+    }
+
+    @Benchmark
+    public Task getRandom() {
+        return tasks.get(random.nextInt(taskCount));
+    }
+}
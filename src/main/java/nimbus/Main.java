@@ -51,4 +51,16 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Makes sure every queued save reaches the disk before the application exits.
+     */
+    @Override
+    public void stop() {
+        try {
+            nimbus.close();
+        } catch (NimbusException e) {
+            System.err.println(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
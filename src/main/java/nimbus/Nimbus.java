@@ -5,8 +5,12 @@ import javafx.application.Platform;
 import javafx.util.Duration;
 
 
+import nimbus.ui.ResponseBuffer;
 import nimbus.ui.UI;
+import nimbus.storage.DurabilityPolicy;
 import nimbus.storage.Storage;
+import nimbus.storage.StorageFormat;
+import nimbus.storage.StorageLayout;
 import nimbus.tasklist.TaskList;
 import nimbus.parser.Parser;
 import nimbus.exceptions.NimbusException;
@@ -17,19 +21,36 @@ import nimbus.exceptions.NimbusException;
  * and manages the application's main execution flow.
  */
 public class Nimbus {
+    /** The system property that picks the storage layout, such as {@code -Dnimbus.storage=segmented}. */
+    public static final String LAYOUT_PROPERTY = "nimbus.storage";
+
+    private static final int MAX_RESPONSE_LENGTH = 64 * 1024;
+
     private final UI ui;
     private final Storage storage;
     private final TaskList taskList;
     private final Parser parser;
 
     /**
-     * Constructs a Nimbus chatbot instance with the specified file path for storage.
+     * Constructs a Nimbus chatbot instance with the specified file path for storage, laid out as the
+     * {@value #LAYOUT_PROPERTY} system property says: {@code journal} (the default), {@code segmented}
+     * or {@code single_file}.
      *
      * @param filepath The path to the file where tasks are stored.
      */
     public Nimbus(String filepath) throws NimbusException {
+        this(filepath, layoutFromProperty());
+    }
+
+    /**
+     * Constructs a Nimbus chatbot instance that stores its tasks in the given layout.
+     *
+     * @param filepath The path to the file where tasks are stored.
+     * @param layout How the tasks are laid out on disk.
+     */
+    public Nimbus(String filepath, StorageLayout layout) throws NimbusException {
         this.ui = new UI();
-        this.storage = new Storage(filepath);
+        this.storage = Storage.open(filepath, StorageFormat.BINARY, layout, DurabilityPolicy.EVERY_COMMAND, 0);
         this.taskList = new TaskList(storage, ui);
         this.parser = new Parser(taskList, ui, storage);
     }
@@ -42,17 +63,31 @@ public class Nimbus {
         this("./data/nimbus.txt");
     }
 
+    private static StorageLayout layoutFromProperty() throws NimbusException {
+        String name = System.getProperty(LAYOUT_PROPERTY, StorageLayout.JOURNAL.name());
+        StorageLayout layout = StorageLayout.parse(name);
+        if (layout == null) {
+            throw new NimbusException("Oops! '" + name + "' is not a storage layout. "
+                    + "Use journal, segmented or single_file.");
+        }
+        return layout;
+    }
+
     /**
      * Processes user input and returns Nimbus's response.
-     * This method is used by the GUI to interact with the chatbot.
+     * This method is used by the GUI to interact with the chatbot. Input of several lines is run as one batch.
+     * The response is written into a buffer that stops at {@value #MAX_RESPONSE_LENGTH} characters,
+     * so one very long response cannot flood the dialog.
      *
      * @param input The user input string.
      * @return The chatbot's response.
      */
     public String getResponse(String input) {
         try {
-            if (input.equalsIgnoreCase("bye")) {
+            boolean isSingleLine = !input.isEmpty() && input.indexOf('\n') < 0;
+            if (isSingleLine && Parser.Command.parseCommand(input) == Parser.Command.BYE) {
                 String exitMessage = ui.showExitMessage();
+                storage.flush();
 
                 PauseTransition delay = new PauseTransition(Duration.seconds(2));
                 delay.setOnFinished(event -> Platform.exit());
@@ -60,9 +95,19 @@ public class Nimbus {
 
                 return exitMessage;
             }
-            return parser.processCommand(input);
+            ResponseBuffer response = new ResponseBuffer(MAX_RESPONSE_LENGTH);
+            parser.processCommand(input, response);
+            return response.toString();
         } catch (NimbusException e) {
             return ui.showErrorMessage(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes any queued saves and stops the background storage threads.
+     * Called when the application shuts down.
+     */
+    public void close() throws NimbusException {
+        storage.close();
+    }
+}
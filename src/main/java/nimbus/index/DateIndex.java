@@ -0,0 +1,160 @@
+package nimbus.index;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Task;
+
+/**
+ * An index from calendar dates to the deadlines due on them, kept in date order.
+ * Events span time rather than fall on a date, so they are indexed by {@link IntervalTree} instead.
+ *
+ * <p>Removing a deadline only marks its ID as removed, as {@link TrigramIndex} does, so that deleting from
+ * a date many deadlines share does not shift its whole posting list. Lookups skip removed IDs, and they are
+ * purged in one pass once they make up a fifth of the index.
+ */
+public class DateIndex implements TaskIndex {
+    private final TreeMap<LocalDate, PostingList> buckets = new TreeMap<>();
+    private final BitSet removedIds = new BitSet();
+    private int removedCount;
+    private int size; // includes removed IDs until they are purged
+
+    @Override
+    public void add(Task task) {
+        assert task.getId() > 0 : "Indexed tasks should have an ID";
+
+        assert !removedIds.get(task.getId()) : "Task IDs should not be reused";
+
+        if (task instanceof Deadline deadline) {
+            buckets.computeIfAbsent(dateOf(deadline), key -> new PostingList()).add(task.getId());
+            size++;
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        markRemoved(task);
+        purgeIfStale();
+    }
+
+    @Override
+    public void removeAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            markRemoved(task);
+        }
+        purgeIfStale();
+    }
+
+    @Override
+    public void clear() {
+        buckets.clear();
+        removedIds.clear();
+        removedCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the IDs of the deadlines due on the given date, in increasing order.
+     *
+     * @param date The date to look up.
+     * @return The matching task IDs.
+     */
+    public PostingList findOn(LocalDate date) {
+        PostingList list = buckets.get(date);
+        return list == null ? new PostingList() : list.copyWithout(removedIds);
+    }
+
+    /**
+     * Returns the IDs of the deadlines due on any date from {@code from} to {@code to}, both inclusive,
+     * in increasing order. Runs in time proportional to the matching tasks, after an O(log n) seek.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The matching task IDs.
+     */
+    public PostingList findBetween(LocalDate from, LocalDate to) {
+        assert !from.isAfter(to) : "Date range should not be reversed";
+
+        Map<LocalDate, PostingList> range = buckets.subMap(from, true, to, true);
+        int[] ids = new int[countBetween(from, to)];
+        int count = 0;
+        for (PostingList list : range.values()) {
+            for (int i = 0; i < list.size(); i++) {
+                if (!removedIds.get(list.get(i))) {
+                    ids[count++] = list.get(i);
+                }
+            }
+        }
+        return PostingList.fromUnsorted(ids, count);
+    }
+
+    /**
+     * Returns the number of deadlines due from {@code from} to {@code to}, both inclusive, without listing them.
+     * Removed deadlines that are not purged yet are still counted, so this is an upper bound.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The number of matching deadlines.
+     */
+    public int countBetween(LocalDate from, LocalDate to) {
+        int total = 0;
+        for (PostingList list : buckets.subMap(from, true, to, true).values()) {
+            total += list.size();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of distinct dates in the index, purging removed deadlines first.
+     *
+     * @return The number of dates with at least one deadline.
+     */
+    public int getDateCount() {
+        purge();
+        return buckets.size();
+    }
+
+    private void markRemoved(Task task) {
+        if (!(task instanceof Deadline deadline) || removedIds.get(task.getId())) {
+            return;
+        }
+        PostingList list = buckets.get(dateOf(deadline));
+        if (list != null && list.contains(task.getId())) {
+            removedIds.set(task.getId());
+            removedCount++;
+        }
+    }
+
+    /**
+     * Purges the removed deadlines once they make up a fifth of the index.
+     */
+    private void purgeIfStale() {
+        if (removedCount * 5 > size) {
+            purge();
+        }
+    }
+
+    /**
+     * Drops the removed deadlines from every date in one pass, and the dates left without any.
+     */
+    private void purge() {
+        if (removedCount == 0) {
+            return;
+        }
+        buckets.values().removeIf(list -> {
+            list.removeAll(removedIds);
+            return list.isEmpty();
+        });
+        size -= removedCount;
+        removedIds.clear();
+        removedCount = 0;
+    }
+
+    private static LocalDate dateOf(Deadline deadline) {
+        return deadline.getDueDateTime().toLocalDate();
+    }
+}
@@ -0,0 +1,45 @@
+package nimbus.index;
+
+/**
+ * Holds task descriptions under integer keys, such as task IDs, and searches them in place.
+ */
+public interface DescriptionStore {
+
+    /**
+     * Stores a description, replacing any description already under the key.
+     *
+     * @param key The key, which must not be negative.
+     * @param description The description.
+     */
+    void put(int key, String description);
+
+    /**
+     * Returns the description under the key.
+     *
+     * @param key The key.
+     * @return The description, or null if there is none.
+     */
+    String get(int key);
+
+    /**
+     * Returns whether the description under the key contains the lowercase term, ignoring case
+     * the way {@link String#regionMatches(boolean, int, String, int, int)} does.
+     *
+     * @param key The key.
+     * @param lowerCaseTerm The term, already lowercased.
+     * @return True if there is a description under the key and it contains the term.
+     */
+    boolean containsIgnoreCase(int key, String lowerCaseTerm);
+
+    /**
+     * Removes the description under the key, if any.
+     *
+     * @param key The key.
+     */
+    void remove(int key);
+
+    /**
+     * Removes every description.
+     */
+    void clear();
+}
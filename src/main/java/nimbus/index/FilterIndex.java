@@ -0,0 +1,138 @@
+package nimbus.index;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+
+/**
+ * Bitmap indexes over task IDs for each status and each type of task, so that a combination
+ * of filters is answered by intersecting bitmaps rather than by scanning the list.
+ */
+public class FilterIndex implements TaskIndex {
+
+    /**
+     * Represents a property a listed task must have.
+     */
+    public enum Filter {
+        PENDING, DONE, TODOS, DEADLINES, EVENTS;
+
+        /**
+         * Parses a filter word, accepting the singular form of a type.
+         *
+         * @param word The word, in any case.
+         * @return The filter, or null if the word is not one.
+         */
+        public static Filter parse(String word) {
+            String name = word.toUpperCase();
+            for (Filter filter : values()) {
+                if (filter.name().equals(name) || filter.name().equals(name + "S")) {
+                    return filter;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Map<Filter, RoaringBitmap> bitmaps = new EnumMap<>(Filter.class);
+
+    /**
+     * Constructs an empty FilterIndex.
+     */
+    public FilterIndex() {
+        for (Filter filter : Filter.values()) {
+            bitmaps.put(filter, new RoaringBitmap());
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        assert task.getId() > 0 : "Indexed tasks should have an ID";
+
+        bitmaps.get(statusOf(task)).add(task.getId());
+        bitmaps.get(typeOf(task)).add(task.getId());
+    }
+
+    @Override
+    public void remove(Task task) {
+        for (RoaringBitmap bitmap : bitmaps.values()) {
+            bitmap.remove(task.getId());
+        }
+    }
+
+    @Override
+    public void statusChanged(Task task) {
+        bitmaps.get(task.isDone() ? Filter.PENDING : Filter.DONE).remove(task.getId());
+        bitmaps.get(statusOf(task)).add(task.getId());
+    }
+
+    @Override
+    public void clear() {
+        for (RoaringBitmap bitmap : bitmaps.values()) {
+            bitmap.clear();
+        }
+    }
+
+    /**
+     * Returns the IDs of the tasks matching every filter, in increasing order.
+     *
+     * @param filters The filters, at least one.
+     * @return The matching task IDs.
+     */
+    public PostingList find(List<Filter> filters) {
+        int[] ids = match(filters).toArray();
+        return PostingList.fromUnsorted(ids, ids.length);
+    }
+
+    /**
+     * Returns the set of IDs of the tasks matching every filter, so that they can be counted and paged
+     * through without listing them all. The bitmaps are intersected smallest first.
+     * The set may be the index's own bitmap for a filter, so it must not be changed.
+     *
+     * @param filters The filters, at least one.
+     * @return The matching task IDs.
+     */
+    public RoaringBitmap match(List<Filter> filters) {
+        assert !filters.isEmpty() : "At least one filter should be given";
+
+        List<RoaringBitmap> selected = new ArrayList<>();
+        for (Filter filter : filters) {
+            selected.add(bitmaps.get(filter));
+        }
+        selected.sort((a, b) -> Integer.compare(a.cardinality(), b.cardinality()));
+
+        RoaringBitmap result = selected.get(0);
+        for (int i = 1; i < selected.size() && result.cardinality() > 0; i++) {
+            result = RoaringBitmap.and(result, selected.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of tasks matching a filter, without listing them.
+     *
+     * @param filter The filter.
+     * @return The number of matching tasks.
+     */
+    public int count(Filter filter) {
+        return bitmaps.get(filter).cardinality();
+    }
+
+    private static Filter statusOf(Task task) {
+        return task.isDone() ? Filter.DONE : Filter.PENDING;
+    }
+
+    private static Filter typeOf(Task task) {
+        if (task instanceof Event) {
+            return Filter.EVENTS;
+        } else if (task instanceof Deadline) {
+            return Filter.DEADLINES;
+        } else {
+            return Filter.TODOS;
+        }
+    }
+}
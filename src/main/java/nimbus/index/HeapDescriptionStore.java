@@ -0,0 +1,41 @@
+package nimbus.index;
+
+import java.util.Arrays;
+
+/**
+ * Keeps descriptions as the strings they were given as, so they are shared with the tasks holding them.
+ */
+public class HeapDescriptionStore implements DescriptionStore {
+    private String[] descriptions = new String[16];
+
+    @Override
+    public void put(int key, String description) {
+        if (key >= descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, Math.max(key + 1, descriptions.length * 2));
+        }
+        descriptions[key] = description;
+    }
+
+    @Override
+    public String get(int key) {
+        return key < descriptions.length ? descriptions[key] : null;
+    }
+
+    @Override
+    public boolean containsIgnoreCase(int key, String lowerCaseTerm) {
+        String description = get(key);
+        return description != null && TrigramIndex.containsIgnoreCase(description, lowerCaseTerm);
+    }
+
+    @Override
+    public void remove(int key) {
+        if (key < descriptions.length) {
+            descriptions[key] = null;
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(descriptions, null);
+    }
+}
@@ -0,0 +1,256 @@
+package nimbus.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+
+/**
+ * An interval tree over events, answering which events overlap a time range in O(log n + k).
+ *
+ * <p>The tree is a treap ordered by start time, where every node also records the latest end time
+ * in its subtree so that whole subtrees ending before a query can be skipped. An event occupies
+ * the half-open range from its start to its end, so back-to-back events do not overlap.
+ * An event that ends when it starts occupies its start minute.
+ */
+public class IntervalTree implements TaskIndex {
+    private Node root;
+    private int size;
+
+    @Override
+    public void add(Task task) {
+        if (task instanceof Event event) {
+            assert task.getId() > 0 : "Indexed tasks should have an ID";
+            root = insert(root, new Node(task.getId(), startOf(event), endOf(event)));
+            size++;
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        if (task instanceof Event event) {
+            root = delete(root, startOf(event), task.getId());
+        }
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the IDs of the events happening during the given minute, in increasing order.
+     *
+     * @param time The time to look up.
+     * @return The matching event IDs.
+     */
+    public PostingList findAt(LocalDateTime time) {
+        long minute = toEpochMinute(time);
+        return collect(minute, minute + 1);
+    }
+
+    /**
+     * Returns the IDs of the events overlapping the half-open range from {@code from} to {@code to},
+     * in increasing order.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @return The matching event IDs.
+     */
+    public PostingList findOverlapping(LocalDateTime from, LocalDateTime to) {
+        return collect(toEpochMinute(from), toEpochMinute(to));
+    }
+
+    /**
+     * Returns every pair of overlapping events, ordered by the start of the earlier event.
+     * Sweeps the events in start order while keeping the events still running, so it takes
+     * O(n log n + k) time for k pairs instead of comparing every pair.
+     *
+     * @return Pairs of event IDs; the first event of each pair starts no later than the second.
+     */
+    public List<int[]> findConflicts() {
+        List<Node> ordered = new ArrayList<>(size);
+        inOrder(root, ordered);
+
+        List<int[]> conflicts = new ArrayList<>();
+        PriorityQueue<Node> running = new PriorityQueue<>((a, b) -> Long.compare(a.end, b.end));
+        List<Node> overlapping = new ArrayList<>();
+        for (Node node : ordered) {
+            while (!running.isEmpty() && running.peek().end <= node.start) {
+                running.poll();
+            }
+            overlapping.clear();
+            overlapping.addAll(running);
+            overlapping.sort(Node::compareTo);
+            for (Node earlier : overlapping) {
+                conflicts.add(new int[] {earlier.id, node.id});
+            }
+            running.add(node);
+        }
+        return conflicts;
+    }
+
+    private PostingList collect(long from, long to) {
+        List<Integer> ids = new ArrayList<>();
+        collect(root, from, to, ids);
+        int[] result = new int[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return PostingList.fromUnsorted(result, result.length);
+    }
+
+    private static void collect(Node node, long from, long to, List<Integer> ids) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, ids);
+        if (node.start >= to) {
+            return; // this node and everything to its right start too late
+        }
+        if (node.end > from) {
+            ids.add(node.id);
+        }
+        collect(node.right, from, to, ids);
+    }
+
+    private static void inOrder(Node node, List<Node> ordered) {
+        if (node == null) {
+            return;
+        }
+        inOrder(node.left, ordered);
+        ordered.add(node);
+        inOrder(node.right, ordered);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.compareTo(node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int order = start != node.start ? Long.compare(start, node.start) : Integer.compare(id, node.id);
+        if (order < 0) {
+            node.left = delete(node.left, start, id);
+        } else if (order > 0) {
+            node.right = delete(node.right, start, id);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of {@code left} orders before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static long startOf(Event event) {
+        return toEpochMinute(event.getFromDateTime());
+    }
+
+    private static long endOf(Event event) {
+        return Math.max(toEpochMinute(event.getToDateTime()), startOf(event) + 1);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    /**
+     * An event in the tree, ordered by start time and then by ID.
+     */
+    private static class Node implements Comparable<Node> {
+        private final int id;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(int id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.priority = Integer.rotateLeft(id * 0x9E3779B9, 16); // a fixed pseudo-random priority
+        }
+
+        private void update() {
+            maxEnd = end;
+            if (left != null) {
+                maxEnd = Math.max(maxEnd, left.maxEnd);
+            }
+            if (right != null) {
+                maxEnd = Math.max(maxEnd, right.maxEnd);
+            }
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            return start != other.start ? Long.compare(start, other.start) : Integer.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package nimbus.index;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps descriptions outside the Java heap, in direct buffers allocated in fixed-size chunks,
+ * so that very large lists do not fill the heap with text the garbage collector has to trace.
+ * The heap holds only one packed location per key.
+ *
+ * <p>A description whose characters all fit in one byte is stored as Latin-1, one byte per
+ * character; any other description is stored as UTF-16. Each entry starts with an int holding
+ * the length in characters, with the sign bit set for UTF-16. Searching reads the bytes in place
+ * without building a string. Removed and replaced entries are reclaimed by copying the live
+ * entries to new chunks once they make up most of the stored bytes.
+ */
+public class OffHeapDescriptionStore implements DescriptionStore {
+    static final int DEFAULT_CHUNK_SIZE = 1 << 22;
+
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int UTF16_FLAG = Integer.MIN_VALUE;
+    private static final long ABSENT = -1;
+
+    private final int chunkSize;
+    private List<ByteBuffer> chunks = new ArrayList<>();
+    private long[] locations = new long[16]; // chunk index in the high half, offset in the low half
+    private long liveBytes;
+    private long unusedBytes;
+
+    /**
+     * Constructs an empty OffHeapDescriptionStore with the default chunk size.
+     */
+    public OffHeapDescriptionStore() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an empty OffHeapDescriptionStore.
+     *
+     * @param chunkSize The size in bytes of each direct buffer.
+     */
+    public OffHeapDescriptionStore(int chunkSize) {
+        this.chunkSize = chunkSize;
+        Arrays.fill(locations, ABSENT);
+    }
+
+    @Override
+    public void put(int key, String description) {
+        remove(key);
+        if (unusedBytes > liveBytes && unusedBytes > chunkSize) {
+            compact();
+        }
+        if (key >= locations.length) {
+            int oldLength = locations.length;
+            locations = Arrays.copyOf(locations, Math.max(key + 1, oldLength + (oldLength >> 1)));
+            Arrays.fill(locations, oldLength, locations.length, ABSENT);
+        }
+        locations[key] = append(description);
+    }
+
+    @Override
+    public String get(int key) {
+        if (!isPresent(key)) {
+            return null;
+        }
+        ByteBuffer chunk = chunks.get(chunkOf(locations[key]));
+        int offset = offsetOf(locations[key]);
+        int header = chunk.getInt(offset);
+        int length = header & ~UTF16_FLAG;
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(chunk, offset + HEADER_BYTES, header, i);
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public boolean containsIgnoreCase(int key, String lowerCaseTerm) {
+        if (!isPresent(key)) {
+            return false;
+        }
+        ByteBuffer chunk = chunks.get(chunkOf(locations[key]));
+        int offset = offsetOf(locations[key]);
+        int header = chunk.getInt(offset);
+        int last = (header & ~UTF16_FLAG) - lowerCaseTerm.length();
+        for (int i = 0; i <= last; i++) {
+            int matched = 0;
+            while (matched < lowerCaseTerm.length() && TrigramIndex.equalsIgnoreCase(
+                    charAt(chunk, offset + HEADER_BYTES, header, i + matched), lowerCaseTerm.charAt(matched))) {
+                matched++;
+            }
+            if (matched == lowerCaseTerm.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void remove(int key) {
+        if (isPresent(key)) {
+            ByteBuffer chunk = chunks.get(chunkOf(locations[key]));
+            int size = entrySize(chunk.getInt(offsetOf(locations[key])));
+            liveBytes -= size;
+            unusedBytes += size;
+            locations[key] = ABSENT;
+        }
+    }
+
+    @Override
+    public void clear() {
+        chunks = new ArrayList<>();
+        Arrays.fill(locations, ABSENT);
+        liveBytes = 0;
+        unusedBytes = 0;
+    }
+
+    /**
+     * Returns the number of bytes allocated outside the heap.
+     *
+     * @return The total size of the chunks.
+     */
+    public long getOffHeapBytes() {
+        long total = 0;
+        for (ByteBuffer chunk : chunks) {
+            total += chunk.capacity();
+        }
+        return total;
+    }
+
+    private boolean isPresent(int key) {
+        return key < locations.length && locations[key] != ABSENT;
+    }
+
+    /**
+     * Writes an entry at the end of the last chunk, starting a new chunk when it does not fit.
+     */
+    private long append(String description) {
+        boolean isLatin1 = true;
+        for (int i = 0; i < description.length() && isLatin1; i++) {
+            isLatin1 = description.charAt(i) <= 0xFF;
+        }
+        int header = description.length() | (isLatin1 ? 0 : UTF16_FLAG);
+        int size = entrySize(header);
+
+        ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < size) {
+            chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, size));
+            chunks.add(chunk);
+        }
+        int offset = chunk.position();
+        chunk.putInt(header);
+        for (int i = 0; i < description.length(); i++) {
+            if (isLatin1) {
+                chunk.put((byte) description.charAt(i));
+            } else {
+                chunk.putChar(description.charAt(i));
+            }
+        }
+        liveBytes += size;
+        return ((long) (chunks.size() - 1) << 32) | offset;
+    }
+
+    /**
+     * Copies the live entries to new chunks and releases the old ones.
+     */
+    private void compact() {
+        List<ByteBuffer> oldChunks = chunks;
+        chunks = new ArrayList<>();
+        liveBytes = 0;
+        unusedBytes = 0;
+        for (int key = 0; key < locations.length; key++) {
+            if (locations[key] == ABSENT) {
+                continue;
+            }
+            ByteBuffer chunk = oldChunks.get(chunkOf(locations[key]));
+            int offset = offsetOf(locations[key]);
+            int size = entrySize(chunk.getInt(offset));
+            ByteBuffer target = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (target == null || target.remaining() < size) {
+                target = ByteBuffer.allocateDirect(Math.max(chunkSize, size));
+                chunks.add(target);
+            }
+            long location = ((long) (chunks.size() - 1) << 32) | target.position();
+            target.put(chunk.slice(offset, size));
+            locations[key] = location;
+            liveBytes += size;
+        }
+    }
+
+    private static char charAt(ByteBuffer chunk, int start, int header, int index) {
+        if ((header & UTF16_FLAG) != 0) {
+            return chunk.getChar(start + 2 * index);
+        }
+        return (char) (chunk.get(start + index) & 0xFF);
+    }
+
+    private static int entrySize(int header) {
+        int length = header & ~UTF16_FLAG;
+        return HEADER_BYTES + ((header & UTF16_FLAG) != 0 ? 2 * length : length);
+    }
+
+    private static int chunkOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+}
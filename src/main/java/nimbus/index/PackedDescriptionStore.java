@@ -0,0 +1,127 @@
+package nimbus.index;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every description in one shared character array, addressed by a start and a length per key,
+ * so the heap holds no string object per description.
+ *
+ * <p>Removed and replaced descriptions leave unused characters behind, and the array is compacted
+ * once they make up most of it.
+ */
+public class PackedDescriptionStore implements DescriptionStore {
+    private static final int MIN_COMPACTION = 4096;
+
+    private char[] chars;
+    private int[] starts = new int[16];
+    private int[] lengths = new int[16];
+    private int used;
+    private int unused;
+
+    /**
+     * Constructs an empty PackedDescriptionStore.
+     */
+    public PackedDescriptionStore() {
+        this(256);
+    }
+
+    /**
+     * Constructs an empty PackedDescriptionStore with room for the given number of characters.
+     *
+     * @param capacity The expected total length of the descriptions.
+     */
+    public PackedDescriptionStore(int capacity) {
+        this.chars = new char[capacity];
+        Arrays.fill(starts, -1);
+    }
+
+    @Override
+    public void put(int key, String description) {
+        remove(key);
+        if (unused > used / 2 && unused > MIN_COMPACTION) {
+            compact();
+        }
+        int required = used + description.length();
+        if (required > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(required, chars.length + (chars.length >> 1)));
+        }
+        if (key >= starts.length) {
+            int grown = Math.max(key + 1, starts.length + (starts.length >> 1));
+            int oldLength = starts.length;
+            starts = Arrays.copyOf(starts, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+            Arrays.fill(starts, oldLength, grown, -1);
+        }
+        description.getChars(0, description.length(), chars, used);
+        starts[key] = used;
+        lengths[key] = description.length();
+        used += description.length();
+    }
+
+    @Override
+    public String get(int key) {
+        if (!isPresent(key)) {
+            return null;
+        }
+        return new String(chars, starts[key], lengths[key]);
+    }
+
+    @Override
+    public boolean containsIgnoreCase(int key, String lowerCaseTerm) {
+        if (!isPresent(key)) {
+            return false;
+        }
+        int start = starts[key];
+        int last = start + lengths[key] - lowerCaseTerm.length();
+        for (int i = start; i <= last; i++) {
+            int matched = 0;
+            while (matched < lowerCaseTerm.length()
+                    && TrigramIndex.equalsIgnoreCase(chars[i + matched], lowerCaseTerm.charAt(matched))) {
+                matched++;
+            }
+            if (matched == lowerCaseTerm.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void remove(int key) {
+        if (isPresent(key)) {
+            unused += lengths[key];
+            starts[key] = -1;
+            lengths[key] = 0;
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(starts, -1);
+        Arrays.fill(lengths, 0);
+        used = 0;
+        unused = 0;
+    }
+
+    private boolean isPresent(int key) {
+        return key < starts.length && starts[key] >= 0;
+    }
+
+    /**
+     * Copies the stored descriptions to the front of a new array, dropping the unused characters.
+     */
+    private void compact() {
+        char[] compacted = new char[chars.length];
+        int compactedUsed = 0;
+        for (int key = 0; key < starts.length; key++) {
+            if (starts[key] >= 0) {
+                System.arraycopy(chars, starts[key], compacted, compactedUsed, lengths[key]);
+                starts[key] = compactedUsed;
+                compactedUsed += lengths[key];
+            }
+        }
+        chars = compacted;
+        used = compactedUsed;
+        unused = 0;
+    }
+}
@@ -0,0 +1,249 @@
+package nimbus.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A sorted, duplicate-free list of task IDs.
+ * Task IDs are assigned in increasing order, so adding a new task is an append.
+ */
+public class PostingList {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] ids;
+    private int size;
+
+    /**
+     * Constructs an empty PostingList.
+     */
+    public PostingList() {
+        this.ids = EMPTY;
+    }
+
+    private PostingList(int[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    /**
+     * Builds a list from IDs in any order, dropping duplicates. The array is reused.
+     *
+     * @param ids The IDs; only the first {@code count} are used.
+     * @param count The number of IDs.
+     * @return A list holding the distinct IDs.
+     */
+    public static PostingList fromUnsorted(int[] ids, int count) {
+        Arrays.sort(ids, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new PostingList(ids, distinct);
+    }
+
+    /**
+     * Adds a task ID, keeping the list sorted. Adding an ID that is already present does nothing.
+     *
+     * @param id The task ID.
+     */
+    public void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            insertAt(-position - 1, id);
+            return;
+        }
+        insertAt(size, id);
+    }
+
+    /**
+     * Removes a task ID if it is present.
+     *
+     * @param id The task ID.
+     */
+    public void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Removes every task ID in the given set, compacting the list in one pass.
+     *
+     * @param removedIds The task IDs to remove.
+     */
+    public void removeAll(BitSet removedIds) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!removedIds.get(ids[i])) {
+                ids[kept++] = ids[i];
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Returns whether the list holds the given task ID.
+     *
+     * @param id The task ID.
+     * @return True if the ID is present.
+     */
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Removes every task ID.
+     */
+    public void clear() {
+        ids = EMPTY;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the task ID at the given position.
+     *
+     * @param index The position in the list.
+     * @return The task ID.
+     */
+    public int get(int index) {
+        assert index >= 0 && index < size : "Posting index out of range";
+        return ids[index];
+    }
+
+    /**
+     * Returns the position of the first task ID greater than the given one, by binary search.
+     *
+     * @param id The task ID, which need not be in the list.
+     * @return The position, or the size of the list if every ID is smaller or equal.
+     */
+    public int indexAfter(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    /**
+     * Returns an independent copy of this list.
+     *
+     * @return The copy.
+     */
+    public PostingList copy() {
+        return new PostingList(Arrays.copyOf(ids, size), size);
+    }
+
+    /**
+     * Returns an independent copy of this list without the task IDs in the given set.
+     *
+     * @param removedIds The task IDs to leave out.
+     * @return The copy.
+     */
+    public PostingList copyWithout(BitSet removedIds) {
+        PostingList copy = copy();
+        copy.removeAll(removedIds);
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the task IDs in increasing order.
+     *
+     * @return The task IDs.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Returns the IDs present in both lists. Runs in time proportional to the shorter list
+     * when the lengths are very different, by searching the longer one instead of merging.
+     *
+     * @param first The first list.
+     * @param second The second list.
+     * @return A new list holding the common IDs.
+     */
+    public static PostingList intersect(PostingList first, PostingList second) {
+        PostingList shorter = first.size <= second.size ? first : second;
+        PostingList longer = shorter == first ? second : first;
+        int[] result = new int[shorter.size];
+        int count = 0;
+
+        if (longer.size / 8 > shorter.size) {
+            int from = 0;
+            for (int i = 0; i < shorter.size && from < longer.size; i++) {
+                int position = Arrays.binarySearch(longer.ids, from, longer.size, shorter.ids[i]);
+                if (position >= 0) {
+                    result[count++] = shorter.ids[i];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            return new PostingList(result, count);
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < shorter.size && j < longer.size) {
+            int a = shorter.ids[i];
+            int b = longer.ids[j];
+            if (a == b) {
+                result[count++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new PostingList(result, count);
+    }
+
+    /**
+     * Returns the IDs present in either list.
+     *
+     * @param first The first list.
+     * @param second The second list.
+     * @return A new list holding every ID from both lists.
+     */
+    public static PostingList union(PostingList first, PostingList second) {
+        int[] result = new int[first.size + second.size];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            if (j == second.size || (i < first.size && first.ids[i] < second.ids[j])) {
+                result[count++] = first.ids[i++];
+            } else if (i == first.size || second.ids[j] < first.ids[i]) {
+                result[count++] = second.ids[j++];
+            } else {
+                result[count++] = first.ids[i++];
+                j++;
+            }
+        }
+        return new PostingList(result, count);
+    }
+
+    private void insertAt(int position, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+}
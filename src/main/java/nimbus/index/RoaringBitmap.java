@@ -0,0 +1,368 @@
+package nimbus.index;
+
+import java.util.Arrays;
+
+/**
+ * A compressed set of non-negative ints in the style of a Roaring bitmap.
+ *
+ * <p>Values are grouped by their upper 16 bits. Each group holds its lower 16 bits in a container:
+ * a sorted array while the group is sparse, or a 65536-bit bitmap once it has more than
+ * {@value #ARRAY_LIMIT} values. Intersecting two bitmaps only visits groups present in both,
+ * and within a group merges arrays, probes a bitmap with an array, or ANDs bitmap words.
+ */
+public class RoaringBitmap {
+    static final int ARRAY_LIMIT = 4096;
+
+    private char[] keys = new char[4];
+    private Container[] containers = new Container[4];
+    private int groupCount;
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value The value, which must not be negative.
+     */
+    public void add(int value) {
+        assert value >= 0 : "Bitmap values should not be negative";
+
+        char key = (char) (value >>> 16);
+        int group = Arrays.binarySearch(keys, 0, groupCount, key);
+        if (group < 0) {
+            group = -group - 1;
+            insertGroup(group, key, new ArrayContainer());
+        }
+        containers[group] = containers[group].add((char) value);
+    }
+
+    /**
+     * Removes a value from the set, if present.
+     *
+     * @param value The value.
+     */
+    public void remove(int value) {
+        int group = Arrays.binarySearch(keys, 0, groupCount, (char) (value >>> 16));
+        if (group < 0) {
+            return;
+        }
+        containers[group] = containers[group].remove((char) value);
+        if (containers[group].cardinality() == 0) {
+            System.arraycopy(keys, group + 1, keys, group, groupCount - group - 1);
+            System.arraycopy(containers, group + 1, containers, group, groupCount - group - 1);
+            containers[--groupCount] = null;
+        }
+    }
+
+    /**
+     * Returns whether the set holds the value.
+     *
+     * @param value The value.
+     * @return True if the value is present.
+     */
+    public boolean contains(int value) {
+        int group = Arrays.binarySearch(keys, 0, groupCount, (char) (value >>> 16));
+        return group >= 0 && containers[group].contains((char) value);
+    }
+
+    /**
+     * Returns the number of values in the set.
+     *
+     * @return The cardinality.
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < groupCount; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        keys = new char[4];
+        containers = new Container[4];
+        groupCount = 0;
+    }
+
+    /**
+     * Returns the values in increasing order.
+     *
+     * @return The values.
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int count = 0;
+        for (int i = 0; i < groupCount; i++) {
+            count = containers[i].copyTo(values, count, keys[i] << 16);
+        }
+        return values;
+    }
+
+    /**
+     * Returns up to {@code count} values in increasing order, starting at the one with {@code from} smaller
+     * values, such as one page of a listing. Whole groups before the start are skipped by their cardinality.
+     *
+     * @param from The number of smallest values to skip.
+     * @param count The most values to return.
+     * @return The values.
+     */
+    public int[] toArray(int from, int count) {
+        assert from >= 0 && count >= 0 : "Range of values should not be negative";
+
+        int[] values = new int[Math.max(0, Math.min(count, cardinality() - from))];
+        int skipped = 0;
+        int written = 0;
+        for (int i = 0; i < groupCount && written < values.length; i++) {
+            int groupSize = containers[i].cardinality();
+            if (skipped + groupSize > from) {
+                int[] group = new int[groupSize];
+                containers[i].copyTo(group, 0, keys[i] << 16);
+                int start = Math.max(0, from - skipped);
+                int length = Math.min(groupSize - start, values.length - written);
+                System.arraycopy(group, start, values, written, length);
+                written += length;
+            }
+            skipped += groupSize;
+        }
+        return values;
+    }
+
+    /**
+     * Returns the values present in both sets.
+     *
+     * @param first The first set.
+     * @param second The second set.
+     * @return A new set holding the common values.
+     */
+    public static RoaringBitmap and(RoaringBitmap first, RoaringBitmap second) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < first.groupCount && j < second.groupCount) {
+            if (first.keys[i] < second.keys[j]) {
+                i++;
+            } else if (first.keys[i] > second.keys[j]) {
+                j++;
+            } else {
+                Container common = first.containers[i].and(second.containers[j]);
+                if (common.cardinality() > 0) {
+                    result.insertGroup(result.groupCount, first.keys[i], common);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private void insertGroup(int group, char key, Container container) {
+        if (groupCount == keys.length) {
+            keys = Arrays.copyOf(keys, groupCount * 2);
+            containers = Arrays.copyOf(containers, groupCount * 2);
+        }
+        System.arraycopy(keys, group, keys, group + 1, groupCount - group);
+        System.arraycopy(containers, group, containers, group + 1, groupCount - group);
+        keys[group] = key;
+        containers[group] = container;
+        groupCount++;
+    }
+
+    /**
+     * The lower 16 bits of the values in one group. Changes may return a different kind of container.
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container and(Container other);
+
+        /**
+         * Writes the values, each combined with the group's upper bits, from the given position.
+         *
+         * @return The position after the last value written.
+         */
+        abstract int copyTo(int[] values, int position, int high);
+    }
+
+    /**
+     * A sparse group, as a sorted array of its values.
+     */
+    private static class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                return new BitmapContainer(this).add(value);
+            }
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, cardinality * 2));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int position = Arrays.binarySearch(values, 0, cardinality, value);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] common = new char[cardinality];
+            int count = 0;
+            if (other instanceof ArrayContainer array) {
+                int j = 0;
+                for (int i = 0; i < cardinality && j < array.cardinality; ) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        common[count++] = values[i++];
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        common[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(common, count);
+        }
+
+        @Override
+        int copyTo(int[] target, int position, int high) {
+            for (int i = 0; i < cardinality; i++) {
+                target[position++] = high | values[i];
+            }
+            return position;
+        }
+    }
+
+    /**
+     * A dense group, as one bit per possible value.
+     */
+    private static class BitmapContainer extends Container {
+        private final long[] words = new long[1 << 10];
+        private int cardinality;
+
+        private BitmapContainer() {
+        }
+
+        private BitmapContainer(ArrayContainer array) {
+            for (int i = 0; i < array.cardinality; i++) {
+                words[array.values[i] >>> 6] |= 1L << array.values[i];
+            }
+            cardinality = array.cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            if (!contains(value)) {
+                words[value >>> 6] |= 1L << value;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            if (!contains(value)) {
+                return this;
+            }
+            words[value >>> 6] &= ~(1L << value);
+            cardinality--;
+            return cardinality <= ARRAY_LIMIT ? toArrayContainer() : this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            BitmapContainer bitmap = (BitmapContainer) other;
+            BitmapContainer common = new BitmapContainer();
+            for (int i = 0; i < words.length; i++) {
+                common.words[i] = words[i] & bitmap.words[i];
+                common.cardinality += Long.bitCount(common.words[i]);
+            }
+            return common.cardinality <= ARRAY_LIMIT ? common.toArrayContainer() : common;
+        }
+
+        @Override
+        int copyTo(int[] target, int position, int high) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    target[position++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return position;
+        }
+
+        private ArrayContainer toArrayContainer() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package nimbus.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.TreeSet;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+
+/**
+ * The tasks in chronological order, kept sorted as tasks are added and removed so that
+ * listing them in order never needs a sort, and the list itself keeps its insertion order.
+ *
+ * <p>Events are placed by start time, deadlines by due time and todos by creation time, all on one
+ * timeline. Events starting together are ordered by end time, and any remaining ties by task ID.
+ * Only the times and IDs are kept, so the view holds no reference to the tasks themselves.
+ */
+public class SortedTaskView implements TaskIndex {
+    private final TreeSet<Entry> entries = new TreeSet<>();
+
+    @Override
+    public void add(Task task) {
+        assert task.getId() > 0 : "Indexed tasks should have an ID";
+        entries.add(new Entry(task));
+    }
+
+    @Override
+    public void remove(Task task) {
+        entries.remove(new Entry(task));
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns the IDs of the tasks in chronological order. Iterating takes time proportional
+     * to the tasks visited.
+     *
+     * @return An iterator over the task IDs.
+     */
+    public PrimitiveIterator.OfInt idIterator() {
+        Iterator<Entry> iterator = entries.iterator();
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                return iterator.next().id;
+            }
+        };
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * The sort key of a task: its time on the timeline, its end time if it is an event, and its ID.
+     * Times are kept as epoch seconds and nanoseconds so that no date objects are retained.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final long seconds;
+        private final int nanos;
+        private final long endSeconds;
+        private final int endNanos;
+        private final int id;
+
+        private Entry(Task task) {
+            LocalDateTime time = timeOf(task);
+            LocalDateTime end = task instanceof Event event ? event.getToDateTime() : LocalDateTime.MAX;
+            this.seconds = time.toEpochSecond(ZoneOffset.UTC);
+            this.nanos = time.getNano();
+            this.endSeconds = end.toEpochSecond(ZoneOffset.UTC);
+            this.endNanos = end.getNano();
+            this.id = task.getId();
+        }
+
+        private static LocalDateTime timeOf(Task task) {
+            if (task instanceof Event event) {
+                return event.getFromDateTime();
+            } else if (task instanceof Deadline deadline) {
+                return deadline.getDueDateTime();
+            } else {
+                return task.getCreatedAt();
+            }
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (seconds != other.seconds) {
+                return Long.compare(seconds, other.seconds);
+            } else if (nanos != other.nanos) {
+                return Integer.compare(nanos, other.nanos);
+            } else if (endSeconds != other.endSeconds) {
+                return Long.compare(endSeconds, other.endSeconds);
+            } else if (endNanos != other.endNanos) {
+                return Integer.compare(endNanos, other.endNanos);
+            }
+            return Integer.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package nimbus.index;
+
+import java.util.List;
+
+import nimbus.tasks.Task;
+
+/**
+ * A secondary index over the task list, kept up to date as tasks are added and removed.
+ * Indexes refer to tasks by their ID, so they stay valid when list positions shift.
+ */
+public interface TaskIndex {
+
+    /**
+     * Indexes a task that was added to the list. The task must already have an ID.
+     *
+     * @param task The added task.
+     */
+    void add(Task task);
+
+    /**
+     * Removes a task that was deleted from the list.
+     *
+     * @param task The deleted task.
+     */
+    void remove(Task task);
+
+    /**
+     * Removes several tasks that were deleted from the list at once.
+     * Indexes that can drop them in one pass should override this; by default each is removed in turn.
+     *
+     * @param tasks The deleted tasks.
+     */
+    default void removeAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            remove(task);
+        }
+    }
+
+    /**
+     * Updates the index after a task was marked or unmarked as done.
+     * Indexes that do not depend on the done status need not override this.
+     *
+     * @param task The task, with its new status.
+     */
+    default void statusChanged(Task task) {
+    }
+
+    /**
+     * Removes every task from the index.
+     */
+    void clear();
+}
@@ -0,0 +1,329 @@
+package nimbus.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import nimbus.tasks.Task;
+
+/**
+ * A substring index over task descriptions, keyed by every three-character sequence (trigram)
+ * of the lowercased description.
+ *
+ * <p>A query is one term, spaces included, so "read book" matches "Read book" but not "book to read".
+ * Terms separated by {@code /and} must all appear, and groups of terms separated by {@code /or} are
+ * alternatives; the words "and" and "or" on their own are searched for like any other. Each term keeps
+ * the case-insensitive substring semantics of {@link String#contains}, so "ook" still matches "book".
+ * The posting lists of a term's trigrams are intersected to find candidates, and only the candidates
+ * are checked with an exact substring match. Terms shorter than three characters cannot be narrowed
+ * and are checked against every task.
+ *
+ * <p>Removing a task only marks its ID as removed, in O(log n), instead of shifting it out of the posting
+ * list of every trigram it has, some of which hold nearly every task. Searches skip removed IDs, and they
+ * are purged from every posting list in one pass once they make up a fifth of the index, so a removal
+ * costs O(log n) plus, amortized, a few steps per trigram of its description.
+ */
+public class TrigramIndex implements TaskIndex {
+    private static final String AND = " /and ";
+    private static final String OR = " /or ";
+    private static final int GRAM = 3;
+
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final PostingList allIds = new PostingList(); // includes removed IDs until they are purged
+    private final BitSet removedIds = new BitSet();
+    private int removedCount;
+    private final DescriptionStore descriptions;
+
+    /**
+     * Constructs an empty TrigramIndex that checks candidates against the tasks' own description strings.
+     */
+    public TrigramIndex() {
+        this(new HeapDescriptionStore());
+    }
+
+    /**
+     * Constructs an empty TrigramIndex that keeps the descriptions it checks candidates against in the given store.
+     *
+     * @param descriptions The store for descriptions, keyed by task ID.
+     */
+    public TrigramIndex(DescriptionStore descriptions) {
+        this.descriptions = descriptions;
+    }
+
+    @Override
+    public void add(Task task) {
+        assert task.getId() > 0 : "Indexed tasks should have an ID";
+        assert !removedIds.get(task.getId()) : "Task IDs should not be reused";
+
+        String description = task.getDescription();
+        descriptions.put(task.getId(), description);
+        allIds.add(task.getId());
+        for (long trigram : trigrams(description)) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(task.getId());
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        markRemoved(task.getId());
+        purgeIfStale();
+    }
+
+    /**
+     * Marks every task as removed before purging at most once, so a large removal is one pass over the
+     * posting lists rather than one shift per task.
+     */
+    @Override
+    public void removeAll(List<Task> tasks) {
+        for (Task task : tasks) {
+            markRemoved(task.getId());
+        }
+        purgeIfStale();
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+        allIds.clear();
+        removedIds.clear();
+        removedCount = 0;
+        descriptions.clear();
+    }
+
+    /**
+     * Returns the IDs of the tasks matching the query, in increasing order.
+     *
+     * @param query Terms to match as substrings, ignoring case, separated by {@code /and} or {@code /or}.
+     * @return The matching task IDs.
+     */
+    public PostingList find(String query) {
+        PostingList result = new PostingList();
+        for (List<String> group : parseQuery(query)) {
+            PostingList candidates = null;
+            for (String term : group) {
+                PostingList termCandidates = candidatesFor(term);
+                if (termCandidates != null) {
+                    candidates = candidates == null
+                            ? termCandidates
+                            : PostingList.intersect(candidates, termCandidates);
+                }
+                if (candidates != null && candidates.isEmpty()) {
+                    break;
+                }
+            }
+            if (candidates == null) {
+                candidates = allIds;
+            }
+
+            PostingList matches;
+            if (isSingleTrigram(group)) {
+                // Every candidate contains the term, and the copy keeps the index from leaking.
+                matches = candidates.copyWithout(removedIds);
+            } else {
+                matches = new PostingList();
+                for (int i = 0; i < candidates.size(); i++) {
+                    int id = candidates.get(i);
+                    if (!removedIds.get(id) && containsAll(id, group)) {
+                        matches.add(id);
+                    }
+                }
+            }
+            result = result.isEmpty() ? matches : PostingList.union(result, matches);
+        }
+        return result;
+    }
+
+    /**
+     * Estimates how many tasks contain a single term, as the length of the shortest posting list
+     * among its trigrams, without intersecting or checking anything. Removed tasks that are not
+     * purged yet are still counted.
+     *
+     * @param term The term.
+     * @return An upper bound on the number of matching tasks.
+     */
+    public int estimate(String term) {
+        int estimate = allIds.size() - removedCount;
+        if (term.length() < GRAM) {
+            return estimate;
+        }
+        for (long trigram : trigrams(term)) {
+            PostingList list = postings.get(trigram);
+            estimate = Math.min(estimate, list == null ? 0 : list.size());
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the number of distinct trigrams in the index, purging removed tasks first so that the
+     * trigrams only they had are not counted.
+     *
+     * @return The number of posting lists.
+     */
+    public int getTrigramCount() {
+        purge();
+        return postings.size();
+    }
+
+    private void markRemoved(int id) {
+        if (removedIds.get(id) || !allIds.contains(id)) {
+            return;
+        }
+        descriptions.remove(id);
+        removedIds.set(id);
+        removedCount++;
+    }
+
+    /**
+     * Purges the removed tasks once they make up a fifth of the index.
+     */
+    private void purgeIfStale() {
+        if (removedCount * 5 > allIds.size()) {
+            purge();
+        }
+    }
+
+    /**
+     * Drops the removed tasks from every posting list in one pass, and the posting lists left empty.
+     */
+    private void purge() {
+        if (removedCount == 0) {
+            return;
+        }
+        allIds.removeAll(removedIds);
+        postings.values().removeIf(list -> {
+            list.removeAll(removedIds);
+            return list.isEmpty();
+        });
+        removedIds.clear();
+        removedCount = 0;
+    }
+
+    /**
+     * Returns whether the group is one term of exactly one trigram, whose candidates need no checking.
+     */
+    private static boolean isSingleTrigram(List<String> group) {
+        return group.size() == 1 && group.get(0).length() == GRAM;
+    }
+
+    /**
+     * Returns the tasks that contain every trigram of the term, or null if the term is too short to narrow.
+     */
+    private PostingList candidatesFor(String term) {
+        if (term.length() < GRAM) {
+            return null;
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(term)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new PostingList();
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        PostingList candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates = PostingList.intersect(candidates, lists.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * Splits a query into groups of trimmed, lowercased terms, starting a new group at every {@code /or}
+     * and a new term at every {@code /and}.
+     */
+    private static List<List<String>> parseQuery(String query) {
+        List<List<String>> groups = new ArrayList<>();
+        for (String alternative : query.split(OR)) {
+            List<String> group = new ArrayList<>();
+            for (String term : alternative.split(AND)) {
+                if (!term.isBlank()) {
+                    group.add(lowerCase(term.trim()));
+                }
+            }
+            if (!group.isEmpty()) {
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+
+    private boolean containsAll(int id, List<String> terms) {
+        for (String term : terms) {
+            if (!descriptions.containsIgnoreCase(id, term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lowercases the text one character at a time, as {@link #trigrams(String)} does, so that a term
+     * finds the same trigrams whatever the default locale is.
+     *
+     * @param text The text.
+     * @return The lowercased text.
+     */
+    public static String lowerCase(String text) {
+        char[] chars = text.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns whether the text contains the lowercase term, ignoring case, without copying the text.
+     *
+     * @param text The text.
+     * @param lowerCaseTerm The term, lowercased by {@link #lowerCase(String)}.
+     * @return True if the text contains the term.
+     */
+    public static boolean containsIgnoreCase(String text, String lowerCaseTerm) {
+        int last = text.length() - lowerCaseTerm.length();
+        for (int i = 0; i <= last; i++) {
+            if (text.regionMatches(true, i, lowerCaseTerm, 0, lowerCaseTerm.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a character equals a lowercase term character, ignoring case exactly as
+     * {@link String#regionMatches(boolean, int, String, int, int)} does.
+     */
+    static boolean equalsIgnoreCase(char c, char lowerCaseTermChar) {
+        if (c == lowerCaseTermChar) {
+            return true;
+        }
+        char upper = Character.toUpperCase(c);
+        char termUpper = Character.toUpperCase(lowerCaseTermChar);
+        return upper == termUpper || Character.toLowerCase(upper) == Character.toLowerCase(termUpper);
+    }
+
+    /**
+     * Returns the distinct trigrams of the lowercased text, each packed into a long.
+     */
+    static long[] trigrams(String text) {
+        int count = Math.max(0, text.length() - GRAM + 1);
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) Character.toLowerCase(text.charAt(i)) << 32)
+                    | ((long) Character.toLowerCase(text.charAt(i + 1)) << 16)
+                    | Character.toLowerCase(text.charAt(i + 2));
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
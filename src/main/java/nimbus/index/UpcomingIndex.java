@@ -0,0 +1,147 @@
+package nimbus.index;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.TreeSet;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+
+/**
+ * An ordered index of undone deadlines by due time and undone events by start time,
+ * answering what comes next and which deadlines are overdue without scanning the list.
+ *
+ * <p>Marking a task as done removes its entry in O(log n), and unmarking it adds the entry back,
+ * so the index holds one entry per undone deadline or event and queries never change it.
+ */
+public class UpcomingIndex implements TaskIndex {
+    private final TreeSet<Entry> deadlines = new TreeSet<>();
+    private final TreeSet<Entry> events = new TreeSet<>();
+
+    @Override
+    public void add(Task task) {
+        assert task.getId() > 0 : "Indexed tasks should have an ID";
+
+        TreeSet<Entry> entries = entriesFor(task);
+        if (entries != null && !task.isDone()) {
+            entries.add(Entry.of(task));
+        }
+    }
+
+    @Override
+    public void remove(Task task) {
+        TreeSet<Entry> entries = entriesFor(task);
+        if (entries != null) {
+            entries.remove(Entry.of(task));
+        }
+    }
+
+    @Override
+    public void statusChanged(Task task) {
+        if (task.isDone()) {
+            remove(task);
+        } else {
+            add(task);
+        }
+    }
+
+    @Override
+    public void clear() {
+        deadlines.clear();
+        events.clear();
+    }
+
+    /**
+     * Returns the IDs of the next undone deadlines and events at or after the given time, soonest first.
+     * Takes O(log n) per task returned.
+     *
+     * @param now The current time.
+     * @param count The maximum number of tasks to return.
+     * @return The task IDs, in time order.
+     */
+    public int[] findNext(LocalDateTime now, int count) {
+        Entry from = new Entry(toEpochSecond(now), 0);
+        Iterator<Entry> nextDeadlines = deadlines.tailSet(from, true).iterator();
+        Iterator<Entry> nextEvents = events.tailSet(from, true).iterator();
+        Entry deadline = next(nextDeadlines);
+        Entry event = next(nextEvents);
+
+        int[] ids = new int[Math.min(count, deadlines.size() + events.size())];
+        int found = 0;
+        while (found < ids.length && (deadline != null || event != null)) {
+            if (event == null || (deadline != null && deadline.compareTo(event) <= 0)) {
+                ids[found++] = deadline.id();
+                deadline = next(nextDeadlines);
+            } else {
+                ids[found++] = event.id();
+                event = next(nextEvents);
+            }
+        }
+        return Arrays.copyOf(ids, found);
+    }
+
+    /**
+     * Returns the IDs of the undone deadlines due before the given time, earliest first.
+     *
+     * @param now The current time.
+     * @return The task IDs, in due order.
+     */
+    public int[] findOverdue(LocalDateTime now) {
+        Iterator<Entry> overdue = deadlines.headSet(new Entry(toEpochSecond(now), 0), false).iterator();
+        int[] ordered = new int[16];
+        int found = 0;
+        for (Entry entry = next(overdue); entry != null; entry = next(overdue)) {
+            if (found == ordered.length) {
+                ordered = Arrays.copyOf(ordered, found * 2);
+            }
+            ordered[found++] = entry.id();
+        }
+        return Arrays.copyOf(ordered, found);
+    }
+
+    /**
+     * Returns the number of deadlines and events held, for checking that done tasks are not kept.
+     *
+     * @return The number of entries.
+     */
+    public int getEntryCount() {
+        return deadlines.size() + events.size();
+    }
+
+    private static Entry next(Iterator<Entry> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private TreeSet<Entry> entriesFor(Task task) {
+        if (task instanceof Deadline) {
+            return deadlines;
+        } else if (task instanceof Event) {
+            return events;
+        }
+        return null;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * A task's time on the timeline, ordered by time and then by ID.
+     */
+    private record Entry(long time, int id) implements Comparable<Entry> {
+        private static Entry of(Task task) {
+            LocalDateTime time = task instanceof Event event
+                    ? event.getFromDateTime()
+                    : ((Deadline) task).getDueDateTime();
+            return new Entry(toEpochSecond(time), task.getId());
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return time != other.time ? Long.compare(time, other.time) : Integer.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package nimbus.parser;
+
+/**
+ * A command as the user typed it, split in one pass into the keyword, the arguments after it,
+ * and the values of the {@code /by}, {@code /from} and {@code /to} markers.
+ *
+ * <p>Every part is kept as offsets into the input, so splitting allocates nothing beyond this object;
+ * a part only becomes a string when it is asked for. A marker is only recognised with a space on each side,
+ * and its value runs up to the next marker or the end of the input.
+ */
+public final class CommandLine {
+    /**
+     * The markers that introduce the dates and times of deadlines and events.
+     */
+    public enum Marker {
+        BY("/by "), FROM("/from "), TO("/to ");
+
+        private final String text;
+
+        Marker(String text) {
+            this.text = text;
+        }
+    }
+
+    private final String input;
+    private final int keywordEnd;
+    private final int argumentStart;
+    private final int byAt;
+    private final int fromAt;
+    private final int toAt;
+
+    /**
+     * Splits the user input.
+     *
+     * @param input The user input.
+     */
+    public CommandLine(String input) {
+        assert input != null : "Input should not be null";
+
+        this.input = input;
+        int length = input.length();
+        int space = input.indexOf(' ');
+        keywordEnd = space < 0 ? length : space;
+        argumentStart = Math.min(keywordEnd + 1, length);
+
+        int by = -1;
+        int from = -1;
+        int to = -1;
+        for (int i = keywordEnd; i < length - 1; i++) {
+            if (input.charAt(i) != ' ' || input.charAt(i + 1) != '/') {
+                continue;
+            }
+            if (by < 0 && startsWith(i + 1, Marker.BY)) {
+                by = i;
+            } else if (from < 0 && startsWith(i + 1, Marker.FROM)) {
+                from = i;
+            } else if (to < 0 && startsWith(i + 1, Marker.TO)) {
+                to = i;
+            }
+        }
+        byAt = by;
+        fromAt = from;
+        toAt = to;
+    }
+
+    private boolean startsWith(int index, Marker marker) {
+        return input.startsWith(marker.text, index);
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the index just after the keyword, which is the first word of the input.
+     *
+     * @return The end of the keyword, exclusive.
+     */
+    public int getKeywordEnd() {
+        return keywordEnd;
+    }
+
+    /**
+     * Returns the index where the arguments start, just after the space that ends the keyword.
+     *
+     * @return The start of the arguments.
+     */
+    public int getArgumentStart() {
+        return argumentStart;
+    }
+
+    /**
+     * Returns the index just after the first argument, which runs up to the next space.
+     *
+     * @return The end of the first argument, exclusive.
+     */
+    public int getFirstArgumentEnd() {
+        int space = input.indexOf(' ', argumentStart);
+        return space < 0 ? input.length() : space;
+    }
+
+    /**
+     * Returns everything after the keyword, without surrounding whitespace.
+     *
+     * @return The arguments, which may be empty.
+     */
+    public String getArguments() {
+        return slice(argumentStart, input.length());
+    }
+
+    /**
+     * Returns the arguments before the first marker, without surrounding whitespace.
+     *
+     * @return The description, which may be empty.
+     */
+    public String getDescription() {
+        return slice(argumentStart, nextMarkerAfter(keywordEnd - 1));
+    }
+
+    /**
+     * Returns whether the input contains the marker.
+     *
+     * @param marker The marker.
+     * @return True if the marker was found.
+     */
+    public boolean has(Marker marker) {
+        return positionOf(marker) >= 0;
+    }
+
+    /**
+     * Returns the value after the first occurrence of a marker, up to the next marker,
+     * without surrounding whitespace.
+     *
+     * @param marker The marker.
+     * @return The value, or null if the input does not contain the marker.
+     */
+    public String getValue(Marker marker) {
+        int at = positionOf(marker);
+        if (at < 0) {
+            return null;
+        }
+        return slice(at + 1 + marker.text.length(), nextMarkerAfter(at));
+    }
+
+    private int positionOf(Marker marker) {
+        return switch (marker) {
+        case BY -> byAt;
+        case FROM -> fromAt;
+        case TO -> toAt;
+        };
+    }
+
+    /**
+     * Returns the position of the first marker after the given index, or the end of the input.
+     */
+    private int nextMarkerAfter(int index) {
+        int next = input.length();
+        next = earlier(byAt, index, next);
+        next = earlier(fromAt, index, next);
+        return earlier(toAt, index, next);
+    }
+
+    private static int earlier(int at, int index, int next) {
+        return at > index && at < next ? at : next;
+    }
+
+    /**
+     * Returns the text between the indexes, without surrounding whitespace, as {@link String#trim} does.
+     */
+    private String slice(int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return input.substring(start, end);
+    }
+}
@@ -0,0 +1,103 @@
+package nimbus.parser;
+
+import java.util.Arrays;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.parser.Parser.Command;
+
+/**
+ * A trie of the command keywords, built once, that finds the command for a keyword typed in any case,
+ * or for any prefix of a keyword that no other keyword shares, such as {@code dead} for {@code deadline}.
+ * A keyword typed in full always wins, so {@code find} is not ambiguous with {@code find_date}.
+ * Commands that {@linkplain Command#needsFullKeyword() need their full keyword}, such as {@code clear},
+ * are never run from a prefix.
+ *
+ * <p>Looking up a keyword walks the characters of the input in place and allocates nothing.
+ */
+final class CommandTrie {
+    private final Node root = new Node();
+
+    /**
+     * Builds the trie of the given commands, whose keywords are their names.
+     *
+     * @param commands The commands.
+     */
+    CommandTrie(Command... commands) {
+        for (Command command : commands) {
+            Node node = root;
+            node.add(command);
+            for (char c : command.name().toCharArray()) {
+                node = node.childFor(c);
+                node.add(command);
+            }
+            node.command = command;
+        }
+    }
+
+    /**
+     * Finds the command for the keyword in the given part of the text.
+     *
+     * @param text The text containing the keyword.
+     * @param start The start of the keyword.
+     * @param end The end of the keyword, exclusive.
+     * @return The command, or null if no command has the keyword.
+     * @throws NimbusException If the keyword is the start of more than one command, or the start of one
+     *     that must be typed in full.
+     */
+    Command find(CharSequence text, int start, int end) throws NimbusException {
+        Node node = root;
+        for (int i = start; i < end && node != null; i++) {
+            node = node.get(Character.toUpperCase(text.charAt(i)));
+        }
+        if (node == null || start == end) {
+            return null;
+        } else if (node.command != null) {
+            return node.command;
+        } else if (node.below.length == 1 && !node.below[0].needsFullKeyword()) {
+            return node.below[0];
+        } else if (node.below.length == 1) {
+            throw new NimbusException("Oops! Please type '" + node.below[0].name().toLowerCase()
+                    + "' in full to run it.");
+        }
+        StringBuilder candidates = new StringBuilder();
+        for (int i = 0; i < node.below.length; i++) {
+            candidates.append(i == 0 ? "" : i == node.below.length - 1 ? " or " : ", ")
+                    .append(node.below[i].name().toLowerCase());
+        }
+        throw new NimbusException("Oops! '" + text.subSequence(start, end) + "' could be " + candidates
+                + ". Please type more of the command.");
+    }
+
+    private static class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Command[] below = new Command[0];
+        private Command command;
+
+        Node get(char label) {
+            for (int i = 0; i < labels.length; i++) {
+                if (labels[i] == label) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node childFor(char label) {
+            Node child = get(label);
+            if (child == null) {
+                child = new Node();
+                labels = Arrays.copyOf(labels, labels.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                labels[labels.length - 1] = label;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+        void add(Command command) {
+            below = Arrays.copyOf(below, below.length + 1);
+            below[below.length - 1] = command;
+        }
+    }
+}
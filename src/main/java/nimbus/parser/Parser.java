@@ -1,8 +1,18 @@
 package nimbus.parser;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import nimbus.exceptions.NimbusException;
 import nimbus.storage.Storage;
 import nimbus.tasklist.TaskList;
+import nimbus.ui.ResponseBuffer;
 import nimbus.ui.UI;
 
 /**
@@ -14,6 +24,8 @@ public class Parser {
     private final TaskList taskList;
     private final UI ui;
     private final Storage storage;
+    private long performedWrites;
+    private long skippedWrites;
 
     /**
      * Constructs a Parser with the specified task list, UI, and storage components.
@@ -30,9 +42,45 @@ public class Parser {
 
     /**
      * Represents the list of supported commands in the Nimbus application.
+     * Each command declares whether it may change the task list.
      */
     public enum Command {
-        BYE, LIST, TODO, DEADLINE, EVENT, MARK, UNMARK, DELETE, FIND_DATE, FIND, CLEAR, SORT;
+        BYE(false, true), LIST(false), TODO(true), DEADLINE(true), EVENT(true), MARK(true), UNMARK(true),
+        DELETE(true), FIND_DATE(false), FIND_RANGE(false), FIND(false), CONFLICTS(false), CLEAR(true, true),
+        SORT(false), NEXT(false), OVERDUE(false), QUERY(false), EXPLAIN(false), RUN(true, true);
+
+        private static final CommandTrie KEYWORDS = new CommandTrie(values());
+
+        private final boolean isMutating;
+        private final boolean needsFullKeyword;
+
+        Command(boolean isMutating) {
+            this(isMutating, false);
+        }
+
+        Command(boolean isMutating, boolean needsFullKeyword) {
+            this.isMutating = isMutating;
+            this.needsFullKeyword = needsFullKeyword;
+        }
+
+        /**
+         * Returns whether this command may change the task list and therefore needs persisting.
+         *
+         * @return True if the command writes, false if it only reads.
+         */
+        public boolean isMutating() {
+            return isMutating;
+        }
+
+        /**
+         * Returns whether this command must be typed in full, because running it by accident would end the
+         * session, wipe the list or run a whole file, so that a short prefix such as {@code cl} is not enough.
+         *
+         * @return True if no prefix of the keyword runs the command.
+         */
+        public boolean needsFullKeyword() {
+            return needsFullKeyword;
+        }
 
         /**
          * Parses the user input and returns the corresponding command.
@@ -42,16 +90,23 @@ public class Parser {
          * @throws NimbusException If the command is unrecognized.
          */
         public static Command parseCommand(String input) throws NimbusException {
-            String commandKeyword = extractCommandKeyword(input);
-            try {
-                return Command.valueOf(commandKeyword);
-            } catch (IllegalArgumentException e) {
-                throw new NimbusException("Oops! I don't recognize that command.");
-            }
+            return parseCommand(new CommandLine(input));
         }
 
-        private static String extractCommandKeyword(String input) {
-            return input.split(" ")[0].toUpperCase();
+        /**
+         * Returns the command named by the keyword of the input, which may be typed in any case
+         * and shortened to any prefix that no other command shares, unless the command needs its full keyword.
+         *
+         * @param line The split user input.
+         * @return The corresponding Command enum value.
+         * @throws NimbusException If the command is unrecognized or the keyword is ambiguous.
+         */
+        public static Command parseCommand(CommandLine line) throws NimbusException {
+            Command command = KEYWORDS.find(line.getInput(), 0, line.getKeywordEnd());
+            if (command == null) {
+                throw new NimbusException("Oops! I don't recognize that command.");
+            }
+            return command;
         }
     }
 
@@ -63,54 +118,168 @@ public class Parser {
      * @throws NimbusException If the input is invalid, unrecognized, or causes an error during processing.
      */
     public String processCommand(String input) throws NimbusException {
+        StringBuilder response = new StringBuilder();
+        processCommand(input, response);
+        return response.toString();
+    }
+
+    /**
+     * Processes the user input and writes the response into the given destination.
+     * Commands that list tasks write them one at a time, so a long listing is never built as one string
+     * unless the destination is one.
+     *
+     * @param input The user input command string.
+     * @param out Where to write the response.
+     * @throws NimbusException If the input is invalid, unrecognized, causes an error during processing,
+     *     or the response cannot be written.
+     */
+    public void processCommand(String input, Appendable out) throws NimbusException {
         if (input.isEmpty()) {
             throw new NimbusException("Oops! It seems like you entered nothing.");
+        } else if (input.indexOf('\n') >= 0) {
+            processBatch(input.lines().toList(), out);
+            return;
         }
 
-        Command command = Command.parseCommand(input);
-        String response;
-
-        switch (command) {
-        case BYE -> {
-            response = ui.showExitMessage();
-        }
-        case LIST -> {
-            response = ui.showTaskList(taskList.getTasks());
-        }
-        case TODO -> {
-            response = taskList.addTodoTask(input);
-        }
-        case DEADLINE -> {
-            response = taskList.addDeadlineTask(input);
+        CommandLine line = new CommandLine(input);
+        Command command = Command.parseCommand(line);
+        if (command == Command.RUN) {
+            runBatch(readBatchFile(line), out);
+        } else {
+            execute(command, line, out);
         }
-        case EVENT -> {
-            response = taskList.addEventTask(input);
-        }
-        case MARK -> {
-            response = taskList.markTask(input, true);
-        }
-        case UNMARK -> {
-            response = taskList.markTask(input, false);
-        }
-        case DELETE -> {
-            response = taskList.deleteTask(input);
-        }
-        case FIND_DATE -> {
-            response = taskList.findTasksByDate(input);
+        persist(command.isMutating());
+    }
+
+    /**
+     * Processes commands, one per line, as one batch: they all take effect or, if one fails, none do.
+     * The task list is saved once at the end, and the response is one summary of the commands run.
+     * Blank lines and lines starting with {@code #} are skipped.
+     *
+     * @param lines The commands.
+     * @param out Where to write the summary.
+     * @throws NimbusException If a command fails, naming the line; the task list is then left unchanged.
+     */
+    public void processBatch(List<String> lines, Appendable out) throws NimbusException {
+        runBatch(lines, out);
+        persist(true);
+    }
+
+    private void execute(Command command, CommandLine line, Appendable out) throws NimbusException {
+        String input = line.getInput();
+        try {
+            switch (command) {
+            case BYE -> {
+                storage.flush();
+                out.append(ui.showExitMessage());
+            }
+            case LIST -> taskList.listTasks(input, out);
+            case TODO -> out.append(taskList.addTodoTask(line));
+            case DEADLINE -> out.append(taskList.addDeadlineTask(line));
+            case EVENT -> out.append(taskList.addEventTask(line));
+            case MARK -> out.append(taskList.markTask(line, true));
+            case UNMARK -> out.append(taskList.markTask(line, false));
+            case DELETE -> out.append(taskList.deleteTask(line));
+            case FIND_DATE -> out.append(taskList.findTasksByDate(input));
+            case FIND_RANGE -> out.append(taskList.findTasksInRange(input));
+            case FIND -> taskList.findTasksByKeyword(input, out);
+            case CONFLICTS -> out.append(taskList.findConflicts());
+            case CLEAR -> out.append(taskList.clearAllTasks(ui));
+            case SORT -> taskList.sortTasks(out);
+            case NEXT -> out.append(taskList.findUpcomingTasks(input));
+            case OVERDUE -> out.append(taskList.findOverdueTasks());
+            case QUERY -> taskList.runQuery(input, out);
+            case EXPLAIN -> out.append(taskList.explainQuery(input));
+            default -> throw new NimbusException("Oops! I don't recognize that command.");
+            }
+        } catch (IOException e) {
+            throw new NimbusException("Oops! I couldn't show the response: " + e.getMessage());
         }
-        case FIND -> {
-            response = taskList.findTasksByKeyword(input);
+    }
+
+    /**
+     * Runs the commands against the task list without saving it in between. The responses of the
+     * commands are dropped; only the summary is written. If any command fails, the task list is put back
+     * as it was before the first one.
+     */
+    private void runBatch(List<String> lines, Appendable out) throws NimbusException {
+        TaskList.Snapshot snapshot = taskList.snapshot();
+        Map<String, Integer> commandCounts = new LinkedHashMap<>();
+        ResponseBuffer dropped = new ResponseBuffer(0);
+        boolean isComplete = false;
+        try {
+            for (int i = 0; i < lines.size(); i++) {
+                String input = lines.get(i).strip();
+                if (input.isEmpty() || input.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    CommandLine line = new CommandLine(input);
+                    Command command = Command.parseCommand(line);
+                    if (command == Command.BYE || command == Command.RUN) {
+                        throw new NimbusException("Oops! '" + input.substring(0, line.getKeywordEnd())
+                                + "' cannot be used in a batch.");
+                    }
+                    execute(command, line, dropped);
+                    commandCounts.merge(command.name().toLowerCase(), 1, Integer::sum);
+                } catch (NimbusException e) {
+                    throw new NimbusException("Oops! Line " + (i + 1)
+                            + " of the batch failed, so nothing was changed:\n  " + input + "\n" + e.getMessage());
+                }
+            }
+            out.append(ui.showBatchSummary(commandCounts, taskList.getTasks().size()));
+            isComplete = true;
+        } catch (IOException e) {
+            throw new NimbusException("Oops! I couldn't show the response: " + e.getMessage());
+        } finally {
+            if (isComplete) {
+                taskList.release(snapshot);
+            } else {
+                taskList.restore(snapshot);
+            }
         }
-        case CLEAR -> {
-            response = taskList.clearAllTasks(ui);
+    }
+
+    private static List<String> readBatchFile(CommandLine line) throws NimbusException {
+        String fileName = line.getArguments();
+        if (fileName.isEmpty()) {
+            throw new NimbusException("Oops! Please enter the file of commands to run. Example: run todos.txt");
         }
-        case SORT -> {
-            response = taskList.sortTasks();
+        try {
+            return Files.readAllLines(Path.of(fileName), StandardCharsets.UTF_8);
+        } catch (IOException | InvalidPathException e) {
+            throw new NimbusException("Oops! I couldn't read the file '" + fileName + "'.");
         }
-        default -> throw new NimbusException("Oops! I don't recognize that command.");
+    }
+
+    /**
+     * Saves the task list if the command may have changed it and it did.
+     */
+    private void persist(boolean isMutating) throws NimbusException {
+        if (isMutating && taskList.isDirty()) {
+            storage.saveTasks(taskList.getTasks());
+            taskList.markSaved();
+            performedWrites++;
+        } else {
+            skippedWrites++;
         }
+    }
 
-        storage.saveTasks(taskList.getTasks());
-        return response;
+    /**
+     * Returns the number of commands that were followed by a storage write.
+     *
+     * @return The number of performed writes.
+     */
+    public long getPerformedWrites() {
+        return performedWrites;
+    }
+
+    /**
+     * Returns the number of commands that left the task list unchanged and so skipped the storage write.
+     *
+     * @return The number of skipped writes.
+     */
+    public long getSkippedWrites() {
+        return skippedWrites;
     }
 }
@@ -0,0 +1,122 @@
+package nimbus.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import nimbus.index.FilterIndex.Filter;
+import nimbus.index.TrigramIndex;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+
+/**
+ * A single term of a query, which a task either satisfies or not.
+ * Each term can be checked against a task directly, and the planner also knows which index can find
+ * the tasks satisfying it.
+ */
+public interface Condition {
+
+    /**
+     * Returns whether the task satisfies this condition.
+     *
+     * @param task The task to check.
+     * @return True if the task matches.
+     */
+    boolean test(Task task);
+
+    /**
+     * Matches tasks of one type or one status, as given by a filter of the filter index.
+     *
+     * @param filter The filter.
+     * @param text The term as written in the query.
+     */
+    record Is(Filter filter, String text) implements Condition {
+        @Override
+        public boolean test(Task task) {
+            return switch (filter) {
+            case PENDING -> !task.isDone();
+            case DONE -> task.isDone();
+            case TODOS -> !(task instanceof Deadline) && !(task instanceof Event);
+            case DEADLINES -> task instanceof Deadline;
+            case EVENTS -> task instanceof Event;
+            };
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Matches deadlines due on any date from {@code first} to {@code last}, both inclusive.
+     *
+     * @param first The first date, or {@link LocalDate#MIN} for no lower bound.
+     * @param last The last date, or {@link LocalDate#MAX} for no upper bound.
+     * @param text The term as written in the query.
+     */
+    record Due(LocalDate first, LocalDate last, String text) implements Condition {
+        @Override
+        public boolean test(Task task) {
+            if (!(task instanceof Deadline deadline)) {
+                return false;
+            }
+            LocalDate date = deadline.getDueDateTime().toLocalDate();
+            return !date.isBefore(first) && !date.isAfter(last);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Matches deadlines due on a date and events happening during any part of it.
+     * An event is treated as lasting at least a minute, as in the interval tree.
+     *
+     * @param date The date.
+     * @param text The term as written in the query.
+     */
+    record On(LocalDate date, String text) implements Condition {
+        @Override
+        public boolean test(Task task) {
+            if (task instanceof Deadline deadline) {
+                return deadline.getDueDateTime().toLocalDate().equals(date);
+            } else if (task instanceof Event event) {
+                LocalDateTime start = date.atStartOfDay();
+                LocalDateTime from = event.getFromDateTime();
+                return from.isBefore(start.plusDays(1))
+                        && (event.getToDateTime().isAfter(start) || !from.isBefore(start));
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Matches tasks whose description contains a word, ignoring case.
+     *
+     * @param word The word, which is kept in lowercase.
+     * @param text The term as written in the query.
+     */
+    record Text(String word, String text) implements Condition {
+        public Text {
+            word = TrigramIndex.lowerCase(word);
+        }
+
+        @Override
+        public boolean test(Task task) {
+            return TrigramIndex.containsIgnoreCase(task.getDescription(), word);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package nimbus.query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.index.FilterIndex.Filter;
+import nimbus.tasks.DateTimeParser;
+import nimbus.tasks.Task;
+
+/**
+ * A parsed query: the conditions a task must all satisfy to match.
+ *
+ * <p>A query is a list of terms separated by spaces, such as
+ * {@code type:deadline done:false due<2025-01-01 text:report}. The terms are:
+ * <ul>
+ *     <li>{@code type:todo}, {@code type:deadline} or {@code type:event}</li>
+ *     <li>{@code done:true} or {@code done:false}</li>
+ *     <li>{@code due<date}, {@code due<=date}, {@code due>date}, {@code due>=date} or {@code due:date},
+ *     matching deadlines by due date</li>
+ *     <li>{@code on:date}, matching deadlines due and events happening on a date</li>
+ *     <li>{@code text:word}, or just {@code word}, matching descriptions containing the word</li>
+ * </ul>
+ * Dates are written as {@code 2025-01-01} or {@code 01/01/2025}.
+ */
+public class Query {
+    private static final String USAGE = "Terms: type:todo|deadline|event, done:true|false, due<date, due>date, "
+            + "due:date, on:date, text:word\nExample: query type:deadline done:false due<2025-01-01 text:report";
+    private static final String[] DUE_OPERATORS = {"<=", ">=", "<", ">", ":", "="};
+
+    private final List<Condition> conditions;
+
+    private Query(List<Condition> conditions) {
+        this.conditions = conditions;
+    }
+
+    /**
+     * Parses a query.
+     *
+     * @param text The terms of the query, separated by spaces.
+     * @return The query.
+     * @throws NimbusException If there are no terms or a term is not understood.
+     */
+    public static Query parse(String text) throws NimbusException {
+        List<Condition> conditions = new ArrayList<>();
+        for (String term : text.trim().split("\\s+")) {
+            if (!term.isEmpty()) {
+                conditions.add(parseTerm(term));
+            }
+        }
+        if (conditions.isEmpty()) {
+            throw new NimbusException("Oops! Please enter what to look for.\n" + USAGE);
+        }
+        return new Query(conditions);
+    }
+
+    private static Condition parseTerm(String term) throws NimbusException {
+        String lowerCaseTerm = term.toLowerCase();
+        if (lowerCaseTerm.startsWith("type:")) {
+            Filter filter = Filter.parse(term.substring(5));
+            if (filter == Filter.TODOS || filter == Filter.DEADLINES || filter == Filter.EVENTS) {
+                return new Condition.Is(filter, lowerCaseTerm);
+            }
+        } else if (lowerCaseTerm.equals("done:true") || lowerCaseTerm.equals("done:false")) {
+            return new Condition.Is(lowerCaseTerm.endsWith("true") ? Filter.DONE : Filter.PENDING, lowerCaseTerm);
+        } else if (lowerCaseTerm.matches("due[<>:=].*")) {
+            return parseDue(term, lowerCaseTerm);
+        } else if (lowerCaseTerm.startsWith("on:")) {
+            LocalDate date = DateTimeParser.parseDate(term.substring(3));
+            if (date != null) {
+                return new Condition.On(date, lowerCaseTerm);
+            }
+        } else if (lowerCaseTerm.startsWith("text:")) {
+            if (term.length() > 5) {
+                return new Condition.Text(term.substring(5), term);
+            }
+        } else if (!term.contains(":")) {
+            return new Condition.Text(term, term);
+        }
+        throw new NimbusException("Oops! I don't understand '" + term + "' in your query.\n" + USAGE);
+    }
+
+    private static Condition parseDue(String term, String lowerCaseTerm) throws NimbusException {
+        for (String operator : DUE_OPERATORS) {
+            if (!lowerCaseTerm.startsWith(operator, 3)) {
+                continue;
+            }
+            LocalDate date = DateTimeParser.parseDate(term.substring(3 + operator.length()));
+            if (date == null) {
+                break;
+            }
+            return switch (operator) {
+            case "<=" -> new Condition.Due(LocalDate.MIN, date, lowerCaseTerm);
+            case ">=" -> new Condition.Due(date, LocalDate.MAX, lowerCaseTerm);
+            case "<" -> new Condition.Due(LocalDate.MIN, date.minusDays(1), lowerCaseTerm);
+            case ">" -> new Condition.Due(date.plusDays(1), LocalDate.MAX, lowerCaseTerm);
+            default -> new Condition.Due(date, date, lowerCaseTerm);
+            };
+        }
+        throw new NimbusException("Oops! I don't understand '" + term + "' in your query.\n" + USAGE);
+    }
+
+
+    /**
+     * Returns the conditions of the query, in the order they were written.
+     *
+     * @return The conditions.
+     */
+    public List<Condition> getConditions() {
+        return conditions;
+    }
+
+    /**
+     * Returns whether the task satisfies every condition.
+     *
+     * @param task The task to check.
+     * @return True if the task matches the query.
+     */
+    public boolean matches(Task task) {
+        for (Condition condition : conditions) {
+            if (!condition.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return join(conditions);
+    }
+
+    /**
+     * Writes conditions back as query terms separated by spaces.
+     */
+    static String join(List<Condition> conditions) {
+        List<String> terms = new ArrayList<>();
+        for (Condition condition : conditions) {
+            terms.add(condition.toString());
+        }
+        return String.join(" ", terms);
+    }
+}
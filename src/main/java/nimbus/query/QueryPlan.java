@@ -0,0 +1,125 @@
+package nimbus.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import nimbus.index.PostingList;
+import nimbus.tasks.Task;
+
+/**
+ * How a query is run: an index lookup that finds the candidate tasks, or a scan of every task,
+ * followed by checking the conditions the lookup does not already guarantee.
+ */
+public class QueryPlan {
+    private final Query query;
+    private final Lookup driver;
+    private final List<Lookup> lookups;
+    private final List<Condition> remaining = new ArrayList<>();
+    private final int taskCount;
+
+    /**
+     * Constructs a QueryPlan.
+     *
+     * @param query The query.
+     * @param driver The lookup that finds the candidates, or null to check every task.
+     * @param lookups Every lookup that was considered.
+     * @param taskCount The number of tasks.
+     */
+    QueryPlan(Query query, Lookup driver, List<Lookup> lookups, int taskCount) {
+        this.query = query;
+        this.driver = driver;
+        this.lookups = lookups;
+        this.taskCount = taskCount;
+        for (Condition condition : query.getConditions()) {
+            if (driver == null || !driver.conditions().contains(condition)) {
+                remaining.add(condition);
+            }
+        }
+    }
+
+    /**
+     * Returns whether the plan checks every task instead of looking up candidates.
+     *
+     * @return True if no index is used.
+     */
+    public boolean isScan() {
+        return driver == null;
+    }
+
+    /**
+     * Looks up the IDs of the candidate tasks.
+     *
+     * @return The candidate IDs, in increasing order.
+     */
+    public PostingList findCandidates() {
+        assert driver != null : "A scan has no candidates to look up";
+        return driver.ids().get();
+    }
+
+    /**
+     * Returns whether a candidate satisfies the conditions its lookup does not already guarantee.
+     *
+     * @param task The candidate, or any task when the plan is a scan.
+     * @return True if the task matches the query.
+     */
+    public boolean matches(Task task) {
+        for (Condition condition : remaining) {
+            if (!condition.test(task)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the estimated number of tasks the plan checks, which is the number of candidates
+     * the chosen lookup finds, or every task for a scan.
+     *
+     * @return The estimated cost.
+     */
+    public int getEstimatedCost() {
+        return driver == null ? taskCount : driver.estimate();
+    }
+
+    /**
+     * Describes the plan, the other lookups that were considered, and the estimated cost.
+     *
+     * @return The explanation, one step per line.
+     */
+    public String explain() {
+        StringBuilder explanation = new StringBuilder("Query: ").append(query).append("\n");
+        int step = 1;
+        if (driver == null) {
+            explanation.append("  ").append(step++).append(". Go through all ").append(taskCount).append(" tasks\n");
+        } else {
+            explanation.append("  ").append(step++).append(". ").append(driver.describe()).append("\n");
+        }
+        if (!remaining.isEmpty()) {
+            explanation.append("  ").append(step).append(". Check ").append(Query.join(remaining))
+                    .append(driver == null ? " on each task\n" : " on each candidate\n");
+        }
+        for (Lookup lookup : lookups) {
+            if (lookup != driver) {
+                explanation.append("  Not chosen: ").append(lookup.describe()).append("\n");
+            }
+        }
+        return explanation.append("Estimated cost: ").append(getEstimatedCost()).append(" of ")
+                .append(taskCount).append(" tasks checked").toString();
+    }
+
+    /**
+     * A way of finding the tasks that satisfy some conditions of a query using an index.
+     *
+     * @param index The name of the index.
+     * @param conditions The conditions every task found satisfies.
+     * @param estimate An upper bound on the number of tasks found.
+     * @param ids Finds the IDs of the tasks, in increasing order.
+     */
+    record Lookup(String index, List<Condition> conditions, int estimate, Supplier<PostingList> ids) {
+        String describe() {
+            return "Look up " + Query.join(conditions) + " in " + index + " (about " + estimate
+                    + (estimate == 1 ? " task)" : " tasks)");
+        }
+    }
+}
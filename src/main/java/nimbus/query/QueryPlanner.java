@@ -0,0 +1,106 @@
+package nimbus.query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import nimbus.index.DateIndex;
+import nimbus.index.FilterIndex;
+import nimbus.index.IntervalTree;
+import nimbus.index.PostingList;
+import nimbus.index.TrigramIndex;
+
+/**
+ * Chooses how to run a query over the task indexes.
+ *
+ * <p>Every condition that an index can answer gives a way to find candidate tasks, with an estimate of
+ * how many it finds: the cardinality of the status and type bitmaps, the number of deadlines in the
+ * date range, the events found in the interval tree, or the shortest trigram posting list of a word.
+ * The planner drives the query from the way with the fewest candidates, and the remaining conditions
+ * are checked on each candidate. When no condition has an index, every task is checked.
+ */
+public class QueryPlanner {
+    private final TrigramIndex trigramIndex;
+    private final DateIndex dateIndex;
+    private final IntervalTree intervalTree;
+    private final FilterIndex filterIndex;
+
+    /**
+     * Constructs a QueryPlanner over the given indexes.
+     *
+     * @param trigramIndex The index of description trigrams.
+     * @param dateIndex The index of deadlines by due date.
+     * @param intervalTree The index of events by time.
+     * @param filterIndex The bitmaps of tasks by status and type.
+     */
+    public QueryPlanner(TrigramIndex trigramIndex, DateIndex dateIndex, IntervalTree intervalTree,
+            FilterIndex filterIndex) {
+        this.trigramIndex = trigramIndex;
+        this.dateIndex = dateIndex;
+        this.intervalTree = intervalTree;
+        this.filterIndex = filterIndex;
+    }
+
+    /**
+     * Plans a query, choosing the index lookup estimated to find the fewest candidates.
+     *
+     * @param query The query.
+     * @param taskCount The number of tasks, which is the cost of checking every task.
+     * @return The plan.
+     */
+    public QueryPlan plan(Query query, int taskCount) {
+        List<QueryPlan.Lookup> lookups = lookupsFor(query);
+        QueryPlan.Lookup best = null;
+        for (QueryPlan.Lookup lookup : lookups) {
+            if (lookup.estimate() < taskCount && (best == null || lookup.estimate() < best.estimate())) {
+                best = lookup;
+            }
+        }
+        return new QueryPlan(query, best, lookups, taskCount);
+    }
+
+    private List<QueryPlan.Lookup> lookupsFor(Query query) {
+        List<QueryPlan.Lookup> lookups = new ArrayList<>();
+        List<Condition> filterConditions = new ArrayList<>();
+        List<FilterIndex.Filter> filters = new ArrayList<>();
+        int filterEstimate = Integer.MAX_VALUE;
+        for (Condition condition : query.getConditions()) {
+            if (condition instanceof Condition.Is is) {
+                filterConditions.add(is);
+                filters.add(is.filter());
+                filterEstimate = Math.min(filterEstimate, filterIndex.count(is.filter()));
+            }
+        }
+        if (!filters.isEmpty()) {
+            lookups.add(new QueryPlan.Lookup("the status and type bitmaps", filterConditions, filterEstimate, () ->
+                    filterIndex.find(filters)));
+        }
+
+        for (Condition condition : query.getConditions()) {
+            if (condition instanceof Condition.Due due) {
+                lookups.add(new QueryPlan.Lookup("the date index", List.of(due),
+                        dateIndex.countBetween(due.first(), due.last()),
+                        () -> dateIndex.findBetween(due.first(), due.last())));
+            } else if (condition instanceof Condition.On on) {
+                lookups.add(lookupOn(on));
+            } else if (condition instanceof Condition.Text text) {
+                lookups.add(new QueryPlan.Lookup("the keyword index", List.of(text),
+                        trigramIndex.estimate(text.word()), () -> trigramIndex.find(text.word())));
+            }
+        }
+        return lookups;
+    }
+
+    /**
+     * Looks up a date in both the date index and the interval tree. The events are found while planning,
+     * since counting them costs as much as finding them.
+     */
+    private QueryPlan.Lookup lookupOn(Condition.On on) {
+        LocalDate date = on.date();
+        PostingList events = intervalTree.findOverlapping(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        Supplier<PostingList> ids = () -> PostingList.union(dateIndex.findOn(date), events);
+        return new QueryPlan.Lookup("the date index and interval tree", List.of(on),
+                dateIndex.countBetween(date, date) + events.size(), ids);
+    }
+}
@@ -0,0 +1,131 @@
+package nimbus.storage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import nimbus.exceptions.NimbusException;
+
+/**
+ * Writes saves on a dedicated thread so that commands never wait for the disk.
+ * Saves that pile up while a write is in progress are coalesced into one write (group commit).
+ */
+class AsyncWriter {
+    private final DurabilityPolicy policy;
+    private final Deque<PendingWrite> queue = new ArrayDeque<>();
+    private final Object ioLock = new Object();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nimbus-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs an AsyncWriter with the given durability policy.
+     *
+     * @param policy When queued saves are written; must not be {@link DurabilityPolicy#SYNC}.
+     * @param intervalMillis The write interval, used only by {@link DurabilityPolicy#INTERVAL}.
+     */
+    AsyncWriter(DurabilityPolicy policy, long intervalMillis) {
+        assert policy != DurabilityPolicy.SYNC : "Synchronous saves do not need a writer thread";
+
+        this.policy = policy;
+        if (policy == DurabilityPolicy.INTERVAL) {
+            assert intervalMillis > 0 : "Write interval should be positive";
+            writer.scheduleWithFixedDelay(this::writeInBackground, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Queues a save. Returns immediately; the save is written according to the policy.
+     *
+     * @param pendingWrite The captured save.
+     */
+    void submit(PendingWrite pendingWrite) {
+        synchronized (queue) {
+            queue.addLast(pendingWrite);
+        }
+        if (policy == DurabilityPolicy.EVERY_COMMAND) {
+            writer.execute(this::writeInBackground);
+        }
+    }
+
+    /**
+     * Writes every queued save on the calling thread.
+     *
+     * @throws NimbusException If a write fails. The failed saves stay queued.
+     */
+    void flush() throws NimbusException {
+        synchronized (ioLock) {
+            List<PendingWrite> pending;
+            synchronized (queue) {
+                pending = new ArrayList<>(queue);
+                queue.clear();
+            }
+            writeAll(pending);
+        }
+    }
+
+    /**
+     * Writes everything still queued and stops the writer thread.
+     *
+     * @throws NimbusException If the final write fails.
+     */
+    void close() throws NimbusException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void writeInBackground() {
+        try {
+            flush();
+        } catch (NimbusException e) {
+            System.err.println("Background save failed, will retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Coalesces the saves in order and writes them, putting anything unwritten back
+     * at the front of the queue if a write fails.
+     */
+    private void writeAll(List<PendingWrite> pending) throws NimbusException {
+        PendingWrite merged = null;
+        for (int i = 0; i < pending.size(); i++) {
+            PendingWrite next = pending.get(i);
+            PendingWrite combined = merged == null ? next : merged.coalesce(next);
+            if (combined != null) {
+                merged = combined;
+                continue;
+            }
+            writeOrRequeue(merged, pending.subList(i, pending.size()));
+            merged = next;
+        }
+        if (merged != null) {
+            writeOrRequeue(merged, List.of());
+        }
+    }
+
+    private void writeOrRequeue(PendingWrite merged, List<PendingWrite> rest) throws NimbusException {
+        try {
+            merged.write();
+        } catch (NimbusException e) {
+            synchronized (queue) {
+                for (int i = rest.size() - 1; i >= 0; i--) {
+                    queue.addFirst(rest.get(i));
+                }
+                queue.addFirst(merged);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package nimbus.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+
+/**
+ * Reads and writes the compact binary task file format.
+ *
+ * <p>A file starts with a 4-byte magic number, a 2-byte format version, the last journal
+ * sequence number it contains and the task count. Each task is a type byte, a flags byte,
+ * a length-prefixed UTF-8 description, and its date/times as minutes since the epoch.
+ * Since version 2, a record whose flags have the ID bit set ends with the task ID and its
+ * creation time in milliseconds since the epoch. Version 1 files are still read.
+ */
+final class BinaryTaskCodec {
+    static final int MAGIC = 0x4E4D4253; // "NMBS"
+    static final short VERSION = 2;
+
+    private static final byte TODO = 'T';
+    private static final byte DEADLINE = 'D';
+    private static final byte EVENT = 'E';
+    private static final int DONE_FLAG = 1;
+    private static final int ID_FLAG = 2;
+    private static final int ID_BYTES = 4 + 8;
+    private static final int HEADER_BYTES = 4 + 2 + 8 + 4;
+
+    private BinaryTaskCodec() {
+    }
+
+    /**
+     * Returns whether the file starts with the binary format's magic number.
+     *
+     * @param path The file to check.
+     * @return True if the file is in the binary format.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean isBinaryFile(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return in.readInt() == MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Encodes the tasks as the body of a binary file, without the header.
+     *
+     * @param tasks The tasks to encode.
+     * @return The encoded records.
+     */
+    static byte[] encodeAll(List<Task> tasks) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tasks.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            if (tasks instanceof LazyTaskList lazyTasks) {
+                lazyTasks.writeRecords(out);
+                return bytes.toByteArray();
+            }
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Captures the tasks as a binary snapshot. Encoding happens immediately,
+     * so the tasks may change afterwards without affecting the snapshot.
+     *
+     * @param tasks The tasks to capture.
+     * @return The snapshot.
+     */
+    static Snapshot capture(List<Task> tasks) {
+        int count = tasks.size();
+        byte[] body = encodeAll(tasks);
+        return (path, seq) -> {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(path)))) {
+                writeHeader(out, seq, count);
+                out.write(body);
+            }
+        };
+    }
+
+    /**
+     * Writes the tasks to a binary file, encoding them as they are written.
+     *
+     * @param path The file to write.
+     * @param seq The last journal sequence number the file contains.
+     * @param tasks The tasks to write.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeFile(Path path, long seq, List<Task> tasks) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            writeHeader(out, seq, tasks.size());
+            for (Task task : tasks) {
+                writeTask(out, task);
+            }
+        }
+    }
+
+    /**
+     * Reads a binary file into the given list. A truncated final record is skipped with a warning.
+     *
+     * @param path The file to read.
+     * @param tasks The list to append the tasks to.
+     * @return The last journal sequence number the file contains.
+     * @throws IOException If the file cannot be read or is not in a supported version.
+     */
+    static long readFile(Path path, ArrayList<Task> tasks) throws IOException {
+        try (InputStream stream = new BufferedInputStream(Files.newInputStream(path), 1 << 16)) {
+            DataInputStream in = new DataInputStream(stream);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a binary task file");
+            }
+            short version = in.readShort();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("unsupported task file version " + version);
+            }
+            long seq = in.readLong();
+            int count = in.readInt();
+            tasks.ensureCapacity(tasks.size() + count);
+            for (int i = 0; i < count; i++) {
+                try {
+                    tasks.add(readTask(in));
+                } catch (EOFException e) {
+                    System.err.println("Skipping " + (count - i) + " truncated tasks in storage");
+                    break;
+                }
+            }
+            return seq;
+        }
+    }
+
+    /**
+     * Writes a single task record.
+     *
+     * @param out The output to write to.
+     * @param task The task to write.
+     * @throws IOException If the output fails.
+     */
+    static void writeTask(DataOutput out, Task task) throws IOException {
+        if (task instanceof Deadline deadline) {
+            out.writeByte(DEADLINE);
+            writeCommon(out, task);
+            out.writeLong(toEpochMinute(deadline.getDueDateTime()));
+        } else if (task instanceof Event event) {
+            out.writeByte(EVENT);
+            writeCommon(out, task);
+            out.writeLong(toEpochMinute(event.getFromDateTime()));
+            out.writeLong(toEpochMinute(event.getToDateTime()));
+        } else {
+            out.writeByte(TODO);
+            writeCommon(out, task);
+        }
+        if (task.getId() != 0) {
+            out.writeInt(task.getId());
+            out.writeLong(task.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+
+    /**
+     * Reads a single task record.
+     *
+     * @param in The input to read from.
+     * @return The decoded task.
+     * @throws IOException If the input fails or the record has an unknown type.
+     */
+    static Task readTask(DataInput in) throws IOException {
+        byte type = in.readByte();
+        int flags = in.readUnsignedByte();
+        byte[] descriptionBytes = new byte[in.readInt()];
+        in.readFully(descriptionBytes);
+        String description = new String(descriptionBytes, StandardCharsets.UTF_8);
+
+        Task task;
+        switch (type) {
+        case TODO -> task = new Todo(description);
+        case DEADLINE -> task = new Deadline(description, fromEpochMinute(in.readLong()));
+        case EVENT -> task = new Event(description, fromEpochMinute(in.readLong()), fromEpochMinute(in.readLong()));
+        default -> throw new IOException("unknown task type " + type);
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        if ((flags & ID_FLAG) != 0) {
+            task.setId(in.readInt());
+            task.setCreatedAt(fromEpochMilli(in.readLong()));
+        }
+        return task;
+    }
+
+    /**
+     * Reads the header of a mapped binary file and leaves the buffer positioned at the first record.
+     *
+     * @param buffer The mapped file.
+     * @return The journal sequence number and the task count, in that order.
+     * @throws IOException If the file is not in a supported version.
+     */
+    static long[] readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+            throw new IOException("not a binary task file");
+        }
+        short version = buffer.getShort();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("unsupported task file version " + version);
+        }
+        long seq = buffer.getLong();
+        int count = buffer.getInt();
+        return new long[] {seq, count};
+    }
+
+    /**
+     * Returns the size in bytes of the record starting at the given offset, without decoding it.
+     *
+     * @param buffer The mapped file.
+     * @param offset The offset of the record.
+     * @return The record length.
+     */
+    static int recordLength(ByteBuffer buffer, int offset) {
+        byte type = buffer.get(offset);
+        int descriptionLength = buffer.getInt(offset + 2);
+        int dateBytes = type == DEADLINE ? 8 : type == EVENT ? 16 : 0;
+        int idBytes = (buffer.get(offset + 1) & ID_FLAG) != 0 ? ID_BYTES : 0;
+        return 2 + 4 + descriptionLength + dateBytes + idBytes;
+    }
+
+    /**
+     * Decodes the record starting at the given offset of a mapped file.
+     *
+     * @param buffer The mapped file.
+     * @param offset The offset of the record.
+     * @return The decoded task.
+     */
+    static Task readTask(ByteBuffer buffer, int offset) {
+        byte type = buffer.get(offset);
+        int flags = buffer.get(offset + 1) & 0xFF;
+        int descriptionLength = buffer.getInt(offset + 2);
+        byte[] descriptionBytes = new byte[descriptionLength];
+        buffer.get(offset + 6, descriptionBytes);
+        String description = new String(descriptionBytes, StandardCharsets.UTF_8);
+        int datesOffset = offset + 6 + descriptionLength;
+
+        Task task;
+        switch (type) {
+        case DEADLINE -> task = new Deadline(description, fromEpochMinute(buffer.getLong(datesOffset)));
+        case EVENT -> task = new Event(description, fromEpochMinute(buffer.getLong(datesOffset)),
+                fromEpochMinute(buffer.getLong(datesOffset + 8)));
+        default -> task = new Todo(description);
+        }
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        if ((flags & ID_FLAG) != 0) {
+            int idOffset = datesOffset + (type == DEADLINE ? 8 : type == EVENT ? 16 : 0);
+            task.setId(buffer.getInt(idOffset));
+            task.setCreatedAt(fromEpochMilli(buffer.getLong(idOffset + 4)));
+        }
+        return task;
+    }
+
+    private static void writeHeader(DataOutput out, long seq, int count) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(seq);
+        out.writeInt(count);
+    }
+
+    private static void writeCommon(DataOutput out, Task task) throws IOException {
+        out.writeByte((task.isDone() ? DONE_FLAG : 0) | (task.getId() != 0 ? ID_FLAG : 0));
+        byte[] descriptionBytes = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(descriptionBytes.length);
+        out.write(descriptionBytes);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochMilli(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000),
+                Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,15 @@
+package nimbus.storage;
+
+/**
+ * Controls when saved changes reach the disk.
+ */
+public enum DurabilityPolicy {
+    /** Every save is written on the caller's thread before the command returns. */
+    SYNC,
+    /** Saves are handed to a writer thread, which writes each burst as soon as it can. */
+    EVERY_COMMAND,
+    /** Saves are handed to a writer thread, which writes whatever has piled up at a fixed interval. */
+    INTERVAL,
+    /** Saves are only written when the storage is flushed or closed. */
+    ON_SHUTDOWN
+}
@@ -0,0 +1,305 @@
+package nimbus.storage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import nimbus.exceptions.NimbusException;
+
+/**
+ * Append-only log of task mutations that sits next to a snapshot file.
+ * Every record is tagged with a sequence number, and the snapshot remembers the
+ * last sequence number folded into it, so a crash midway through compaction never
+ * causes a record to be applied twice.
+ */
+class Journal {
+    static final String SEQ_HEADER = "#seq ";
+    static final String ADD = "A";
+    static final String MARK = "M";
+    static final String UNMARK = "U";
+    static final String DELETE = "X";
+    static final String CLEAR = "C";
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final int compactionThreshold;
+    private final List<String> pendingRecords = new ArrayList<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "nimbus-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long lastSeq;
+    private long snapshotSeq;
+    private int recordCount;
+    private boolean isCompacting;
+    private boolean isSnapshotRequired;
+
+    /**
+     * Constructs a Journal for the given snapshot file.
+     *
+     * @param snapshotPath The snapshot file the journal belongs to.
+     * @param compactionThreshold The number of journal records that triggers compaction.
+     */
+    Journal(Path snapshotPath, int compactionThreshold) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = Path.of(snapshotPath + ".journal");
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Queues a mutation record. Records are taken by the next {@link #prepareFlush}.
+     *
+     * @param op The operation code of the record.
+     * @param payload The operation argument, or an empty string if there is none.
+     */
+    synchronized void record(String op, String payload) {
+        lastSeq++;
+        pendingRecords.add(lastSeq + " | " + op + (payload.isEmpty() ? "" : " | " + payload));
+    }
+
+    /**
+     * Requests that the next {@link #prepareFlush} carries a full snapshot instead of appending records.
+     * Used for changes such as reordering that cannot be expressed as positional records.
+     */
+    synchronized void requireSnapshot() {
+        lastSeq++;
+        isSnapshotRequired = true;
+    }
+
+    /**
+     * Takes the queued records, plus a copy of the current state if a snapshot is due,
+     * as one pending write. Must be called on the thread that mutates the task list;
+     * the returned write may then be performed on any thread.
+     *
+     * @param snapshotSource Captures the current state, called only when a snapshot is due.
+     * @return The pending write, which does nothing if there was no change.
+     */
+    synchronized Flush prepareFlush(SnapshotSource snapshotSource) {
+        Flush flush = new Flush(new ArrayList<>(pendingRecords));
+        pendingRecords.clear();
+
+        boolean isCompactionDue = recordCount + flush.records.size() >= compactionThreshold && !isCompacting;
+        if (isSnapshotRequired || isCompactionDue) {
+            flush.snapshot = snapshotSource.capture();
+            flush.snapshotSeq = lastSeq;
+            flush.isSnapshotRequired = isSnapshotRequired;
+            isCompacting = isCompacting || !isSnapshotRequired;
+            isSnapshotRequired = false;
+        }
+        return flush;
+    }
+
+    /**
+     * Appends the records of a pending write to the journal file, then writes or schedules
+     * the snapshot it carries. A required snapshot is written inline; compaction runs in the background.
+     */
+    private synchronized void write(Flush flush) throws NimbusException {
+        if (flush.isSnapshotRequired) {
+            try {
+                installSnapshot(writeTemp(snapshotPath, flush.snapshot, flush.snapshotSeq), flush.snapshotSeq);
+            } catch (IOException e) {
+                throw new NimbusException("Error saving tasks to file: " + e.getMessage());
+            }
+            // A compaction dropped while coalescing is covered by this snapshot.
+            isCompacting = false;
+            return;
+        }
+
+        if (!flush.records.isEmpty()) {
+            try {
+                Files.write(journalPath, flush.records, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new NimbusException("Error appending to journal: " + e.getMessage());
+            }
+            recordCount += flush.records.size();
+        }
+
+        if (flush.snapshot != null) {
+            Snapshot snapshot = flush.snapshot;
+            long seq = flush.snapshotSeq;
+            compactor.submit(() -> compact(snapshot, seq));
+        }
+    }
+
+    /**
+     * Reads the journal records that are newer than the given snapshot sequence number.
+     * Also restores the sequence counter so new records continue where the file left off.
+     *
+     * @param snapshotSeq The last sequence number already contained in the snapshot.
+     * @return The unapplied records, split into {@code [seq, op, payload]}.
+     * @throws NimbusException If the journal cannot be read.
+     */
+    synchronized List<String[]> readRecords(long snapshotSeq) throws NimbusException {
+        List<String[]> records = new ArrayList<>();
+        this.snapshotSeq = snapshotSeq;
+        lastSeq = snapshotSeq;
+        recordCount = 0;
+        if (!Files.exists(journalPath)) {
+            return records;
+        }
+
+        try {
+            for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+                String[] parts = line.split(" \\| ", 3);
+                long seq;
+                try {
+                    seq = Long.parseLong(parts[0]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping corrupted journal record: " + line);
+                    continue;
+                }
+                recordCount++;
+                if (seq <= snapshotSeq) {
+                    continue;
+                }
+                lastSeq = Math.max(lastSeq, seq);
+                records.add(parts);
+            }
+        } catch (IOException e) {
+            throw new NimbusException("Error reading journal: " + e.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Waits for any running compaction to finish and stops the compaction thread.
+     */
+    void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Folds the journal into a new snapshot, then drops the records the snapshot now covers.
+     * Runs on the compaction thread; records appended in the meantime are kept.
+     */
+    private void compact(Snapshot snapshot, long seq) {
+        try {
+            Path tempSnapshot = writeTemp(snapshotPath, snapshot, seq);
+            synchronized (this) {
+                installSnapshot(tempSnapshot, seq);
+            }
+        } catch (IOException e) {
+            System.err.println("Journal compaction failed, keeping journal: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                isCompacting = false;
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot to a fresh temporary file next to the target, ready to be moved into place.
+     *
+     * @param target The file the snapshot will replace.
+     * @param snapshot The captured state.
+     * @param seq The last journal sequence number the snapshot contains.
+     * @return The temporary file.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    static Path writeTemp(Path target, Snapshot snapshot, long seq) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path tempSnapshot = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            snapshot.writeTo(tempSnapshot, seq);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempSnapshot);
+            throw e;
+        }
+        return tempSnapshot;
+    }
+
+    /**
+     * Moves a written snapshot into place and trims the journal records it covers.
+     * A snapshot older than the installed one is discarded. Callers must hold the lock.
+     */
+    private void installSnapshot(Path tempSnapshot, long seq) throws IOException {
+        if (seq <= snapshotSeq) {
+            Files.deleteIfExists(tempSnapshot);
+            return;
+        }
+        Files.move(tempSnapshot, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        snapshotSeq = seq;
+
+        List<String> remaining = new ArrayList<>();
+        if (Files.exists(journalPath)) {
+            for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+                String seqField = line.split(" \\| ", 2)[0];
+                try {
+                    if (Long.parseLong(seqField) > seq) {
+                        remaining.add(line);
+                    }
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        Path tempJournal = Path.of(journalPath + ".tmp");
+        Files.write(tempJournal, remaining, StandardCharsets.UTF_8);
+        Files.move(tempJournal, journalPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        recordCount = remaining.size();
+    }
+
+    /**
+     * Captures the current task list when a snapshot is due.
+     */
+    interface SnapshotSource {
+        Snapshot capture();
+    }
+
+    /**
+     * The records and optional snapshot produced by one save, ready to be written.
+     */
+    class Flush implements PendingWrite {
+        private final List<String> records;
+        private Snapshot snapshot;
+        private long snapshotSeq;
+        private boolean isSnapshotRequired;
+
+        private Flush(List<String> records) {
+            this.records = records;
+        }
+
+        @Override
+        public void write() throws NimbusException {
+            Journal.this.write(this);
+        }
+
+        /**
+         * Merges a newer flush into this one so both go out in a single append.
+         * A required snapshot covers every earlier record, so it replaces them outright,
+         * while records after a required snapshot have to be written separately.
+         */
+        @Override
+        public PendingWrite coalesce(PendingWrite newer) {
+            Flush next = (Flush) newer;
+            if (next.isSnapshotRequired) {
+                return next;
+            }
+            if (isSnapshotRequired) {
+                return null;
+            }
+            Flush merged = new Flush(new ArrayList<>(records));
+            merged.records.addAll(next.records);
+            Flush withSnapshot = next.snapshot != null ? next : this;
+            merged.snapshot = withSnapshot.snapshot;
+            merged.snapshotSeq = withSnapshot.snapshotSeq;
+            return merged;
+        }
+    }
+}
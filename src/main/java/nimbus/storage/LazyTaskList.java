@@ -0,0 +1,216 @@
+package nimbus.storage;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import nimbus.tasks.Task;
+
+/**
+ * A task list backed by a memory-mapped binary task file.
+ * Only the offset of each record is kept up front; a task is decoded on first access and kept
+ * in a bounded cache, so memory grows with the tasks actually touched rather than the file size.
+ *
+ * <p>Tasks that are added or replaced through {@link #set} live on the heap and are never evicted.
+ * A task changed in place (for example marked as done) must be written back with {@link #set},
+ * otherwise the change is lost once the cached copy is evicted.
+ */
+class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private static final int IN_MEMORY = -1;
+
+    private final ByteBuffer records;
+    private final Map<Integer, Task> cache;
+    private int[] offsets;
+    private Task[] pinned;
+    private int size;
+
+    /**
+     * Constructs a LazyTaskList over the records of a mapped binary file.
+     *
+     * @param records The mapped file.
+     * @param offsets The offset of every record, in list order.
+     * @param cacheSize The maximum number of decoded file-backed tasks to keep.
+     */
+    LazyTaskList(ByteBuffer records, int[] offsets, int cacheSize) {
+        this.records = records;
+        this.offsets = offsets;
+        this.pinned = new Task[offsets.length];
+        this.size = offsets.length;
+        this.cache = new LinkedHashMap<>(Math.min(cacheSize, offsets.length) * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Indexes the records of a mapped binary file positioned just after its header.
+     *
+     * @param records The mapped file.
+     * @param count The number of records announced by the header.
+     * @return The offset of every complete record.
+     */
+    static int[] indexRecords(ByteBuffer records, int count) {
+        int[] offsets = new int[count];
+        int offset = records.position();
+        int indexed = 0;
+        while (indexed < count && offset + 6 <= records.limit()) {
+            int length = BinaryTaskCodec.recordLength(records, offset);
+            if (offset + length > records.limit()) {
+                break;
+            }
+            offsets[indexed++] = offset;
+            offset += length;
+        }
+        if (indexed < count) {
+            System.err.println("Skipping " + (count - indexed) + " truncated tasks in storage");
+            return Arrays.copyOf(offsets, indexed);
+        }
+        return offsets;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        if (pinned[index] != null) {
+            return pinned[index];
+        }
+        return cache.computeIfAbsent(offsets[index], offset -> BinaryTaskCodec.readTask(records, offset));
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        if (offsets[index] != IN_MEMORY) {
+            cache.remove(offsets[index]);
+            offsets[index] = IN_MEMORY;
+        }
+        pinned[index] = task;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == offsets.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            offsets = Arrays.copyOf(offsets, capacity);
+            pinned = Arrays.copyOf(pinned, capacity);
+        }
+        System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        System.arraycopy(pinned, index, pinned, index + 1, size - index);
+        offsets[index] = IN_MEMORY;
+        pinned[index] = task;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        if (offsets[index] != IN_MEMORY) {
+            cache.remove(offsets[index]);
+        }
+        System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+        System.arraycopy(pinned, index + 1, pinned, index, size - index - 1);
+        size--;
+        pinned[size] = null;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes every task matching the filter, moving the records of the kept tasks down in one pass,
+     * which takes O(n) however many tasks are removed. Every task is decoded to be tested.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                if (offsets[i] != IN_MEMORY) {
+                    cache.remove(offsets[i]);
+                }
+            } else {
+                offsets[kept] = offsets[i];
+                pinned[kept] = pinned[i];
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        Arrays.fill(pinned, kept, size, null);
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(pinned, 0, size, null);
+        cache.clear();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns how many tasks are currently decoded or held on the heap.
+     *
+     * @return The number of resident tasks.
+     */
+    int residentCount() {
+        int count = cache.size();
+        for (int i = 0; i < size; i++) {
+            if (pinned[i] != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes every task as a binary record. Unchanged records are copied straight from
+     * the mapped file without being decoded.
+     *
+     * @param out The output to write to.
+     * @throws IOException If the output fails.
+     */
+    void writeRecords(DataOutput out) throws IOException {
+        byte[] copyBuffer = new byte[256];
+        for (int i = 0; i < size; i++) {
+            if (pinned[i] != null) {
+                BinaryTaskCodec.writeTask(out, pinned[i]);
+                continue;
+            }
+            int length = BinaryTaskCodec.recordLength(records, offsets[i]);
+            if (copyBuffer.length < length) {
+                copyBuffer = new byte[Math.max(length, copyBuffer.length * 2)];
+            }
+            records.get(offsets[i], copyBuffer, 0, length);
+            out.write(copyBuffer, 0, length);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package nimbus.storage;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import nimbus.tasks.Task;
+
+/**
+ * Loads large text task files by memory-mapping them, cutting the mapping into chunks at line
+ * boundaries and parsing the chunks in parallel on the common fork-join pool.
+ * Chunks are merged back in file order, so task numbering is the same as a sequential load.
+ */
+final class ParallelTextLoader {
+    /** Files smaller than this are not worth splitting and are read line by line instead. */
+    static final long MIN_PARALLEL_BYTES = 1 << 20;
+
+    private static final int MIN_CHUNK_BYTES = 1 << 16;
+    private static final int CHUNKS_PER_CORE = 4;
+
+    private ParallelTextLoader() {
+    }
+
+    /**
+     * Returns whether a file of the given size should be loaded through this class.
+     *
+     * @param size The file size in bytes.
+     * @return True if the parallel path should be used.
+     */
+    static boolean isWorthwhile(long size) {
+        return size >= MIN_PARALLEL_BYTES && size <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Loads a text task file into the given list.
+     *
+     * @param path The file to load.
+     * @param tasks The list to append the tasks to, in file order.
+     * @return The journal sequence number recorded in the file header, or 0 if there is none.
+     * @throws IOException If the file cannot be mapped.
+     */
+    static long load(Path path, ArrayList<Task> tasks) throws IOException {
+        return load(path, tasks, MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Loads a text task file, using chunks of at least the given size.
+     *
+     * @param path The file to load.
+     * @param tasks The list to append the tasks to, in file order.
+     * @param minChunkBytes The smallest chunk worth handing to another thread.
+     * @return The journal sequence number recorded in the file header, or 0 if there is none.
+     * @throws IOException If the file cannot be mapped.
+     */
+    static long load(Path path, ArrayList<Task> tasks, int minChunkBytes) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("task file too large to map: " + size + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int[] boundaries = findChunkBoundaries(buffer, minChunkBytes);
+        Charset charset = Charset.defaultCharset();
+        List<Chunk> chunks = IntStream.range(0, boundaries.length - 1)
+                .parallel()
+                .mapToObj(i -> parseChunk(buffer, boundaries[i], boundaries[i + 1], charset))
+                .collect(Collectors.toList());
+
+        long seq = 0;
+        int total = 0;
+        for (Chunk chunk : chunks) {
+            total += chunk.tasks.size();
+        }
+        tasks.ensureCapacity(tasks.size() + total);
+        for (Chunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+            seq = Math.max(seq, chunk.seq);
+        }
+        return seq;
+    }
+
+    /**
+     * Splits the buffer into roughly equal chunks, moving every cut forward to just after a newline.
+     *
+     * @return The chunk start offsets followed by the buffer size.
+     */
+    private static int[] findChunkBoundaries(MappedByteBuffer buffer, int minChunkBytes) {
+        int size = buffer.limit();
+        int maxChunks = Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE;
+        int chunkCount = Math.max(1, Math.min(maxChunks, size / minChunkBytes));
+
+        List<Integer> boundaries = new ArrayList<>(chunkCount + 1);
+        boundaries.add(0);
+        for (int i = 1; i < chunkCount; i++) {
+            int cut = Math.max((int) ((long) size * i / chunkCount), boundaries.get(boundaries.size() - 1));
+            while (cut < size && buffer.get(cut - 1) != '\n') {
+                cut++;
+            }
+            if (cut > boundaries.get(boundaries.size() - 1) && cut < size) {
+                boundaries.add(cut);
+            }
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Chunk parseChunk(MappedByteBuffer buffer, int start, int end, Charset charset) {
+        CharBuffer chars = charset.decode(buffer.slice(start, end - start));
+        Chunk chunk = new Chunk();
+
+        int lineStart = 0;
+        int length = chars.length();
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && chars.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && chars.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            String line = chars.subSequence(lineStart, contentEnd).toString();
+            lineStart = lineEnd + 1;
+
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith(Journal.SEQ_HEADER)) {
+                chunk.seq = Long.parseLong(line.substring(Journal.SEQ_HEADER.length()).trim());
+                continue;
+            }
+            try {
+                chunk.tasks.add(Storage.parseTask(line));
+            } catch (Exception e) {
+                System.err.println("Skipping corrupted task in storage: " + line);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * The tasks parsed from one chunk, plus the sequence header if the chunk contained it.
+     */
+    private static class Chunk {
+        private final List<Task> tasks = new ArrayList<>();
+        private long seq;
+    }
+}
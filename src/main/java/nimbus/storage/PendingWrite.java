@@ -0,0 +1,23 @@
+package nimbus.storage;
+
+import nimbus.exceptions.NimbusException;
+
+/**
+ * A save that has been captured on the caller's thread and can be written to disk later.
+ */
+interface PendingWrite {
+    /**
+     * Writes this save to disk.
+     *
+     * @throws NimbusException If the write fails.
+     */
+    void write() throws NimbusException;
+
+    /**
+     * Combines this save with a newer one so a burst of saves becomes a single write.
+     *
+     * @param newer The save that was captured after this one.
+     * @return The combined save, or null if the two must be written one after the other.
+     */
+    PendingWrite coalesce(PendingWrite newer);
+}
@@ -0,0 +1,402 @@
+package nimbus.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.tasks.Task;
+
+/**
+ * Stores tasks across fixed-size segment files plus a small manifest, so that a change only
+ * rewrites the segments that contain changed tasks.
+ *
+ * <p>Segments live in {@code <filePath>.segments/}. The manifest lists the segment files in
+ * list order together with their task counts. A deletion only shrinks its own segment, so later
+ * segments keep their files. Rewritten segments are saved under new file names and the manifest
+ * is replaced last, so every save is atomic; superseded segment files are deleted afterwards.
+ * An existing single task file is split into segments on first load and left in place.
+ *
+ * <p>Segments take the place of the journal of {@link StorageLayout#JOURNAL}: a change is saved by
+ * rewriting its segment rather than appending a record, so there is no journal to compact.
+ * A journal left next to the single file is applied when the file is first split, so switching
+ * to segments loses no change; the single file and journal are not updated after that.
+ */
+public class SegmentedStorage extends Storage {
+    public static final int DEFAULT_SEGMENT_SIZE = 4096;
+
+    private static final String MANIFEST = "manifest";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final String filePath;
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private final List<Long> obsoleteIds = new ArrayList<>();
+    private long nextSegmentId = 1;
+    private boolean isRebalanceRequired;
+
+    /**
+     * Constructs a SegmentedStorage with the default segment size.
+     *
+     * @param filePath The path of the single task file; segments are stored next to it.
+     * @param format The format of the segment files.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     */
+    public SegmentedStorage(String filePath, StorageFormat format, DurabilityPolicy policy, long intervalMillis) {
+        this(filePath, format, DEFAULT_SEGMENT_SIZE, policy, intervalMillis);
+    }
+
+    /**
+     * Constructs a SegmentedStorage.
+     *
+     * @param filePath The path of the single task file; segments are stored next to it.
+     * @param format The format of the segment files.
+     * @param segmentSize The number of tasks a segment holds when it is first filled.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     */
+    public SegmentedStorage(String filePath, StorageFormat format, int segmentSize,
+            DurabilityPolicy policy, long intervalMillis) {
+        super(filePath, format, false, policy, intervalMillis);
+        assert segmentSize > 0 : "Segment size should be positive";
+
+        this.filePath = filePath;
+        this.directory = Path.of(filePath + ".segments");
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public void logAdded(Task task) {
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (last == null || last.count >= segmentSize) {
+            last = new Segment(0, 0);
+            segments.add(last);
+        }
+        last.count++;
+        last.isDirty = true;
+    }
+
+    @Override
+    public void logMarked(int index, boolean isDone) {
+        int segmentIndex = segmentIndexOf(index);
+        if (segmentIndex >= 0) {
+            segments.get(segmentIndex).isDirty = true;
+        }
+    }
+
+    @Override
+    public void logDeleted(int index) {
+        int segmentIndex = segmentIndexOf(index);
+        if (segmentIndex < 0) {
+            isRebalanceRequired = true;
+            return;
+        }
+        Segment segment = segments.get(segmentIndex);
+        segment.count--;
+        segment.isDirty = true;
+        if (segment.count == 0) {
+            retire(segment);
+            segments.remove(segmentIndex);
+        }
+    }
+
+    @Override
+    public void logReordered() {
+        isRebalanceRequired = true;
+    }
+
+    @Override
+    public void logCleared() {
+        for (Segment segment : segments) {
+            retire(segment);
+        }
+        segments.clear();
+    }
+
+    /**
+     * Rewrites only the segments that contain changed tasks, then the manifest.
+     *
+     * @param tasks The full list of tasks.
+     * @throws NimbusException If there is an error while saving.
+     */
+    @Override
+    public void saveTasks(List<Task> tasks) throws NimbusException {
+        if (isRebalanceRequired || countTasks() != tasks.size()) {
+            rebalance(tasks.size());
+        }
+
+        List<SegmentFile> files = new ArrayList<>();
+        int start = 0;
+        for (Segment segment : segments) {
+            if (segment.isDirty) {
+                retire(segment);
+                segment.id = nextSegmentId++;
+                segment.isDirty = false;
+                files.add(new SegmentFile(segment.id,
+                        captureSnapshot(tasks.subList(start, start + segment.count))));
+            }
+            start += segment.count;
+        }
+        if (files.isEmpty() && obsoleteIds.isEmpty()) {
+            return;
+        }
+
+        List<String> manifest = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            manifest.add(segment.id + " " + segment.count);
+        }
+        submit(new SegmentSave(files, manifest, new ArrayList<>(obsoleteIds)));
+        obsoleteIds.clear();
+    }
+
+    /**
+     * Loads tasks from the segment files listed in the manifest.
+     * Without a manifest, the single task file and its journal, if any, are loaded and split into segments.
+     *
+     * @return A list of tasks loaded from the segments.
+     * @throws NimbusException If there is an error while loading tasks.
+     */
+    @Override
+    public ArrayList<Task> loadTasks() throws NimbusException {
+        segments.clear();
+        obsoleteIds.clear();
+        isRebalanceRequired = false;
+
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            ArrayList<Task> tasks = loadSingleFile();
+            if (!tasks.isEmpty() && segments.isEmpty()) {
+                isRebalanceRequired = true;
+                saveTasks(tasks);
+            }
+            return tasks;
+        }
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        boolean needsMigration = false;
+        try {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                long id = Long.parseLong(line.split(" ")[0]);
+                Path segmentPath = segmentPath(id);
+                int before = tasks.size();
+                boolean isBinary = BinaryTaskCodec.isBinaryFile(segmentPath);
+                if (isBinary) {
+                    BinaryTaskCodec.readFile(segmentPath, tasks);
+                } else {
+                    readTextSnapshot(segmentPath.toFile(), tasks);
+                }
+                Segment segment = new Segment(id, tasks.size() - before);
+                segment.isDirty = isBinary != (getFormat() == StorageFormat.BINARY);
+                needsMigration |= segment.isDirty;
+                segments.add(segment);
+                nextSegmentId = Math.max(nextSegmentId, id + 1);
+            }
+            removeOrphans();
+        } catch (IOException | NumberFormatException e) {
+            throw new NimbusException("Error loading task segments: " + e.getMessage());
+        }
+
+        segments.removeIf(segment -> segment.count == 0 && obsoleteIds.add(segment.id));
+        if (needsMigration || !obsoleteIds.isEmpty()) {
+            saveTasks(tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Loads the single task file, applying the journal left next to it by {@link StorageLayout#JOURNAL}.
+     */
+    private ArrayList<Task> loadSingleFile() throws NimbusException {
+        if (!Files.exists(Path.of(filePath + ".journal"))) {
+            return super.loadTasks();
+        }
+        Storage journaled = new Storage(filePath, getFormat(), true, DurabilityPolicy.SYNC, 0);
+        try {
+            return journaled.loadTasks();
+        } finally {
+            journaled.close();
+        }
+    }
+
+    /**
+     * Loads tasks eagerly; segment files are small enough that lazy decoding does not pay off.
+     *
+     * @return A list of tasks loaded from the segments.
+     * @throws NimbusException If there is an error while loading tasks.
+     */
+    @Override
+    public List<Task> loadTasksLazily() throws NimbusException {
+        return loadTasks();
+    }
+
+    /**
+     * Returns the number of segments currently in use.
+     *
+     * @return The segment count.
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    private int countTasks() {
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.count;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the position in {@link #segments} of the segment holding the task at the given index.
+     */
+    private int segmentIndexOf(int index) {
+        int start = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            start += segments.get(i).count;
+            if (index < start) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces every segment with freshly filled ones, used after reordering or a bookkeeping mismatch.
+     */
+    private void rebalance(int taskCount) {
+        logCleared();
+        for (int start = 0; start < taskCount; start += segmentSize) {
+            Segment segment = new Segment(0, Math.min(segmentSize, taskCount - start));
+            segment.isDirty = true;
+            segments.add(segment);
+        }
+        isRebalanceRequired = false;
+    }
+
+    private void retire(Segment segment) {
+        if (segment.id != 0) {
+            obsoleteIds.add(segment.id);
+            segment.id = 0;
+        }
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Deletes segment and temporary files left behind by an interrupted save.
+     */
+    private void removeOrphans() throws IOException {
+        Set<String> live = new HashSet<>();
+        live.add(MANIFEST);
+        for (Segment segment : segments) {
+            live.add(segmentPath(segment.id).getFileName().toString());
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (!live.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * A contiguous run of tasks stored in one file. An id of 0 means the segment has no file yet.
+     */
+    private static class Segment {
+        private long id;
+        private int count;
+        private boolean isDirty;
+
+        private Segment(long id, int count) {
+            this.id = id;
+            this.count = count;
+        }
+    }
+
+    /**
+     * A segment file captured for writing.
+     */
+    private record SegmentFile(long id, Snapshot snapshot) {
+    }
+
+    /**
+     * The new segment files and manifest of one save, plus the segment files it makes obsolete.
+     */
+    private class SegmentSave implements PendingWrite {
+        private final List<SegmentFile> files;
+        private final List<String> manifest;
+        private final List<Long> obsoleteIds;
+
+        private SegmentSave(List<SegmentFile> files, List<String> manifest, List<Long> obsoleteIds) {
+            this.files = files;
+            this.manifest = manifest;
+            this.obsoleteIds = obsoleteIds;
+        }
+
+        @Override
+        public void write() throws NimbusException {
+            try {
+                ensureParentDirectory(new File(directory.toFile(), MANIFEST));
+                for (SegmentFile file : files) {
+                    Path target = segmentPath(file.id());
+                    Path temp = Journal.writeTemp(target, file.snapshot(), 0);
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+
+                Path manifestPath = directory.resolve(MANIFEST);
+                Path tempManifest = Files.createTempFile(directory, MANIFEST, ".tmp");
+                Files.write(tempManifest, manifest, StandardCharsets.UTF_8);
+                Files.move(tempManifest, manifestPath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new NimbusException("Error saving task segments: " + e.getMessage());
+            }
+
+            for (long id : obsoleteIds) {
+                try {
+                    Files.deleteIfExists(segmentPath(id));
+                } catch (IOException e) {
+                    System.err.println("Could not delete old task segment: " + e.getMessage());
+                }
+            }
+        }
+
+        /**
+         * Combines two saves under the newer manifest. Segment files written by this save but
+         * already superseded by the newer one are never written at all.
+         */
+        @Override
+        public PendingWrite coalesce(PendingWrite newer) {
+            SegmentSave next = (SegmentSave) newer;
+            Set<Long> superseded = new HashSet<>(next.obsoleteIds);
+            List<SegmentFile> mergedFiles = new ArrayList<>(files.size() + next.files.size());
+            for (SegmentFile file : files) {
+                if (!superseded.remove(file.id())) {
+                    mergedFiles.add(file);
+                }
+            }
+            mergedFiles.addAll(next.files);
+
+            List<Long> mergedObsolete = new ArrayList<>(obsoleteIds);
+            mergedObsolete.addAll(superseded);
+            return new SegmentSave(mergedFiles, next.manifest, mergedObsolete);
+        }
+    }
+}
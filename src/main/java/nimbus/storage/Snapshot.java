@@ -0,0 +1,18 @@
+package nimbus.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The full task list captured at one point in time, in whichever file format the storage uses.
+ */
+interface Snapshot {
+    /**
+     * Writes the captured tasks to a file.
+     *
+     * @param path The file to write.
+     * @param seq The last journal sequence number the snapshot contains, or 0 outside journal mode.
+     * @throws IOException If the file cannot be written.
+     */
+    void writeTo(Path path, long seq) throws IOException;
+}
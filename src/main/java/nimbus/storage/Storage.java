@@ -2,11 +2,26 @@ package nimbus.storage;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
 
 import nimbus.exceptions.NimbusException;
 import nimbus.tasks.Deadline;
@@ -20,7 +35,12 @@ import nimbus.tasks.Todo;
  * ensuring that tasks persist between sessions.
  */
 public class Storage {
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
     private final String filePath;
+    private final StorageFormat format;
+    private final Journal journal;
+    private final AsyncWriter asyncWriter;
 
     /**
      * Constructs a Storage object with the specified file path.
@@ -28,18 +48,238 @@ public class Storage {
      * @param filePath The path to the file where tasks will be saved and loaded.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a Storage object, optionally in journal mode.
+     * In journal mode each mutation is appended to {@code <filePath>.journal} instead of
+     * rewriting the whole file, and the journal is folded back into the file in the background.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param isJournaled True to append mutations to a journal instead of rewriting the file.
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a Storage object in journal mode with a custom compaction threshold.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param isJournaled True to append mutations to a journal instead of rewriting the file.
+     * @param compactionThreshold The number of journal records after which the journal is compacted.
+     */
+    public Storage(String filePath, boolean isJournaled, int compactionThreshold) {
+        this(filePath, isJournaled, compactionThreshold, DurabilityPolicy.SYNC, 0);
+    }
+
+    /**
+     * Constructs a Storage object with the given durability policy.
+     * With any policy other than {@link DurabilityPolicy#SYNC}, saves are captured on the
+     * caller's thread and written by a background writer thread.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param isJournaled True to append mutations to a journal instead of rewriting the file.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     */
+    public Storage(String filePath, boolean isJournaled, DurabilityPolicy policy, long intervalMillis) {
+        this(filePath, isJournaled, DEFAULT_COMPACTION_THRESHOLD, policy, intervalMillis);
+    }
+
+    /**
+     * Constructs a Storage object that writes the text format.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param isJournaled True to append mutations to a journal instead of rewriting the file.
+     * @param compactionThreshold The number of journal records after which the journal is compacted.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     */
+    public Storage(String filePath, boolean isJournaled, int compactionThreshold,
+            DurabilityPolicy policy, long intervalMillis) {
+        this(filePath, StorageFormat.TEXT, isJournaled, compactionThreshold, policy, intervalMillis);
+    }
+
+    /**
+     * Constructs a Storage object that writes the given file format.
+     * A file found in the other format is migrated the first time it is loaded.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param format The format to write.
+     * @param isJournaled True to append mutations to a journal instead of rewriting the file.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     */
+    public Storage(String filePath, StorageFormat format, boolean isJournaled,
+            DurabilityPolicy policy, long intervalMillis) {
+        this(filePath, format, isJournaled, DEFAULT_COMPACTION_THRESHOLD, policy, intervalMillis);
+    }
+
+    /**
+     * Constructs a Storage object with every option spelled out.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param format The format to write.
+     * @param isJournaled True to append mutations to a journal instead of rewriting the file.
+     * @param compactionThreshold The number of journal records after which the journal is compacted.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     */
+    public Storage(String filePath, StorageFormat format, boolean isJournaled, int compactionThreshold,
+            DurabilityPolicy policy, long intervalMillis) {
+        assert format != null : "Storage format should not be null";
+        assert compactionThreshold > 0 : "Compaction threshold should be positive";
+        assert policy != null : "Durability policy should not be null";
+
         this.filePath = filePath;
+        this.format = format;
+        this.journal = isJournaled ? new Journal(Path.of(filePath), compactionThreshold) : null;
+        this.asyncWriter = policy == DurabilityPolicy.SYNC ? null : new AsyncWriter(policy, intervalMillis);
+    }
+
+    /**
+     * Creates the storage for the given layout on disk: a single file, a file with a journal,
+     * or a {@link SegmentedStorage}.
+     *
+     * @param filePath The path to the file where tasks will be saved and loaded.
+     * @param format The format to write.
+     * @param layout How the tasks are laid out on disk.
+     * @param policy When saves reach the disk.
+     * @param intervalMillis The write interval for {@link DurabilityPolicy#INTERVAL}; ignored otherwise.
+     * @return The storage.
+     */
+    public static Storage open(String filePath, StorageFormat format, StorageLayout layout,
+            DurabilityPolicy policy, long intervalMillis) {
+        return switch (layout) {
+        case SINGLE_FILE -> new Storage(filePath, format, false, policy, intervalMillis);
+        case JOURNAL -> new Storage(filePath, format, true, policy, intervalMillis);
+        case SEGMENTED -> new SegmentedStorage(filePath, format, policy, intervalMillis);
+        };
+    }
+
+    /**
+     * Records that a task was appended to the end of the list.
+     * Does nothing unless journal mode is on.
+     *
+     * @param task The task that was added.
+     */
+    public void logAdded(Task task) {
+        if (journal != null) {
+            journal.record(Journal.ADD, encodeJournalTask(task, format));
+        }
+    }
+
+    /**
+     * Records that a task was marked or unmarked.
+     * Does nothing unless journal mode is on.
+     *
+     * @param index The zero-based index of the task.
+     * @param isDone True if the task was marked as done, false if unmarked.
+     */
+    public void logMarked(int index, boolean isDone) {
+        if (journal != null) {
+            journal.record(isDone ? Journal.MARK : Journal.UNMARK, String.valueOf(index));
+        }
+    }
+
+    /**
+     * Records that a task was removed from the list.
+     * Does nothing unless journal mode is on.
+     *
+     * @param index The zero-based index of the removed task.
+     */
+    public void logDeleted(int index) {
+        if (journal != null) {
+            journal.record(Journal.DELETE, String.valueOf(index));
+        }
+    }
+
+    /**
+     * Records that the list was reordered, which cannot be replayed positionally.
+     * In journal mode the next save writes a full snapshot instead.
+     */
+    public void logReordered() {
+        if (journal != null) {
+            journal.requireSnapshot();
+        }
+    }
+
+    /**
+     * Records that all tasks were removed.
+     * Does nothing unless journal mode is on.
+     */
+    public void logCleared() {
+        if (journal != null) {
+            journal.record(Journal.CLEAR, "");
+        }
     }
 
     /**
      * Saves the list of tasks to the storage file.
      * Ensures the parent directory exists before saving.
+     * In journal mode only the mutations logged since the last save are appended.
+     * With an asynchronous durability policy the save is only queued here.
      *
      * @param tasks The list of tasks to be saved to the file.
      * @throws NimbusException If there is an error while saving.
      */
-    public void saveTasks(ArrayList<Task> tasks) throws NimbusException {
-        File file = new File(filePath);
+    public void saveTasks(List<Task> tasks) throws NimbusException {
+        ensureParentDirectory(new File(filePath));
+
+        PendingWrite pendingWrite;
+        if (journal != null) {
+            pendingWrite = journal.prepareFlush(() -> captureSnapshot(tasks));
+        } else {
+            pendingWrite = new FileRewrite(asyncWriter == null ? tasks : new ArrayList<>(tasks));
+        }
+
+        submit(pendingWrite);
+    }
+
+    /**
+     * Writes a captured save, or queues it if a background writer is in use.
+     *
+     * @param pendingWrite The captured save.
+     * @throws NimbusException If the save is written immediately and fails.
+     */
+    void submit(PendingWrite pendingWrite) throws NimbusException {
+        if (asyncWriter != null) {
+            asyncWriter.submit(pendingWrite);
+        } else {
+            pendingWrite.write();
+        }
+    }
+
+    /**
+     * Writes every queued save to disk on the calling thread.
+     * Does nothing with the {@link DurabilityPolicy#SYNC} policy, where saves are never queued.
+     *
+     * @throws NimbusException If a queued save cannot be written.
+     */
+    public void flush() throws NimbusException {
+        if (asyncWriter != null) {
+            asyncWriter.flush();
+        }
+    }
+
+    /**
+     * Writes every queued save, then waits for background journal compaction to finish.
+     * Should be called once before the application exits.
+     *
+     * @throws NimbusException If a queued save cannot be written.
+     */
+    public void close() throws NimbusException {
+        if (asyncWriter != null) {
+            asyncWriter.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    static void ensureParentDirectory(File file) throws NimbusException {
         File parentDir = file.getParentFile();
 
         if (parentDir != null && !parentDir.exists()) {
@@ -48,20 +288,72 @@ public class Storage {
                 throw new NimbusException("Error: Could not create directory for storage file.");
             }
         }
+    }
+
+    /**
+     * Returns the format this storage writes.
+     *
+     * @return The configured file format.
+     */
+    public StorageFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Captures the tasks in the configured format, so later changes to them do not affect the snapshot.
+     */
+    Snapshot captureSnapshot(List<Task> tasks) {
+        if (format == StorageFormat.BINARY) {
+            return BinaryTaskCodec.capture(tasks);
+        }
 
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            for (Task task : tasks) {
-                writer.write(task.toFileString());
-                writer.newLine();
+        List<String> lines = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            lines.add(formatTask(task));
+        }
+        return (path, seq) -> {
+            try (BufferedWriter writer = Files.newBufferedWriter(path, Charset.defaultCharset())) {
+                if (seq > 0) {
+                    writer.write(Journal.SEQ_HEADER + seq);
+                    writer.newLine();
+                }
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
             }
+        };
+    }
+
+    /**
+     * Encodes a task for a journal record. Binary tasks are Base64-encoded so records stay one line each.
+     */
+    private static String encodeJournalTask(Task task, StorageFormat format) {
+        if (format == StorageFormat.TEXT) {
+            return formatTask(task);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            BinaryTaskCodec.writeTask(new DataOutputStream(bytes), task);
         } catch (IOException e) {
-            throw new NimbusException("Error saving tasks to file: " + e.getMessage());
+            throw new AssertionError("Writing to memory cannot fail", e);
         }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private Task decodeJournalTask(String payload, StorageFormat payloadFormat) throws Exception {
+        if (payloadFormat == StorageFormat.TEXT) {
+            return parseTask(payload);
+        }
+        byte[] bytes = Base64.getDecoder().decode(payload);
+        return BinaryTaskCodec.readTask(new DataInputStream(new ByteArrayInputStream(bytes)));
     }
 
     /**
      * Loads tasks from the storage file.
      * If the file does not exist, returns an empty ArrayList.
+     * A file in the other format is detected, and migrated to the configured format
+     * after keeping a backup copy at {@code <filePath>.bak}.
      *
      * @return A list of tasks loaded from the file.
      * @throws NimbusException If there is an error while loading tasks.
@@ -69,14 +361,109 @@ public class Storage {
     public ArrayList<Task> loadTasks() throws NimbusException {
         ArrayList<Task> tasks = new ArrayList<>();
         File file = new File(filePath);
+        long snapshotSeq = 0;
+        StorageFormat fileFormat = format;
+
+        if (file.exists()) {
+            try {
+                fileFormat = BinaryTaskCodec.isBinaryFile(file.toPath()) ? StorageFormat.BINARY : StorageFormat.TEXT;
+                snapshotSeq = fileFormat == StorageFormat.BINARY
+                        ? BinaryTaskCodec.readFile(file.toPath(), tasks)
+                        : readTextSnapshot(file, tasks);
+            } catch (IOException e) {
+                throw new NimbusException("Error loading tasks from file: " + e.getMessage());
+            } catch (NumberFormatException e) {
+                throw new NimbusException("Error loading tasks from file: corrupted journal header");
+            }
+        }
+        if (journal != null) {
+            replayJournal(tasks, snapshotSeq, fileFormat);
+        }
+        if (fileFormat != format) {
+            migrate(file, tasks);
+        }
 
-        if (!file.exists()) {
+        return tasks;
+    }
+
+    /**
+     * Loads tasks without decoding them up front.
+     * A binary file is memory-mapped and only the offset of each record is indexed; tasks are
+     * decoded on first access and kept in a bounded cache. Tasks changed in place must be written
+     * back with {@link List#set} so the change is kept.
+     * Text files, and files that need migrating, are loaded eagerly as by {@link #loadTasks()}.
+     *
+     * <p>The returned list keeps the file mapped, so the file cannot be replaced on platforms
+     * that lock mapped files (such as Windows).
+     *
+     * @return A list of tasks loaded from the file.
+     * @throws NimbusException If there is an error while loading tasks.
+     */
+    public List<Task> loadTasksLazily() throws NimbusException {
+        Path path = Path.of(filePath);
+
+        try {
+            if (format != StorageFormat.BINARY || !Files.exists(path) || !BinaryTaskCodec.isBinaryFile(path)) {
+                return loadTasks();
+            }
+
+            MappedByteBuffer records;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                records = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            long[] header = BinaryTaskCodec.readHeader(records);
+            int[] offsets = LazyTaskList.indexRecords(records, (int) header[1]);
+            List<Task> tasks = new LazyTaskList(records, offsets, LazyTaskList.DEFAULT_CACHE_SIZE);
+            if (journal != null) {
+                replayJournal(tasks, header[0], StorageFormat.BINARY);
+            }
             return tasks;
+        } catch (IOException e) {
+            throw new NimbusException("Error loading tasks from file: " + e.getMessage());
         }
+    }
+
+    /**
+     * Rewrites a file found in the other format in the configured one, keeping a backup of the original.
+     */
+    private void migrate(File file, List<Task> tasks) throws NimbusException {
+        try {
+            Files.copy(file.toPath(), Path.of(filePath + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new NimbusException("Error backing up task file before migration: " + e.getMessage());
+        }
+        logReordered();
+        saveTasks(tasks);
+    }
+
+    /**
+     * Reads a text snapshot file into the given list.
+     * Large files are memory-mapped and parsed in parallel chunks.
+     *
+     * @return The journal sequence number recorded in the snapshot header, or 0 if there is none.
+     */
+    long readTextSnapshot(File file, ArrayList<Task> tasks) throws IOException, NimbusException {
+        if (ParallelTextLoader.isWorthwhile(file.length())) {
+            return ParallelTextLoader.load(file.toPath(), tasks);
+        }
+        return readSnapshot(file, tasks);
+    }
+
+    /**
+     * Reads the snapshot file into the given list line by line.
+     *
+     * @return The journal sequence number recorded in the snapshot header, or 0 if there is none.
+     */
+    private long readSnapshot(File file, ArrayList<Task> tasks) throws NimbusException {
+        long snapshotSeq = 0;
 
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
             while ((line = reader.readLine()) != null) {
+                if (line.startsWith(Journal.SEQ_HEADER)) {
+                    snapshotSeq = Long.parseLong(line.substring(Journal.SEQ_HEADER.length()).trim());
+                    continue;
+                }
                 try {
                     tasks.add(parseTask(line));
                 } catch (Exception e) {
@@ -85,20 +472,68 @@ public class Storage {
             }
         } catch (IOException e) {
             throw new NimbusException("Error loading tasks from file: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            throw new NimbusException("Error loading tasks from file: corrupted journal header");
         }
 
-        return tasks;
+        return snapshotSeq;
+    }
+
+    /**
+     * Applies the journal records that are newer than the snapshot, in order.
+     */
+    private void replayJournal(List<Task> tasks, long snapshotSeq, StorageFormat payloadFormat)
+            throws NimbusException {
+        for (String[] record : journal.readRecords(snapshotSeq)) {
+            try {
+                String op = record[1];
+                switch (op) {
+                case Journal.ADD -> tasks.add(decodeJournalTask(record[2], payloadFormat));
+                case Journal.MARK, Journal.UNMARK -> {
+                    int index = Integer.parseInt(record[2]);
+                    Task task = tasks.get(index);
+                    if (op.equals(Journal.MARK)) {
+                        task.markAsDone();
+                    } else {
+                        task.unmark();
+                    }
+                    tasks.set(index, task);
+                }
+                case Journal.DELETE -> tasks.remove(Integer.parseInt(record[2]));
+                case Journal.CLEAR -> tasks.clear();
+                default -> throw new NimbusException("Unknown journal operation: " + op);
+                }
+            } catch (Exception e) {
+                System.err.println("Skipping corrupted journal record: " + String.join(" | ", record));
+            }
+        }
+    }
+
+    /**
+     * Formats a task as a storage line. A task with an ID is prefixed with its ID and creation time.
+     *
+     * @param task The task to format.
+     * @return The line in format: (OPTIONAL: ID | CREATED AT |) TYPE | STATUS | DESCRIPTION | (OPTIONAL: DATE/TIME)
+     */
+    static String formatTask(Task task) {
+        if (task.getId() == 0) {
+            return task.toFileString();
+        }
+        return task.getId() + " | " + task.getCreatedAt() + " | " + task.toFileString();
     }
 
     /**
      * Parses a task line from storage and converts it into a Task object.
      *
-     * @param line The stored task string in format: TYPE | STATUS | DESCRIPTION | (OPTIONAL: DATE/TIME)
+     * @param line The stored task string in format:
+     *     (OPTIONAL: ID | CREATED AT |) TYPE | STATUS | DESCRIPTION | (OPTIONAL: DATE/TIME)
      * @return The corresponding Task object.
      * @throws NimbusException if the format is invalid.
      */
-    private Task parseTask(String line) throws NimbusException {
-        String[] parts = line.split(" \\| ");
+    static Task parseTask(String line) throws NimbusException {
+        String[] allParts = line.split(" \\| ");
+        boolean hasId = !line.isEmpty() && Character.isDigit(line.charAt(0));
+        String[] parts = hasId ? Arrays.copyOfRange(allParts, Math.min(2, allParts.length), allParts.length) : allParts;
         if (parts.length < 3) {
             throw new NimbusException("Invalid task data format: " + line);
         }
@@ -138,7 +573,42 @@ public class Storage {
         if (status.equals("1")) {
             task.markAsDone();
         }
+        if (hasId) {
+            try {
+                task.setId(Integer.parseInt(allParts[0].trim()));
+                task.setCreatedAt(LocalDateTime.parse(allParts[1].trim()));
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new NimbusException("Invalid task ID or creation time: " + line);
+            }
+        }
 
         return task;
     }
+
+    /**
+     * A full rewrite of the storage file. A newer rewrite makes an older one pointless.
+     */
+    private class FileRewrite implements PendingWrite {
+        private final List<Task> tasks;
+
+        private FileRewrite(List<Task> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void write() throws NimbusException {
+            Path target = Path.of(filePath);
+            try {
+                Path temp = Journal.writeTemp(target, captureSnapshot(tasks), 0);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new NimbusException("Error saving tasks to file: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public PendingWrite coalesce(PendingWrite newer) {
+            return newer;
+        }
+    }
 }
@@ -0,0 +1,12 @@
+package nimbus.storage;
+
+/**
+ * The on-disk format of the task file.
+ * Files in either format are recognised on load and rewritten in the configured one.
+ */
+public enum StorageFormat {
+    /** One human-readable {@code TYPE | STATUS | DESCRIPTION | DATES} line per task. */
+    TEXT,
+    /** A versioned binary file with length-prefixed descriptions and epoch-minute date/times. */
+    BINARY
+}
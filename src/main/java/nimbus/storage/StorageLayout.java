@@ -0,0 +1,28 @@
+package nimbus.storage;
+
+/**
+ * How the tasks are laid out on disk, which decides how much of it a save rewrites.
+ */
+public enum StorageLayout {
+    /** One task file, rewritten in full on every save. */
+    SINGLE_FILE,
+    /** One task file plus an append-only journal of changes, folded back into the file in the background. */
+    JOURNAL,
+    /** Fixed-size segment files plus a manifest; a save rewrites only the segments holding changed tasks. */
+    SEGMENTED;
+
+    /**
+     * Returns the layout with the given name, ignoring case, such as {@code segmented}.
+     *
+     * @param name The name of the layout.
+     * @return The layout, or null if no layout has the name.
+     */
+    public static StorageLayout parse(String name) {
+        for (StorageLayout layout : values()) {
+            if (layout.name().equalsIgnoreCase(name.trim())) {
+                return layout;
+            }
+        }
+        return null;
+    }
+}
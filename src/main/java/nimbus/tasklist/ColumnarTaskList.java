@@ -0,0 +1,284 @@
+package nimbus.tasklist;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+import nimbus.index.DescriptionStore;
+import nimbus.index.PackedDescriptionStore;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+
+/**
+ * A task list stored as columns of primitives instead of one object graph per task.
+ * Each task takes a type byte, an ID, three timestamps, a done bit and the key of its description
+ * in a {@link DescriptionStore}, which is under 64 bytes per task apart from the text.
+ * Descriptions are packed into one shared character array unless another store is given.
+ *
+ * <p>A task is rebuilt from its columns each time it is read, so a task changed in place
+ * (for example marked as done) must be written back with {@link #set}.
+ * Inserting or removing anywhere but the end shifts the columns, which is O(n).
+ */
+class ColumnarTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY]; // due time of a deadline, start of an event
+    private long[] endTimes = new long[INITIAL_CAPACITY];
+    private int[] descriptionKeys = new int[INITIAL_CAPACITY];
+    private final BitSet done = new BitSet();
+    private final DescriptionStore descriptions;
+    private int[] freeKeys = new int[INITIAL_CAPACITY];
+    private int freeKeyCount;
+    private int nextKey;
+    private int size;
+
+    /**
+     * Constructs an empty ColumnarTaskList.
+     */
+    ColumnarTaskList() {
+        this.descriptions = new PackedDescriptionStore();
+    }
+
+    /**
+     * Constructs a ColumnarTaskList holding the given tasks in iteration order.
+     *
+     * @param tasks The initial tasks.
+     */
+    ColumnarTaskList(Collection<? extends Task> tasks) {
+        this(tasks, new PackedDescriptionStore(totalDescriptionLength(tasks)));
+    }
+
+    /**
+     * Constructs a ColumnarTaskList holding the given tasks in iteration order, with their descriptions
+     * kept in the given store.
+     *
+     * @param tasks The initial tasks.
+     * @param descriptions The store for descriptions, which the list keys itself.
+     */
+    ColumnarTaskList(Collection<? extends Task> tasks, DescriptionStore descriptions) {
+        this.descriptions = descriptions;
+        ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    private static int totalDescriptionLength(Collection<? extends Task> tasks) {
+        int total = 0;
+        for (Task task : tasks) {
+            total += task.getDescription().length();
+        }
+        return total;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        String description = descriptions.get(descriptionKeys[index]);
+        Task task = switch (types[index]) {
+        case DEADLINE -> new Deadline(description, toDateTime(startTimes[index]));
+        case EVENT -> new Event(description, toDateTime(startTimes[index]), toDateTime(endTimes[index]));
+        default -> new Todo(description);
+        };
+        task.setCreatedAt(toDateTime(createdAt[index]));
+        if (ids[index] > 0) {
+            task.setId(ids[index]);
+        }
+        if (done.get(index)) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Returns the description of the task at the index without rebuilding the task.
+     *
+     * @param index The position of the task.
+     * @return The description.
+     */
+    String getDescription(int index) {
+        checkIndex(index, size);
+        return descriptions.get(descriptionKeys[index]);
+    }
+
+    /**
+     * Returns whether the description of the task at the index contains the lowercase term, searching
+     * it where the description store keeps it.
+     *
+     * @param index The position of the task.
+     * @param lowerCaseTerm The term, already lowercased.
+     * @return True if the description contains the term.
+     */
+    boolean containsIgnoreCase(int index, String lowerCaseTerm) {
+        checkIndex(index, size);
+        return descriptions.containsIgnoreCase(descriptionKeys[index], lowerCaseTerm);
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        write(index, task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        if (index < size) {
+            shift(index, index + 1, size - index);
+            BitSet moved = done.get(index, size);
+            done.clear(index, size + 1);
+            moved.stream().forEach(bit -> done.set(index + 1 + bit));
+        }
+        size++;
+        descriptionKeys[index] = takeKey();
+        write(index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        releaseKey(descriptionKeys[index]);
+        shift(index + 1, index, size - index - 1);
+        BitSet moved = done.get(index + 1, size);
+        done.clear(index, size);
+        moved.stream().forEach(bit -> done.set(index + bit));
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes every task matching the filter, moving each kept task down over the removed ones
+     * in one pass, which takes O(n) however many tasks are removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Task> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                releaseKey(descriptionKeys[i]);
+            } else {
+                if (kept != i) {
+                    shift(i, kept, 1);
+                    done.set(kept, done.get(i));
+                }
+                kept++;
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        done.clear(kept, size);
+        size = kept;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        done.clear();
+        descriptions.clear();
+        freeKeyCount = 0;
+        nextKey = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the number of bytes held by the columns, counting their spare capacity but not the
+     * description store, for comparing the footprint per task with a list of task objects.
+     *
+     * @return The bytes used by the columns.
+     */
+    long getColumnBytes() {
+        long perRow = Byte.BYTES + 2L * Integer.BYTES + 3L * Long.BYTES;
+        return perRow * types.length + done.size() / Byte.SIZE;
+    }
+
+    private void write(int index, Task task) {
+        types[index] = task instanceof Event ? EVENT : task instanceof Deadline ? DEADLINE : TODO;
+        ids[index] = task.getId();
+        createdAt[index] = toEpochMilli(task.getCreatedAt());
+        if (task instanceof Event event) {
+            startTimes[index] = toEpochMilli(event.getFromDateTime());
+            endTimes[index] = toEpochMilli(event.getToDateTime());
+        } else if (task instanceof Deadline deadline) {
+            startTimes[index] = toEpochMilli(deadline.getDueDateTime());
+        }
+        done.set(index, task.isDone());
+        descriptions.put(descriptionKeys[index], task.getDescription());
+    }
+
+    /**
+     * Returns an unused description key, reusing the keys of removed tasks first.
+     */
+    private int takeKey() {
+        return freeKeyCount > 0 ? freeKeys[--freeKeyCount] : nextKey++;
+    }
+
+    private void releaseKey(int key) {
+        descriptions.remove(key);
+        if (freeKeyCount == freeKeys.length) {
+            freeKeys = Arrays.copyOf(freeKeys, freeKeys.length * 2);
+        }
+        freeKeys[freeKeyCount++] = key;
+    }
+
+    private void shift(int from, int to, int count) {
+        System.arraycopy(types, from, types, to, count);
+        System.arraycopy(ids, from, ids, to, count);
+        System.arraycopy(createdAt, from, createdAt, to, count);
+        System.arraycopy(startTimes, from, startTimes, to, count);
+        System.arraycopy(endTimes, from, endTimes, to, count);
+        System.arraycopy(descriptionKeys, from, descriptionKeys, to, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int grown = Math.max(capacity, types.length + (types.length >> 1));
+        types = Arrays.copyOf(types, grown);
+        ids = Arrays.copyOf(ids, grown);
+        createdAt = Arrays.copyOf(createdAt, grown);
+        startTimes = Arrays.copyOf(startTimes, grown);
+        endTimes = Arrays.copyOf(endTimes, grown);
+        descriptionKeys = Arrays.copyOf(descriptionKeys, grown);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000L),
+                (int) Math.floorMod(epochMilli, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,92 @@
+package nimbus.tasklist;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Finds the position of a task in the list from its ID.
+ * Tasks are only ever added at the end of the list, under a larger ID than any before, so the list is
+ * in ID order and the position of a task is the number of tasks in the list with a smaller ID.
+ * Those counts are kept in a Fenwick tree over the IDs, so adding, removing and looking up an ID each
+ * take O(log m), where m is the largest ID, and a deletion anywhere in the list invalidates nothing.
+ */
+final class IdPositions {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final BitSet present = new BitSet();
+    private int[] tree = new int[INITIAL_CAPACITY]; // tree[i] counts the IDs in (i - (i & -i), i]
+
+    /**
+     * Adds the ID of a task appended to the list, which must be larger than every ID present.
+     *
+     * @param id The task ID, which must be positive.
+     */
+    void add(int id) {
+        assert id > 0 : "Task IDs should be positive";
+        assert present.length() <= id : "Task IDs should increase along the list";
+
+        if (id >= tree.length) {
+            grow(id);
+        }
+        present.set(id);
+        for (int i = id; i < tree.length; i += i & -i) {
+            tree[i]++;
+        }
+    }
+
+    /**
+     * Removes the ID of a task deleted from the list, if it is present.
+     *
+     * @param id The task ID.
+     */
+    void remove(int id) {
+        if (!contains(id)) {
+            return;
+        }
+        present.clear(id);
+        for (int i = id; i < tree.length; i += i & -i) {
+            tree[i]--;
+        }
+    }
+
+    boolean contains(int id) {
+        return id > 0 && present.get(id);
+    }
+
+    /**
+     * Returns the position of the task with the given ID, which is the number of smaller IDs present.
+     *
+     * @param id The task ID, which must be present.
+     * @return The zero-based position of the task.
+     */
+    int positionOf(int id) {
+        assert contains(id) : "Only the position of a present ID is known";
+
+        int count = 0;
+        for (int i = id - 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    void clear() {
+        present.clear();
+        Arrays.fill(tree, 0);
+    }
+
+    /**
+     * Rebuilds the tree large enough to hold the given ID, in O(m), at least doubling its capacity.
+     */
+    private void grow(int id) {
+        tree = new int[Math.max(tree.length * 2, id + 1)];
+        for (int i = present.nextSetBit(0); i >= 0; i = present.nextSetBit(i + 1)) {
+            tree[i] = 1;
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+}
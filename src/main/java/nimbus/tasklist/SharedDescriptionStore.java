@@ -0,0 +1,66 @@
+package nimbus.tasklist;
+
+import java.util.List;
+
+import nimbus.index.DescriptionStore;
+import nimbus.index.TrigramIndex;
+import nimbus.tasks.Task;
+
+/**
+ * Lets an index read task descriptions from the task list itself, keyed by task ID, instead of keeping
+ * copies of its own. Descriptions are found through the position of the task in the list, so storing
+ * and removing them does nothing; the list is expected to hold every task the index does.
+ *
+ * <p>A {@link ColumnarTaskList} is searched in its own description store, so off-heap descriptions are
+ * checked where they are; any other list has its task read, which decodes it in a lazy list.
+ */
+final class SharedDescriptionStore implements DescriptionStore {
+    private final List<Task> tasks;
+    private final IdPositions idPositions;
+
+    /**
+     * Constructs a SharedDescriptionStore over the given list.
+     *
+     * @param tasks The task list, in ID order.
+     * @param idPositions The positions of the tasks in the list by ID.
+     */
+    SharedDescriptionStore(List<Task> tasks, IdPositions idPositions) {
+        this.tasks = tasks;
+        this.idPositions = idPositions;
+    }
+
+    @Override
+    public void put(int key, String description) {
+        // The list already holds the description.
+    }
+
+    @Override
+    public String get(int key) {
+        if (!idPositions.contains(key)) {
+            return null;
+        }
+        int position = idPositions.positionOf(key);
+        return tasks instanceof ColumnarTaskList columns
+                ? columns.getDescription(position)
+                : tasks.get(position).getDescription();
+    }
+
+    @Override
+    public boolean containsIgnoreCase(int key, String lowerCaseTerm) {
+        if (tasks instanceof ColumnarTaskList columns) {
+            return idPositions.contains(key) && columns.containsIgnoreCase(idPositions.positionOf(key), lowerCaseTerm);
+        }
+        String description = get(key);
+        return description != null && TrigramIndex.containsIgnoreCase(description, lowerCaseTerm);
+    }
+
+    @Override
+    public void remove(int key) {
+        // The list removes the description with the task.
+    }
+
+    @Override
+    public void clear() {
+        // The list clears the descriptions with its tasks.
+    }
+}
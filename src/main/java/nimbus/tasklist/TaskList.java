@@ -1,18 +1,38 @@
 package nimbus.tasklist;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
 
 import nimbus.exceptions.NimbusException;
+import nimbus.index.DateIndex;
+import nimbus.index.FilterIndex;
+import nimbus.index.IntervalTree;
+import nimbus.index.OffHeapDescriptionStore;
+import nimbus.index.PostingList;
+import nimbus.index.RoaringBitmap;
+import nimbus.index.SortedTaskView;
+import nimbus.index.TaskIndex;
+import nimbus.index.TrigramIndex;
+import nimbus.index.UpcomingIndex;
+import nimbus.parser.CommandLine;
+import nimbus.parser.CommandLine.Marker;
+import nimbus.query.Query;
+import nimbus.query.QueryPlan;
+import nimbus.query.QueryPlanner;
 import nimbus.storage.Storage;
+import nimbus.tasks.DateTimeParser;
 import nimbus.tasks.Deadline;
 import nimbus.tasks.Event;
 import nimbus.tasks.Task;
 import nimbus.tasks.Todo;
+import nimbus.ui.Renderer;
 import nimbus.ui.UI;
 
 
@@ -21,9 +41,34 @@ import nimbus.ui.UI;
  * Handles operations such as adding, marking, deleting, and searching tasks.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private static final int DEFAULT_UPCOMING_COUNT = 5;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final String SELECTION_USAGE_MESSAGE = "Oops! Please provide task numbers like 3, 1,4,7-20 "
+            + "or 3-900, or 'done' for every task that is done.";
+    private static final String PAGE_USAGE_MESSAGE = "Oops! Please enter a page number and an optional page size. "
+            + "Example: list 2 50";
+    private static final String INVALID_DATE_MESSAGE = "Oops! Invalid date format! Try examples like:\n"
+            + " - 2023-10-15\n"
+            + " - 15/10/2023\n"
+            + " - Oct 15 2023\n"
+            + " - 15 10 2023";
+
+    private final List<Task> tasks;
     private final Storage storage;
     private final UI ui;
+    private final TrigramIndex trigramIndex;
+    private final DateIndex dateIndex = new DateIndex();
+    private final IntervalTree intervalTree = new IntervalTree();
+    private final SortedTaskView sortedView = new SortedTaskView();
+    private final FilterIndex filterIndex = new FilterIndex();
+    private final UpcomingIndex upcomingIndex = new UpcomingIndex();
+    private final List<TaskIndex> indexes;
+    private final QueryPlanner queryPlanner;
+    private long version;
+    private long savedVersion;
+    private int nextId = 1;
+    private final IdPositions idPositions = new IdPositions();
+    private Snapshot openSnapshot;
 
     /**
      * Constructs a TaskList with the specified storage and UI components.
@@ -33,9 +78,107 @@ public class TaskList {
      * @param ui The UI component to display messages to the user.
      */
     public TaskList(Storage storage, UI ui) throws NimbusException {
+        this(storage, ui, false);
+    }
+
+    /**
+     * Constructs a TaskList, optionally loading tasks lazily from storage.
+     *
+     * @param storage The storage component to persist tasks.
+     * @param ui The UI component to display messages to the user.
+     * @param isLazy True to decode tasks on first access instead of on load.
+     */
+    public TaskList(Storage storage, UI ui, boolean isLazy) throws NimbusException {
+        this(storage, ui, isLazy ? TaskStore.LAZY : TaskStore.TREE);
+    }
+
+    /**
+     * Constructs a TaskList that keeps its tasks in the given kind of store.
+     * By default tasks are kept in a {@link TreeList}, so tasks are looked up and deleted by position in O(log n).
+     * A columnar store packs tasks into primitive arrays to keep the heap small, and the off-heap store also
+     * moves every description out of the heap. In lazy mode tasks are decoded from the storage file only
+     * when first accessed. Each task is still decoded once on load to build the indexes, but only the indexes
+     * are kept. In every store but the tree, the trigram index reads descriptions from the list rather than
+     * keeping its own copies.
+     * Tasks saved before IDs existed, or whose IDs do not increase along the list (as in a file edited by hand),
+     * are given new IDs in list order, and the list is saved once.
+     *
+     * @param storage The storage component to persist tasks.
+     * @param ui The UI component to display messages to the user.
+     * @param store How the tasks are kept in memory.
+     */
+    public TaskList(Storage storage, UI ui, TaskStore store) throws NimbusException {
         this.storage = storage;
         this.ui = ui;
-        this.tasks = storage.loadTasks();
+        this.tasks = switch (store) {
+        case TREE -> new TreeList<>(storage.loadTasks());
+        case COLUMNAR -> new ColumnarTaskList(storage.loadTasks());
+        case OFF_HEAP -> new ColumnarTaskList(storage.loadTasks(), new OffHeapDescriptionStore());
+        case LAZY -> storage.loadTasksLazily();
+        };
+        this.trigramIndex = store == TaskStore.TREE
+                ? new TrigramIndex() // shares the description strings with the task objects
+                : new TrigramIndex(new SharedDescriptionStore(tasks, idPositions));
+        this.indexes = List.of(trigramIndex, dateIndex, intervalTree, sortedView, filterIndex, upcomingIndex);
+        this.queryPlanner = new QueryPlanner(trigramIndex, dateIndex, intervalTree, filterIndex);
+        indexLoadedTasks();
+    }
+
+    /**
+     * Builds every index in one pass over the loaded tasks, so a lazy list decodes each task only once.
+     * To keep the IDs increasing along the list, as {@link IdPositions} needs, every task without an ID,
+     * or with an ID no larger than the one before it, is given the next unused one, and the list is saved.
+     */
+    private void indexLoadedTasks() throws NimbusException {
+        boolean isRenumbered = false;
+        int position = 0;
+        for (Task task : tasks) {
+            if (task.getId() < nextId) {
+                task.setId(nextId);
+                tasks.set(position, task); // keeps the change when tasks are packed or loaded lazily
+                isRenumbered = true;
+            }
+            nextId = task.getId() + 1;
+            idPositions.add(task.getId());
+            for (TaskIndex index : indexes) {
+                index.add(task);
+            }
+            position++;
+        }
+        if (isRenumbered) {
+            storage.logReordered();
+            storage.saveTasks(tasks);
+        }
+    }
+
+    /**
+     * Adds a new task to the end of the list under the next ID.
+     */
+    private void appendTask(Task task) {
+        task.setId(nextId++);
+        tasks.add(task);
+        recordUndo(() -> tasks.remove(tasks.size() - 1));
+        idPositions.add(task.getId());
+        for (TaskIndex index : indexes) {
+            index.add(task);
+        }
+        storage.logAdded(task);
+        version++;
+    }
+
+    /**
+     * Returns the position of the task with the given ID in O(log n), from the counts of smaller IDs
+     * kept by {@link IdPositions}, which every addition and deletion updates in O(log n).
+     *
+     * @param id The task ID.
+     * @return The zero-based position of the task.
+     * @throws NimbusException If no task has the ID.
+     */
+    public int findTaskPosition(int id) throws NimbusException {
+        if (!idPositions.contains(id)) {
+            throw new NimbusException("Oops! There is no task #" + id + ". Please check your list.");
+        }
+        return idPositions.positionOf(id);
     }
 
     /**
@@ -43,10 +186,35 @@ public class TaskList {
      *
      * @return The list of tasks.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getTasks() {
         return tasks;
     }
 
+    /**
+     * Returns the version counter, which increases on every change to the list.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns whether the list has changed since it was last saved.
+     *
+     * @return True if there are unsaved changes.
+     */
+    public boolean isDirty() {
+        return version != savedVersion;
+    }
+
+    /**
+     * Records that the current version has been persisted.
+     */
+    public void markSaved() {
+        savedVersion = version;
+    }
+
     /**
      * Adds a Todo task to the task list.
      *
@@ -54,14 +222,22 @@ public class TaskList {
      * @throws NimbusException If the description is empty.
      */
     public String addTodoTask(String input) throws NimbusException {
-        assert input != null : "Input for Todo task should not be null";
+        return addTodoTask(new CommandLine(input));
+    }
 
-        if (input.length() <= 5) {
+    /**
+     * Adds a Todo task described by the arguments of the command.
+     *
+     * @param line The split user input.
+     * @throws NimbusException If the description is empty.
+     */
+    public String addTodoTask(CommandLine line) throws NimbusException {
+        String description = line.getArguments();
+        if (description.isEmpty()) {
             throw new NimbusException("Oops! The description of a todo cannot be empty.");
         }
-        String description = input.substring(5).trim();
         Task task = new Todo(description);
-        tasks.add(task);
+        appendTask(task);
         return ui.showTaskAdded(task, tasks.size());
     }
 
@@ -72,14 +248,22 @@ public class TaskList {
      * @throws NimbusException If the input format is invalid.
      */
     public String addDeadlineTask(String input) throws NimbusException {
-        assert input != null : "Input for Deadline task should not be null";
+        return addDeadlineTask(new CommandLine(input));
+    }
 
-        if (!input.contains("/by")) {
+    /**
+     * Adds a Deadline task with the description and {@code /by} date of the command.
+     *
+     * @param line The split user input.
+     * @throws NimbusException If the input format is invalid.
+     */
+    public String addDeadlineTask(CommandLine line) throws NimbusException {
+        String description = line.getDescription();
+        if (description.isEmpty() || !line.has(Marker.BY)) {
             throw new NimbusException("Oops! Deadlines need a description and a '/by' date.");
         }
-        String[] parts = input.substring(9).split(" /by ");
-        Task task = new Deadline(parts[0].trim(), parts[1].trim());
-        tasks.add(task);
+        Task task = new Deadline(description, line.getValue(Marker.BY));
+        appendTask(task);
         return ui.showTaskAdded(task, tasks.size());
     }
 
@@ -90,94 +274,273 @@ public class TaskList {
      * @throws NimbusException If the input format is invalid.
      */
     public String addEventTask(String input) throws NimbusException {
-        assert input != null : "Input for Event task should not be null";
+        return addEventTask(new CommandLine(input));
+    }
 
-        if (!input.contains("/from") || !input.contains("/to")) {
+    /**
+     * Adds an Event task with the description, {@code /from} time and {@code /to} time of the command.
+     * Only new events are refused for ending before they start; such events already saved are loaded as they are.
+     *
+     * @param line The split user input.
+     * @throws NimbusException If the input format is invalid, or the event ends before it starts.
+     */
+    public String addEventTask(CommandLine line) throws NimbusException {
+        String description = line.getDescription();
+        if (description.isEmpty() || !line.has(Marker.FROM) || !line.has(Marker.TO)) {
             throw new NimbusException("Oops! Events need a description, '/from' time, and '/to' time.");
         }
-        String[] parts = input.substring(6).split(" /from | /to ");
-        Task task = new Event(parts[0].trim(), parts[1].trim(), parts[2].trim());
-        tasks.add(task);
+        Event task = new Event(description, line.getValue(Marker.FROM), line.getValue(Marker.TO));
+        if (task.endsBeforeStart()) {
+            throw new NimbusException("Oops! An event cannot end before it starts. "
+                    + "Please check the '/from' and '/to' times.");
+        }
+        appendTask(task);
         return ui.showTaskAdded(task, tasks.size());
     }
 
     /**
      * Marks or unmarks a task as done based on the user input.
      *
-     * @param input The user input containing the task number.
+     * @param input The user input containing the task number, or the task ID as {@code #id}.
      * @param isDone True to mark the task as done, false to unmark it.
      * @throws NimbusException If the task number is invalid.
      */
     public String markTask(String input, boolean isDone) throws NimbusException {
-        int taskNumber = parseTaskNumber(input);
+        return markTask(new CommandLine(input), isDone);
+    }
+
+    /**
+     * Marks or unmarks the task given by the first argument of the command.
+     *
+     * @param line The split user input.
+     * @param isDone True to mark the task as done, false to unmark it.
+     * @throws NimbusException If the task number is invalid.
+     */
+    public String markTask(CommandLine line, boolean isDone) throws NimbusException {
+        if (isSelection(line)) {
+            return markTasks(parseSelection(line), isDone);
+        }
+        int taskNumber = parseTaskNumber(line);
 
         Task task = tasks.get(taskNumber);
+        if (changeStatus(taskNumber, task, isDone)) {
+            version++;
+        }
+        return ui.showTaskMarked(task, isDone);
+    }
+
+    /**
+     * Marks or unmarks every selected task, skipping those already in that state.
+     */
+    private String markTasks(BitSet positions, boolean isDone) {
+        int changed = 0;
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            if (changeStatus(i, tasks.get(i), isDone)) {
+                changed++;
+            }
+        }
+        if (changed > 0) {
+            version++;
+        }
+        return ui.showTasksMarked(changed, positions.cardinality(), isDone);
+    }
+
+    /**
+     * Marks or unmarks the task at the given position, unless it already has that status.
+     *
+     * @return True if the status changed.
+     */
+    private boolean changeStatus(int position, Task task, boolean isDone) {
+        if (task.isDone() == isDone) {
+            return false;
+        }
         if (isDone) {
             task.markAsDone();
         } else {
             task.unmark();
         }
-        return ui.showTaskMarked(task, isDone);
+        tasks.set(position, task); // keeps the change when tasks are loaded lazily
+        recordUndo(() -> {
+            if (isDone) {
+                task.unmark();
+            } else {
+                task.markAsDone();
+            }
+            tasks.set(position, task);
+        });
+        for (TaskIndex index : indexes) {
+            index.statusChanged(task);
+        }
+        storage.logMarked(position, isDone);
+        return true;
     }
 
     /**
      * Deletes a task from the task list based on the user input.
      *
-     * @param input The user input containing the task number to be deleted.
+     * @param input The user input containing the task number, or the task ID as {@code #id}, to be deleted.
      * @throws NimbusException If the task number is invalid.
      */
     public String deleteTask(String input) throws NimbusException {
-        int taskNumber = parseTaskNumber(input);
+        return deleteTask(new CommandLine(input));
+    }
+
+    /**
+     * Deletes the task given by the first argument of the command.
+     *
+     * @param line The split user input.
+     * @throws NimbusException If the task number is invalid.
+     */
+    public String deleteTask(CommandLine line) throws NimbusException {
+        if (isSelection(line)) {
+            return deleteTasks(parseSelection(line));
+        }
+        int taskNumber = parseTaskNumber(line);
 
         Task removedTask = tasks.remove(taskNumber);
+        recordUndo(() -> tasks.add(taskNumber, removedTask));
+        idPositions.remove(removedTask.getId());
+        for (TaskIndex index : indexes) {
+            index.remove(removedTask);
+        }
+        storage.logDeleted(taskNumber);
+        version++;
         return ui.showTaskDeleted(removedTask, tasks.size());
     }
 
+    /**
+     * Deletes every selected task in one compacting pass over the list and the indexes, which takes O(n)
+     * in total instead of shifting them once per task.
+     */
+    private String deleteTasks(BitSet positions) {
+        List<Task> removedTasks = new ArrayList<>(positions.cardinality());
+        BitSet removedIds = new BitSet(nextId);
+        // Logged from the last position back, so every position is still valid when the journal is replayed.
+        for (int i = positions.previousSetBit(tasks.size() - 1); i >= 0; i = positions.previousSetBit(i - 1)) {
+            Task task = tasks.get(i);
+            int position = i;
+            recordUndo(() -> tasks.add(position, task)); // undone first to last, so each position is valid
+            removedTasks.add(task);
+            removedIds.set(task.getId());
+            idPositions.remove(task.getId());
+            storage.logDeleted(i);
+        }
+        if (!removedTasks.isEmpty()) {
+            tasks.removeIf(task -> removedIds.get(task.getId()));
+            for (TaskIndex index : indexes) {
+                index.removeAll(removedTasks);
+            }
+            version++;
+        }
+        return ui.showTasksDeleted(removedTasks.size(), tasks.size());
+    }
+
+    /**
+     * Starts recording how to undo each change to the list, so that a batch of commands can be undone
+     * if one of them fails. Takes O(1), and the record grows with the changes made rather than the list,
+     * so a packed or lazily loaded list is not decoded.
+     *
+     * @return The snapshot to pass to {@link #restore} or {@link #release}.
+     */
+    public Snapshot snapshot() {
+        assert openSnapshot == null : "Only one snapshot should be open at a time";
+        openSnapshot = new Snapshot(nextId, !isDirty());
+        return openSnapshot;
+    }
+
+    /**
+     * Stops recording changes for the snapshot, keeping them.
+     *
+     * @param snapshot The open snapshot of this list.
+     */
+    public void release(Snapshot snapshot) {
+        assert snapshot == openSnapshot : "Only the open snapshot can be released";
+        openSnapshot = null;
+    }
+
+    /**
+     * Puts the list back as it was when the snapshot was taken, by undoing the recorded changes from the
+     * last to the first, and then rebuilds the indexes in one pass over the list.
+     * Only the tasks that were changed are touched in the list, so a lazily loaded list keeps the rest in
+     * the storage file; the pass decodes each task once, as loading does, without keeping it.
+     * The changes undone were logged but not saved, so the next save writes the whole list.
+     *
+     * @param snapshot The open snapshot of this list.
+     */
+    public void restore(Snapshot snapshot) {
+        assert snapshot == openSnapshot : "Only the open snapshot can be restored";
+        openSnapshot = null;
+        if (snapshot.undos.isEmpty()) {
+            return;
+        }
+        for (int i = snapshot.undos.size() - 1; i >= 0; i--) {
+            snapshot.undos.get(i).run();
+        }
+        nextId = snapshot.nextId;
+        idPositions.clear();
+        for (TaskIndex index : indexes) {
+            index.clear();
+        }
+        for (Task task : tasks) {
+            idPositions.add(task.getId());
+            for (TaskIndex index : indexes) {
+                index.add(task);
+            }
+        }
+        storage.logReordered();
+        version++;
+        if (snapshot.isSaved) {
+            markSaved();
+        }
+    }
+
+    /**
+     * Records how to undo a change to the list itself, if a snapshot is open.
+     * The indexes are not undone change by change, as their removals cannot be taken back.
+     */
+    private void recordUndo(Runnable undo) {
+        if (openSnapshot != null) {
+            openSnapshot.undos.add(undo);
+        }
+    }
+
     /**
      * Clears all tasks from the task list.
      *
      * @param ui The UI component to handle user interaction.
      */
-    public String clearAllTasks(UI ui) throws NimbusException {
-        tasks.clear();
-        storage.saveTasks(tasks);
+    public String clearAllTasks(UI ui) {
+        if (!tasks.isEmpty()) {
+            if (openSnapshot != null) {
+                List<Task> clearedTasks = new ArrayList<>(tasks);
+                recordUndo(() -> tasks.addAll(clearedTasks));
+            }
+            tasks.clear();
+            idPositions.clear();
+            for (TaskIndex index : indexes) {
+                index.clear();
+            }
+            storage.logCleared();
+            version++;
+        }
         return ui.showAllTasksCleared();
     }
 
     /**
-     * Finds tasks that match a specific date based on user input.
+     * Finds tasks that match a specific date based on user input, using the date index for deadlines
+     * and the interval tree for events, so an event spanning several days is found on each of them.
      *
      * @param input The user input containing the date to search for tasks.
      */
     public String findTasksByDate(String input) {
         try {
             String dateStr = input.split(" ", 2)[1].trim();
-            LocalDate searchDate = null;
-
-            DateTimeFormatter[] formats = {
-                    DateTimeFormatter.ofPattern("yyyy-MM-dd"),
-                    DateTimeFormatter.ofPattern("dd/MM/yyyy"),
-                    DateTimeFormatter.ofPattern("MMM dd yyyy"),
-                    DateTimeFormatter.ofPattern("dd MM yyyy")
-            };
-
-            for (DateTimeFormatter format : formats) {
-                try {
-                    searchDate = LocalDate.parse(dateStr, format);
-                    break;
-                } catch (DateTimeParseException ignored) {
-                }
-            }
-
+            LocalDate searchDate = DateTimeParser.parseDate(dateStr);
             if (searchDate == null) {
-                throw new NimbusException("Oops! Invalid date format! Try examples like:\n"
-                        + " - 2023-10-15\n"
-                        + " - 15/10/2023\n"
-                        + " - Oct 15 2023\n"
-                        + " - 15 10 2023");
+                throw new NimbusException(INVALID_DATE_MESSAGE);
             }
 
-            return UI.showTasksOnDate(searchDate, tasks);
+            return ui.showMatchingTasksOnDate(searchDate, tasksOnDates(searchDate, searchDate));
         } catch (ArrayIndexOutOfBoundsException e) {
             return ui.showErrorMessage("Oops! Please enter a date after 'find_date'. Example: find_date 2023-12-01");
         } catch (NimbusException e) {
@@ -185,74 +548,536 @@ public class TaskList {
         }
     }
 
+    /**
+     * Finds tasks on any date within a range, both ends inclusive, using the date index and the interval tree.
+     *
+     * @param input The user input containing the first and last dates of the range.
+     */
+    public String findTasksInRange(String input) {
+        try {
+            String[] words = input.trim().split("\\s+");
+            LocalDate from = null;
+            LocalDate to = null;
+            for (int split = 2; split < words.length && to == null; split++) {
+                from = DateTimeParser.parseDate(String.join(" ", Arrays.copyOfRange(words, 1, split)));
+                to = from == null
+                        ? null
+                        : DateTimeParser.parseDate(String.join(" ", Arrays.copyOfRange(words, split, words.length)));
+            }
+            if (from == null || to == null) {
+                throw new NimbusException("Oops! Please enter two dates after 'find_range'. "
+                        + "Example: find_range 2023-12-01 2023-12-31\n" + INVALID_DATE_MESSAGE);
+            }
+            if (from.isAfter(to)) {
+                throw new NimbusException("Oops! The first date of the range must not be after the last.");
+            }
+
+            return ui.showTasksInRange(from, to, tasksOnDates(from, to));
+        } catch (NimbusException e) {
+            return ui.showErrorMessage(e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the events overlapping one another, using the interval tree.
+     *
+     * @return A message listing each pair of overlapping events.
+     */
+    public String findConflicts() {
+        try {
+            List<Task[]> conflicts = new ArrayList<>();
+            for (int[] pair : intervalTree.findConflicts()) {
+                conflicts.add(new Task[] {tasks.get(findTaskPosition(pair[0])), tasks.get(findTaskPosition(pair[1]))});
+            }
+            return ui.showConflicts(conflicts);
+        } catch (NimbusException e) {
+            return ui.showErrorMessage(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the deadlines due and the events happening on any date from {@code from} to {@code to},
+     * both inclusive, in list order.
+     */
+    private List<Task> tasksOnDates(LocalDate from, LocalDate to) throws NimbusException {
+        PostingList events = intervalTree.findOverlapping(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return tasksInListOrder(PostingList.union(dateIndex.findBetween(from, to), events));
+    }
+
+    /**
+     * Returns the tasks with the given IDs, in the order they appear in the list.
+     */
+    private List<Task> tasksInListOrder(PostingList ids) throws NimbusException {
+        int[] positions = positionsInListOrder(ids);
+        List<Task> matchingTasks = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matchingTasks.add(tasks.get(position));
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Returns the positions of the tasks with the given IDs, in increasing order.
+     */
+    private int[] positionsInListOrder(PostingList ids) throws NimbusException {
+        int[] positions = new int[ids.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = findTaskPosition(ids.get(i));
+        }
+        Arrays.sort(positions);
+        return positions;
+    }
+
     /**
      * Parses the task number from user input.
+     * A number prefixed with {@code #} is a task ID and is looked up in the ID index.
      *
-     * @param input The user input containing the task number.
+     * @param line The split user input, whose first argument is the task number or ID.
      * @return The zero-based index of the task.
      * @throws NimbusException If the task number is invalid or out of range.
      */
-    private int parseTaskNumber(String input) throws NimbusException {
-        assert input != null : "Task number input should not be null";
-        assert input.split(" ").length > 1 : "Task number input should contain a number";
+    private int parseTaskNumber(CommandLine line) throws NimbusException {
+        try {
+            return toPosition(line.getInput(), line.getArgumentStart(), line.getFirstArgumentEnd());
+        } catch (NumberFormatException e) {
+            throw new NimbusException("Oops! Please provide a valid task number.");
+        }
+    }
+
+    /**
+     * Returns the position of the task given by a task number, or by a task ID prefixed with {@code #}.
+     */
+    private int toPosition(String text, int start, int end) throws NimbusException {
+        if (start < end && text.charAt(start) == '#') {
+            return findTaskPosition(Integer.parseInt(text, start + 1, end, 10));
+        }
+        int taskNumber = Integer.parseInt(text, start, end, 10) - 1;
+        if (taskNumber < 0 || taskNumber >= tasks.size()) {
+            throw new NimbusException("Oops! That task number doesn't exist. Please check your list.");
+        }
+        return taskNumber;
+    }
+
+    /**
+     * Returns whether the command selects several tasks: a list, a range, or {@code done}.
+     */
+    private static boolean isSelection(CommandLine line) {
+        String arguments = line.getArguments();
+        return arguments.indexOf(',') >= 0 || arguments.indexOf('-') >= 0 || arguments.equalsIgnoreCase("done");
+    }
+
+    /**
+     * Parses a selection of tasks such as {@code 1,4,7-20}, where each item is a task number, a task ID
+     * prefixed with {@code #}, or a range of either, or {@code done} for every task that is done.
+     *
+     * @param line The split user input.
+     * @return The positions of the selected tasks.
+     * @throws NimbusException If an item is not valid or a task does not exist.
+     */
+    private BitSet parseSelection(CommandLine line) throws NimbusException {
+        String arguments = line.getArguments();
+        BitSet positions = new BitSet(tasks.size());
+        if (arguments.equalsIgnoreCase("done")) {
+            int position = 0;
+            for (Task task : tasks) {
+                positions.set(position++, task.isDone());
+            }
+            return positions;
+        }
 
         try {
-            int taskNumber = Integer.parseInt(input.split(" ")[1]) - 1;
-            if (taskNumber < 0 || taskNumber >= tasks.size()) {
-                throw new NimbusException("Oops! That task number doesn't exist. Please check your list.");
+            int start = 0;
+            while (start <= arguments.length()) {
+                int comma = arguments.indexOf(',', start);
+                int end = comma < 0 ? arguments.length() : comma;
+                int dash = arguments.indexOf('-', start);
+                if (dash < 0 || dash > end) {
+                    positions.set(parsePosition(arguments, start, end));
+                } else {
+                    int first = parsePosition(arguments, start, dash);
+                    int last = parsePosition(arguments, dash + 1, end);
+                    if (first > last) {
+                        throw new NimbusException("Oops! The range " + arguments.substring(start, end).trim()
+                                + " runs backwards. Please put the smaller number first.");
+                    }
+                    positions.set(first, last + 1);
+                }
+                start = end + 1;
             }
-            return taskNumber;
         } catch (NumberFormatException e) {
-            throw new NimbusException("Oops! Please provide a valid task number.");
+            throw new NimbusException(SELECTION_USAGE_MESSAGE);
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the position of the task given between the indexes, ignoring spaces around it.
+     */
+    private int parsePosition(String text, int start, int end) throws NimbusException {
+        while (start < end && text.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) == ' ') {
+            end--;
         }
+        return toPosition(text, start, end);
     }
 
     /**
-     * Finds tasks that contain the specified keyword in their description.
+     * Finds tasks whose description contains the keyword, spaces included, ignoring case, using the trigram index.
+     * Keywords separated by {@code /and} must all appear, and groups of keywords separated by {@code /or} are
+     * alternatives. Matches are listed in the order they were added, a page at a time; {@code /after <id>} continues
+     * after the task with that ID, so the next page stays correct when tasks are added or deleted in between.
+     * Only the tasks on the page are looked up.
      *
-     * @param input The user input containing the keyword to search for.
+     * @param input The user input containing the keywords to search for, optionally followed by a cursor.
      */
     public String findTasksByKeyword(String input) {
+        return Renderer.toText(out -> findTasksByKeyword(input, out));
+    }
+
+    /**
+     * Finds tasks whose description contains the keyword and writes the page of matches
+     * into the given destination.
+     *
+     * @param input The user input containing the keywords to search for, optionally followed by a cursor.
+     * @param out Where to write the matches.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void findTasksByKeyword(String input, Appendable out) throws IOException {
         try {
-            String keyword = input.split(" ", 2)[1].trim();
-            ArrayList<Task> matchingTasks = new ArrayList<>();
+            String[] parts = input.split(" ", 2)[1].split(" /after ", 2);
+            String keyword = parts[0].trim();
+            int after = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 0;
 
-            for (Task task : tasks) {
-                if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
-                    matchingTasks.add(task);
-                }
+            PostingList ids = trigramIndex.find(keyword);
+            int first = ids.indexAfter(after);
+            int end = Math.min(ids.size(), first + DEFAULT_PAGE_SIZE);
+            List<Task> page = new ArrayList<>(end - first);
+            for (int i = first; i < end; i++) {
+                page.add(tasks.get(findTaskPosition(ids.get(i))));
             }
-            return ui.showMatchingTasks(matchingTasks, keyword);
+            String nextCommand = end < ids.size() ? "find " + keyword + " /after " + ids.get(end - 1) : null;
+            ui.showMatchingTaskPage(out, page, keyword, first + 1, ids.size(), nextCommand);
         } catch (ArrayIndexOutOfBoundsException e) {
-            return ui.showErrorMessage("Oops! Please enter a keyword after 'find'. Example: find book");
+            out.append(ui.showErrorMessage("Oops! Please enter a keyword after 'find'. Example: find book"));
+        } catch (NumberFormatException e) {
+            out.append(ui.showErrorMessage("Oops! Please enter the task ID to continue after. "
+                    + "Example: find book /after 57"));
+        } catch (NimbusException e) {
+            out.append(ui.showErrorMessage(e.getMessage()));
         }
     }
+
     /**
-     * Sorts the tasks in the chronological order:
+     * Lists the tasks in chronological order using the sorted view, without changing the order of the list:
      * 1. Events (earliest start time first, if equal, sort by earliest end time)
      * 2. Deadlines (earliest due date first)
      * 3. Todo tasks (sorted by creation time)
+     * Each task is shown with its number in the list, so it can still be marked or deleted by that number.
+     * Only the first page is shown.
      *
-     * @return A message indicating that tasks have been sorted.
+     * @return The first page of tasks in chronological order.
      */
     public String sortTasks() {
-        tasks.sort(Comparator.comparing((Task task) -> {
-            if (task instanceof Event event) {
-                return event.getFromDateTime(); // Sort Events by start time
-            } else if (task instanceof Deadline deadline) {
-                return deadline.getDueDateTime(); // Sort Deadlines by due date
-            } else {
-                return task.getCreatedAt(); // Sort Todos by creation time
+        return Renderer.toText(this::sortTasks);
+    }
+
+    /**
+     * Writes the first page of tasks in chronological order into the given destination.
+     *
+     * @param out Where to write the tasks.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void sortTasks(Appendable out) throws IOException {
+        try {
+            sortTasks(new Page(1, DEFAULT_PAGE_SIZE), out);
+        } catch (NimbusException e) {
+            out.append(ui.showErrorMessage(e.getMessage()));
+        }
+    }
+
+    /**
+     * Lists one page of the tasks in chronological order. The sorted view is walked past the earlier pages
+     * by ID alone, so only the tasks on the page are looked up.
+     */
+    private void sortTasks(Page page, Appendable out) throws NimbusException, IOException {
+        int total = sortedView.size();
+        int offset = page.offsetWithin(total);
+        List<Task> sortedTasks = new ArrayList<>();
+        List<Integer> taskNumbers = new ArrayList<>();
+        PrimitiveIterator.OfInt ids = sortedView.idIterator();
+        for (int skipped = 0; skipped < offset; skipped++) {
+            ids.nextInt();
+        }
+        while (ids.hasNext() && sortedTasks.size() < page.size()) {
+            int position = findTaskPosition(ids.nextInt());
+            sortedTasks.add(tasks.get(position));
+            taskNumbers.add(position + 1);
+        }
+        String nextCommand = offset + sortedTasks.size() < total ? "list sorted " + page.next() : null;
+        ui.showSortedTaskPage(out, sortedTasks, taskNumbers, offset + 1, total, nextCommand);
+    }
+
+    /**
+     * Lists the tasks in the order they were added, a page at a time with {@code list [page] [size]},
+     * or in chronological order with {@code list sorted [page] [size]}. Only the tasks on the page are rendered.
+     * Filters such as {@code list pending deadlines [page] [size]} list only the tasks matching all of them,
+     * found by intersecting the filter bitmaps, also a page at a time.
+     *
+     * @param input The user input, optionally followed by a page, by {@code sorted} or by filters.
+     * @return The listed tasks.
+     */
+    public String listTasks(String input) {
+        return Renderer.toText(out -> listTasks(input, out));
+    }
+
+    /**
+     * Lists the tasks as {@link #listTasks(String)} does, writing them into the given destination
+     * one task at a time instead of building the whole response first.
+     *
+     * @param input The user input, optionally followed by a page, by {@code sorted} or by filters.
+     * @param out Where to write the tasks.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void listTasks(String input, Appendable out) throws IOException {
+        String[] words = input.trim().split("\\s+");
+        try {
+            if (words.length == 1 || Character.isDigit(words[1].charAt(0))) {
+                Page page = Page.parse(words, 1);
+                int total = tasks.size();
+                int offset = page.offsetWithin(total);
+                int end = Math.min(total, offset + page.size());
+                String nextCommand = end < total ? "list " + page.next() : null;
+                ui.showTaskPage(out, tasks.subList(offset, end), offset + 1, total, nextCommand);
+                return;
             }
-        }).thenComparing(task -> {
-            if (task instanceof Event event) {
-                return event.getToDateTime(); // Sort Events by end time (breaking ties)
+            if (words[1].equalsIgnoreCase("sorted")) {
+                sortTasks(Page.parse(words, 2), out);
+                return;
+            }
+        } catch (NimbusException e) {
+            out.append(ui.showErrorMessage(e.getMessage()));
+            return;
+        }
+
+        List<FilterIndex.Filter> filters = new ArrayList<>();
+        int pageStart = 1; // the filters are followed by an optional page number and size
+        while (pageStart < words.length && !Character.isDigit(words[pageStart].charAt(0))) {
+            FilterIndex.Filter filter = FilterIndex.Filter.parse(words[pageStart]);
+            if (filter == null) {
+                out.append(ui.showErrorMessage("Oops! I can list your tasks with 'list', 'list sorted', "
+                        + "or filters like 'list pending deadlines'.\n"
+                        + "Filters: pending, done, todos, deadlines, events"));
+                return;
+            }
+            filters.add(filter);
+            pageStart++;
+        }
+        try {
+            listFilteredTasks(filters, String.join(" ", Arrays.copyOfRange(words, 1, pageStart)),
+                    Page.parse(words, pageStart), out);
+        } catch (NimbusException e) {
+            out.append(ui.showErrorMessage(e.getMessage()));
+        }
+    }
+
+    /**
+     * Lists one page of the tasks matching every filter. The total comes from the cardinality of the intersected
+     * filter bitmaps, and only the IDs on the page are taken from it and looked up in the list. IDs increase
+     * along the list, so the page is in list order.
+     */
+    private void listFilteredTasks(List<FilterIndex.Filter> filters, String filterWords, Page page,
+            Appendable out) throws NimbusException, IOException {
+        RoaringBitmap matches = filterIndex.match(filters);
+        int total = matches.cardinality();
+        int offset = page.offsetWithin(total);
+        int[] ids = matches.toArray(offset, page.size());
+        List<Task> pageTasks = new ArrayList<>(ids.length);
+        List<Integer> taskNumbers = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            int position = findTaskPosition(id);
+            pageTasks.add(tasks.get(position));
+            taskNumbers.add(position + 1);
+        }
+        String nextCommand = offset + ids.length < total ? "list " + filterWords + " " + page.next() : null;
+        ui.showFilteredTaskPage(out, filterWords.toLowerCase(Locale.ROOT), pageTasks, taskNumbers, offset + 1,
+                total, nextCommand);
+    }
+
+    /**
+     * Finds the tasks matching a query such as {@code query type:deadline done:false due<2025-01-01 text:report}.
+     * The query planner picks the index lookup expected to find the fewest candidates, and the remaining
+     * conditions are checked on each candidate in list order. Matches are shown with their list numbers.
+     *
+     * @param input The user input containing the query terms.
+     * @return The matching tasks.
+     */
+    public String runQuery(String input) {
+        return Renderer.toText(out -> runQuery(input, out));
+    }
+
+    /**
+     * Finds the tasks matching a query and writes them into the given destination.
+     *
+     * @param input The user input containing the query terms.
+     * @param out Where to write the matching tasks.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void runQuery(String input, Appendable out) throws IOException {
+        try {
+            QueryPlan plan = planQuery(input);
+            List<Task> matchingTasks = new ArrayList<>();
+            List<Integer> taskNumbers = new ArrayList<>();
+            if (plan.isScan()) {
+                int taskNumber = 0;
+                for (Task task : tasks) {
+                    taskNumber++;
+                    if (plan.matches(task)) {
+                        matchingTasks.add(task);
+                        taskNumbers.add(taskNumber);
+                    }
+                }
             } else {
-                return LocalDateTime.MAX; // Assign max value to ensure Todo tasks don't interfere
+                for (int position : positionsInListOrder(plan.findCandidates())) {
+                    Task task = tasks.get(position);
+                    if (plan.matches(task)) {
+                        matchingTasks.add(task);
+                        taskNumbers.add(position + 1);
+                    }
+                }
             }
-        }));
+            ui.showQueryResults(out, matchingTasks, taskNumbers);
+        } catch (NimbusException e) {
+            out.append(ui.showErrorMessage(e.getMessage()));
+        }
+    }
+
+    /**
+     * Shows how a query would be run, with the estimated number of tasks checked, without running it.
+     *
+     * @param input The user input containing the query terms.
+     * @return The plan for the query.
+     */
+    public String explainQuery(String input) {
+        try {
+            return ui.showQueryPlan(planQuery(input).explain());
+        } catch (NimbusException e) {
+            return ui.showErrorMessage(e.getMessage());
+        }
+    }
 
-        return ui.showSortedTasks(tasks);
+    private QueryPlan planQuery(String input) throws NimbusException {
+        String[] parts = input.trim().split("\\s+", 2);
+        return queryPlanner.plan(Query.parse(parts.length > 1 ? parts[1] : ""), tasks.size());
     }
-}
 
+    /**
+     * Lists the next undone deadlines and events from now, soonest first, using the upcoming index.
+     *
+     * @param input The user input, optionally followed by how many tasks to show.
+     * @return The upcoming tasks.
+     */
+    public String findUpcomingTasks(String input) {
+        String[] words = input.trim().split("\\s+");
+        try {
+            int count = words.length > 1 ? Integer.parseInt(words[1]) : DEFAULT_UPCOMING_COUNT;
+            if (count <= 0 || words.length > 2) {
+                throw new NumberFormatException();
+            }
+            List<Task> upcomingTasks = new ArrayList<>();
+            List<Integer> taskNumbers = new ArrayList<>();
+            collectTasks(upcomingIndex.findNext(LocalDateTime.now(), count), upcomingTasks, taskNumbers);
+            return ui.showUpcomingTasks(upcomingTasks, taskNumbers);
+        } catch (NumberFormatException e) {
+            return ui.showErrorMessage("Oops! Please enter how many tasks to show. Example: next 5");
+        } catch (NimbusException e) {
+            return ui.showErrorMessage(e.getMessage());
+        }
+    }
+
+    /**
+     * Lists the undone deadlines that are past their due time, earliest first, using the upcoming index.
+     *
+     * @return The overdue deadlines.
+     */
+    public String findOverdueTasks() {
+        try {
+            List<Task> overdueTasks = new ArrayList<>();
+            List<Integer> taskNumbers = new ArrayList<>();
+            collectTasks(upcomingIndex.findOverdue(LocalDateTime.now()), overdueTasks, taskNumbers);
+            return ui.showOverdueTasks(overdueTasks, taskNumbers);
+        } catch (NimbusException e) {
+            return ui.showErrorMessage(e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up the tasks with the given IDs, keeping the order of the IDs, along with their list numbers.
+     */
+    private void collectTasks(int[] ids, List<Task> collected, List<Integer> taskNumbers) throws NimbusException {
+        for (int id : ids) {
+            int position = findTaskPosition(id);
+            collected.add(tasks.get(position));
+            taskNumbers.add(position + 1);
+        }
+    }
+
+    /**
+     * A page of a listing, numbered from 1.
+     */
+    private record Page(int number, int size) {
+        /**
+         * Parses an optional page number and page size from the words after a command.
+         */
+        private static Page parse(String[] words, int from) throws NimbusException {
+            try {
+                int number = words.length > from ? Integer.parseInt(words[from]) : 1;
+                int size = words.length > from + 1 ? Integer.parseInt(words[from + 1]) : DEFAULT_PAGE_SIZE;
+                if (number <= 0 || size <= 0 || words.length > from + 2) {
+                    throw new NimbusException(PAGE_USAGE_MESSAGE);
+                }
+                return new Page(number, size);
+            } catch (NumberFormatException e) {
+                throw new NimbusException(PAGE_USAGE_MESSAGE);
+            }
+        }
+
+        /**
+         * Returns the position of the first item on this page.
+         *
+         * @throws NimbusException If the page starts past the end of a non-empty listing.
+         */
+        private int offsetWithin(int total) throws NimbusException {
+            long offset = (long) (number - 1) * size;
+            if (offset > 0 && offset >= total) {
+                int pageCount = (int) ((total + (long) size - 1) / size);
+                throw new NimbusException("Oops! There is no page " + number + ". Your list has " + pageCount
+                        + (pageCount == 1 ? " page." : " pages."));
+            }
+            return (int) offset;
+        }
+
+        /**
+         * Returns the arguments that show the next page, leaving out the size if it is the default.
+         */
+        private String next() {
+            return size == DEFAULT_PAGE_SIZE ? String.valueOf(number + 1) : (number + 1) + " " + size;
+        }
+    }
+
+    /**
+     * The changes made to a list since the snapshot was taken, each recorded as how to undo it,
+     * with the next ID and whether the list was saved at the time.
+     */
+    public static final class Snapshot {
+        private final List<Runnable> undos = new ArrayList<>();
+        private final int nextId;
+        private final boolean isSaved;
+
+        private Snapshot(int nextId, boolean isSaved) {
+            this.nextId = nextId;
+            this.isSaved = isSaved;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package nimbus.tasklist;
+
+/**
+ * Represents how a task list keeps its tasks in memory.
+ */
+public enum TaskStore {
+    /** Task objects in a {@link TreeList}, with O(log n) access and deletion by position. */
+    TREE,
+    /** Tasks packed into primitive columns, for a small heap per task. */
+    COLUMNAR,
+    /** Tasks packed into primitive columns, with every description kept outside the heap. */
+    OFF_HEAP,
+    /** Tasks decoded from the storage file on first access. */
+    LAZY
+}
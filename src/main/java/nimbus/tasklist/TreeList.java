@@ -0,0 +1,337 @@
+package nimbus.tasklist;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A list backed by a balanced tree in which every node records the size of its subtree,
+ * so getting, inserting and removing by position take O(log n) instead of shifting an array.
+ *
+ * <p>The tree is a treap: nodes are kept in list order, and each node carries a random priority
+ * that is never lower than its children's, which keeps the expected depth logarithmic.
+ * Iterating walks the tree in order and takes O(n) for the whole list.
+ *
+ * @param <E> The type of the elements.
+ */
+public class TreeList<E> extends AbstractList<E> {
+    private Node<E> root;
+    private int seed = 0x2545F491;
+
+    /**
+     * Constructs an empty TreeList.
+     */
+    public TreeList() {
+    }
+
+    /**
+     * Constructs a TreeList holding the given elements in iteration order, in O(n) time.
+     *
+     * @param elements The initial elements.
+     */
+    public TreeList(Collection<? extends E> elements) {
+        Object[] array = elements.toArray();
+        root = build(array, 0, array.length);
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public E get(int index) {
+        return nodeAt(index).element;
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Node<E> node = nodeAt(index);
+        E previous = node.element;
+        node.element = element;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        root = insert(root, index, new Node<>(element, nextPriority()));
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = nodeAt(index).element;
+        root = delete(root, index);
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Removes every element matching the filter in one in-order pass, then rebuilds the tree from the rest,
+     * which takes O(n) however many elements are removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Object[] kept = new Object[size()];
+        int keptCount = 0;
+        for (E element : this) {
+            if (!filter.test(element)) {
+                kept[keptCount++] = element;
+            }
+        }
+        if (keptCount == kept.length) {
+            return false;
+        }
+        root = build(kept, 0, keptCount);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new InOrderIterator(0);
+    }
+
+    private Node<E> nodeAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static <E> Node<E> insert(Node<E> node, int index, Node<E> added) {
+        if (node == null) {
+            return added;
+        }
+        int leftSize = sizeOf(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <E> Node<E> delete(Node<E> node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else {
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps where every node of {@code left} comes before every node of {@code right}.
+     */
+    private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <E> Node<E> rotateRight(Node<E> node) {
+        Node<E> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static <E> Node<E> rotateLeft(Node<E> node) {
+        Node<E> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    /**
+     * Builds a perfectly balanced subtree over part of the array, then restores the heap order
+     * of its random priorities by sifting the root's priority down.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<E> build(Object[] array, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node<E> node = new Node<>((E) array[middle], nextPriority());
+        node.left = build(array, from, middle);
+        node.right = build(array, middle + 1, to);
+        node.update();
+        siftDown(node);
+        return node;
+    }
+
+    /**
+     * Moves a node's priority down until it is no lower than its children's. Only priorities move,
+     * so the shape and order of the tree are unchanged.
+     */
+    private static <E> void siftDown(Node<E> node) {
+        while (true) {
+            Node<E> larger = node.left;
+            if (node.right != null && (larger == null || node.right.priority > larger.priority)) {
+                larger = node.right;
+            }
+            if (larger == null || larger.priority <= node.priority) {
+                return;
+            }
+            int priority = node.priority;
+            node.priority = larger.priority;
+            larger.priority = priority;
+            node = larger;
+        }
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13; // xorshift; any well-spread sequence keeps the tree balanced
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * An element of the list, with the number of nodes in its subtree.
+     */
+    private static class Node<E> {
+        private E element;
+        private int priority;
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        private Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + sizeOf(left) + sizeOf(right);
+        }
+    }
+
+    /**
+     * Walks the tree in order with a stack of the nodes still to visit.
+     */
+    private class InOrderIterator implements Iterator<E> {
+        private final Deque<Node<E>> pending = new ArrayDeque<>();
+        private int nextIndex;
+        private int lastIndex = -1;
+        private int expectedModCount = modCount;
+
+        private InOrderIterator(int index) {
+            seek(index);
+        }
+
+        /**
+         * Fills the stack with the path to the given position, keeping the nodes not yet visited.
+         */
+        private void seek(int index) {
+            pending.clear();
+            nextIndex = index;
+            Node<E> node = root;
+            while (node != null) {
+                int leftSize = sizeOf(node.left);
+                if (index < leftSize) {
+                    pending.push(node);
+                    node = node.left;
+                } else if (index == leftSize) {
+                    pending.push(node);
+                    return;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (pending.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> node = pending.pop();
+            for (Node<E> next = node.right; next != null; next = next.left) {
+                pending.push(next);
+            }
+            lastIndex = nextIndex++;
+            return node.element;
+        }
+
+        @Override
+        public void remove() {
+            if (lastIndex < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            TreeList.this.remove(lastIndex);
+            expectedModCount = modCount;
+            seek(lastIndex);
+            lastIndex = -1;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package nimbus.tasks;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * Parses the dates and times users type, such as {@code 2023-10-15 1800}, {@code 15/10/2023 1800},
+ * {@code Oct 15 2023 1800} or {@code 15 10 2023 1800}, and the same dates without a time.
+ *
+ * <p>Each format is recognised from its separators in one scan of the text, and the fields are read
+ * as digits, so an invalid input returns null instead of throwing. The inputs accepted are exactly those
+ * of the {@code yyyy-MM-dd}, {@code dd/MM/yyyy}, {@code MMM dd yyyy} and {@code dd MM yyyy} patterns
+ * (with {@code HHmm} appended for a time) under {@link java.time.format.DateTimeFormatter#ofPattern}:
+ * a year of four digits, or more digits after a {@code +}; a day past the end of its month moved back to
+ * the last day; and a time of {@code 2400} meaning midnight at the end of the day.
+ */
+public final class DateTimeParser {
+    private static final int MAX_YEAR_DIGITS = 19;
+    private static final int MAX_YEAR = 999_999_999;
+    private static final String[] MONTH_NAMES = new String[12];
+
+    static {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = month.getDisplayName(TextStyle.SHORT, locale);
+        }
+    }
+
+    private DateTimeParser() {
+    }
+
+    /**
+     * Parses a date followed by a space and a time in {@code HHmm}.
+     *
+     * @param text The text to parse.
+     * @return The date and time, or null if the text is not in a supported format.
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        int end = text.length() - 5;
+        if (end < 0 || text.charAt(end) != ' ') {
+            return null;
+        }
+        int hour = readTwoDigits(text, end + 1);
+        int minute = readTwoDigits(text, end + 3);
+        if (hour < 0 || hour > 24 || minute < 0 || minute > 59 || (hour == 24 && minute != 0)) {
+            return null;
+        }
+        LocalDate date = parseDate(text, end);
+        if (date == null) {
+            return null;
+        } else if (hour < 24) {
+            return date.atTime(hour, minute);
+        }
+        return date.equals(LocalDate.MAX) ? null : date.plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Parses a date without a time.
+     *
+     * @param text The text to parse.
+     * @return The date, or null if the text is not in a supported format.
+     */
+    public static LocalDate parseDate(String text) {
+        return parseDate(text, text.length());
+    }
+
+    /**
+     * Parses the date in the first {@code end} characters of the text, trying the formats in the order
+     * the users' examples list them.
+     */
+    private static LocalDate parseDate(String text, int end) {
+        if (end < 10) {
+            return null;
+        }
+        char first = text.charAt(0);
+        if (text.charAt(end - 3) == '-' && text.charAt(end - 6) == '-') {
+            return toDate(readYear(text, 0, end - 6), readTwoDigits(text, end - 5), readTwoDigits(text, end - 2));
+        } else if (first >= '0' && first <= '9') {
+            char separator = text.charAt(2);
+            if ((separator != '/' && separator != ' ') || text.charAt(5) != separator) {
+                return null;
+            }
+            return toDate(readYear(text, 6, end), readTwoDigits(text, 3), readTwoDigits(text, 0));
+        }
+        int month = readMonthName(text);
+        if (month < 0) {
+            return null;
+        }
+        int day = MONTH_NAMES[month].length();
+        if (day + 4 > end || text.charAt(day) != ' ' || text.charAt(day + 3) != ' ') {
+            return null;
+        }
+        return toDate(readYear(text, day + 4, end), month + 1, readTwoDigits(text, day + 1));
+    }
+
+    /**
+     * Returns the date, moving a day past the end of its month back to the last day, or null if a field
+     * is missing or out of range.
+     */
+    private static LocalDate toDate(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /**
+     * Reads a year filling the characters from {@code from} to {@code to}: four digits, or more digits
+     * after a plus sign. Returns -1 if the year is not valid.
+     */
+    private static int readYear(String text, int from, int to) {
+        boolean hasSign = from < to && text.charAt(from) == '+';
+        int digits = to - from - (hasSign ? 1 : 0);
+        if (hasSign ? digits <= 4 || digits > MAX_YEAR_DIGITS : digits != 4) {
+            return -1;
+        }
+        long year = 0;
+        for (int i = to - digits; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            year = Math.min(year * 10 + (c - '0'), MAX_YEAR + 1L);
+        }
+        return year > MAX_YEAR ? -1 : (int) year;
+    }
+
+    /**
+     * Reads two digits starting at the given index, returning -1 if either is not a digit.
+     */
+    private static int readTwoDigits(String text, int index) {
+        char tens = text.charAt(index);
+        char ones = text.charAt(index + 1);
+        if (tens < '0' || tens > '9' || ones < '0' || ones > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    /**
+     * Returns the index of the longest short month name the text starts with, or -1 if there is none.
+     */
+    private static int readMonthName(String text) {
+        int month = -1;
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            if (text.startsWith(MONTH_NAMES[i])
+                    && (month < 0 || MONTH_NAMES[i].length() > MONTH_NAMES[month].length())) {
+                month = i;
+            }
+        }
+        return month;
+    }
+}
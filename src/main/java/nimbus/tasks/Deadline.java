@@ -2,9 +2,6 @@ package nimbus.tasks;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.List;
 
 import nimbus.exceptions.NimbusException;
 
@@ -16,12 +13,7 @@ import nimbus.exceptions.NimbusException;
 public class Deadline extends Task {
     private final LocalDateTime dueDateTime;
     private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
-    private static final List<DateTimeFormatter> INPUT_FORMATS = Arrays.asList(
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HHmm"),
-            DateTimeFormatter.ofPattern("MMM dd yyyy HHmm"),
-            DateTimeFormatter.ofPattern("dd MM yyyy HHmm")
-    );
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
 
     /**
      * Constructs a Deadline task with the specified description and due date/time.
@@ -35,24 +27,33 @@ public class Deadline extends Task {
         this.dueDateTime = parseDateTime(dueDateTime);
     }
 
+    /**
+     * Constructs a Deadline task with an already parsed due date/time.
+     *
+     * @param description The description of the task.
+     * @param dueDateTime The due date and time.
+     */
+    public Deadline(String description, LocalDateTime dueDateTime) {
+        super(description);
+        this.dueDateTime = dueDateTime;
+    }
+
     public LocalDateTime getDueDateTime() {
         return dueDateTime;
     }
 
     /**
      * Parses the date and time string into a LocalDateTime object.
-     * Supports multiple date/time formats.
+     * Supports the formats of {@link DateTimeParser}.
      *
      * @param dateTimeString The date and time string to parse.
      * @return The parsed LocalDateTime object.
      * @throws NimbusException If the date/time format is invalid.
      */
     private LocalDateTime parseDateTime(String dateTimeString) throws NimbusException {
-        for (DateTimeFormatter format : INPUT_FORMATS) {
-            try {
-                return LocalDateTime.parse(dateTimeString, format);
-            } catch (DateTimeParseException ignored) {
-            }
+        LocalDateTime dateTime = DateTimeParser.parseDateTime(dateTimeString);
+        if (dateTime != null) {
+            return dateTime;
         }
         throw new NimbusException("Oops! Invalid date format! Try examples like:\n"
                 + " - 2023-10-15 1800\n"
@@ -62,14 +63,14 @@ public class Deadline extends Task {
     }
 
     /**
-     * Returns a string representation of the Deadline task.
+     * Builds the string representation of the Deadline task.
      * The format includes the task type, status, description, and due date/time.
      *
      * @return The formatted string representation of the Deadline task.
      */
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: " + dueDateTime.format(OUTPUT_FORMAT) + ")";
+    protected String render() {
+        return "[D]" + super.render() + " (by: " + dueDateTime.format(OUTPUT_FORMAT) + ")";
     }
 
     /**
@@ -79,7 +80,7 @@ public class Deadline extends Task {
      */
     @Override
     public String toFileString() {
-        return "D | " + (isDone ? "1" : "0") + " | " + description + " | " + dueDateTime.format(INPUT_FORMATS.get(0));
+        return "D | " + (isDone ? "1" : "0") + " | " + description + " | " + dueDateTime.format(FILE_FORMAT);
     }
 
     /**
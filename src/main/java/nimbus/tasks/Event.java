@@ -1,10 +1,8 @@
 package nimbus.tasks;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.List;
 
 import nimbus.exceptions.NimbusException;
 
@@ -15,12 +13,7 @@ import nimbus.exceptions.NimbusException;
 public class Event extends Task {
     private LocalDateTime fromDateTime;
     private LocalDateTime toDateTime;
-    private static final List<DateTimeFormatter> INPUT_FORMATS = Arrays.asList(
-            DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy HHmm"),
-            DateTimeFormatter.ofPattern("MMM dd yyyy HHmm"),
-            DateTimeFormatter.ofPattern("dd MM yyyy HHmm")
-    );
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm");
     private static final DateTimeFormatter OUTPUT_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mm a");
 
     /**
@@ -37,6 +30,19 @@ public class Event extends Task {
         this.toDateTime = parseDateTime(to);
     }
 
+    /**
+     * Constructs an Event task with already parsed start and end times.
+     *
+     * @param description The description of the event.
+     * @param fromDateTime The start date and time.
+     * @param toDateTime The end date and time.
+     */
+    public Event(String description, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        super(description);
+        this.fromDateTime = fromDateTime;
+        this.toDateTime = toDateTime;
+    }
+
     public LocalDateTime getFromDateTime() {
         return fromDateTime;
     }
@@ -45,20 +51,28 @@ public class Event extends Task {
         return toDateTime;
     }
 
+    /**
+     * Returns whether the event ends before it starts. New events are refused when they do, but events
+     * saved by earlier versions, such as an overnight shift entered on one date, are kept as they were.
+     *
+     * @return True if the end time is before the start time.
+     */
+    public boolean endsBeforeStart() {
+        return toDateTime.isBefore(fromDateTime);
+    }
+
     /**
      * Parses the date and time string into a LocalDateTime object.
-     * Supports multiple date/time formats.
+     * Supports the formats of {@link DateTimeParser}.
      *
      * @param dateTimeString The date and time string toDateTime parse.
      * @return The parsed LocalDateTime object.
      * @throws NimbusException If the date/time format is invalid.
      */
     private LocalDateTime parseDateTime(String dateTimeString) throws NimbusException {
-        for (DateTimeFormatter format : INPUT_FORMATS) {
-            try {
-                return LocalDateTime.parse(dateTimeString, format);
-            } catch (DateTimeParseException ignored) {
-            }
+        LocalDateTime dateTime = DateTimeParser.parseDateTime(dateTimeString);
+        if (dateTime != null) {
+            return dateTime;
         }
         throw new NimbusException("Oops! Invalid date format! Try examples like:\n"
                 + " - 2023-10-15 1800\n"
@@ -68,14 +82,15 @@ public class Event extends Task {
     }
 
     /**
-     * Returns a string representation of the Event task.
+     * Builds the string representation of the Event task.
      * The format includes the task type, status, description, and date/time range.
      *
      * @return The formatted string representation of the Event task.
      */
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (from: " + fromDateTime.format(OUTPUT_FORMAT) + " to: " + toDateTime.format(OUTPUT_FORMAT) + ")";
+    protected String render() {
+        return "[E]" + super.render() + " (from: " + fromDateTime.format(OUTPUT_FORMAT)
+                + " to: " + toDateTime.format(OUTPUT_FORMAT) + ")";
     }
 
     /**
@@ -85,16 +100,18 @@ public class Event extends Task {
      */
     @Override
     public String toFileString() {
-        return "E | " + (isDone ? "1" : "0") + " | " + description + " | " + fromDateTime.format(INPUT_FORMATS.get(0)) + " | " + toDateTime.format(INPUT_FORMATS.get(0));
+        return "E | " + (isDone ? "1" : "0") + " | " + description + " | " + fromDateTime.format(FILE_FORMAT)
+                + " | " + toDateTime.format(FILE_FORMAT);
     }
 
     /**
-     * Checks if the Event task occurs on the specified date.
+     * Checks if the Event task occurs on the specified date, including days in the middle of a multi-day event.
      *
      * @param date The date toDateTime check against the event's start and end dates.
      * @return True if the event occurs on the specified date, false otherwise.
      */
     public boolean isOnDate(LocalDateTime date) {
-        return fromDateTime.toLocalDate().equals(date.toLocalDate()) || toDateTime.toLocalDate().equals(date.toLocalDate());
+        LocalDate day = date.toLocalDate();
+        return !day.isBefore(fromDateTime.toLocalDate()) && !day.isAfter(toDateTime.toLocalDate());
     }
 }
@@ -1,6 +1,7 @@
 package nimbus.tasks;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Represents an abstract Task in the Nimbus Chatbot application.
@@ -11,23 +12,53 @@ public abstract class Task {
     protected String description;
     protected boolean isDone;
     protected LocalDateTime createdAt;
+    protected int id;
+    private String rendered; // the result of toString(), cleared when the status changes
 
     /**
      * Constructs a Task with the specified description.
-     * The task is initially marked as not done.
+     * The task is initially marked as not done and has no ID until it is added to a task list.
      *
      * @param description The description of the task.
      */
     public Task(String description) {
         this.description = description;
         this.isDone = false;
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
     }
 
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
 
+    /**
+     * Sets the creation time, used when the task is restored from storage.
+     *
+     * @param createdAt The time the task was first created.
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt.truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    /**
+     * Returns the ID of the task, or 0 if it has not been assigned one yet.
+     *
+     * @return The task ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Sets the ID of the task. IDs are assigned by the task list and persisted with the task.
+     *
+     * @param id The task ID, which must be positive.
+     */
+    public void setId(int id) {
+        assert id > 0 : "Task ID should be positive";
+        this.id = id;
+    }
+
     /**
      * Returns the description of the task.
      *
@@ -37,6 +68,15 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns whether the task is marked as done.
+     *
+     * @return True if the task is done.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
     /**
      * Returns the status icon of the task.
      * Displays "X" if the task is marked as done, or a blank space if not done.
@@ -52,6 +92,7 @@ public abstract class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        this.rendered = null;
     }
 
     /**
@@ -59,6 +100,7 @@ public abstract class Task {
      */
     public void unmark() {
         this.isDone = false;
+        this.rendered = null;
     }
 
     /**
@@ -71,13 +113,26 @@ public abstract class Task {
 
     /**
      * Returns a string representation of the task.
-     * The format includes the task's status icon and description.
+     * The text is built once and kept until the task is marked or unmarked, as nothing else shown changes,
+     * so listing a task again does not format its dates again.
      *
      * @return The formatted string representation of the task.
      */
     @Override
-    public String toString() {
+    public final String toString() {
+        if (rendered == null) {
+            rendered = render();
+        }
+        return rendered;
+    }
+
+    /**
+     * Builds the string representation of the task.
+     * The format includes the task's status icon and description.
+     *
+     * @return The formatted string representation of the task.
+     */
+    protected String render() {
         return "[" + getStatusIcon() + "] " + description;
     }
 }
-
@@ -16,14 +16,14 @@ public class Todo extends Task {
     }
 
     /**
-     * Returns a string representation of the Todo task.
+     * Builds the string representation of the Todo task.
      * The format includes the task type "[T]", status icon, and description.
      *
      * @return The formatted string representation of the Todo task.
      */
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String render() {
+        return "[T]" + super.render();
     }
 
     /**
@@ -0,0 +1,36 @@
+package nimbus.ui;
+
+import java.io.IOException;
+
+/**
+ * Writes a response into a caller-supplied {@link Appendable}, such as a {@code StringBuilder},
+ * a {@code Writer} or a {@link ResponseBuffer}, so that long responses are never built as one string
+ * unless the caller asks for one.
+ */
+@FunctionalInterface
+public interface Renderer {
+
+    /**
+     * Writes the response.
+     *
+     * @param out Where to write the response.
+     * @throws IOException If the destination cannot be written to.
+     */
+    void renderTo(Appendable out) throws IOException;
+
+    /**
+     * Writes a response into a new string.
+     *
+     * @param renderer Writes the response.
+     * @return The response.
+     */
+    static String toText(Renderer renderer) {
+        StringBuilder text = new StringBuilder();
+        try {
+            renderer.renderTo(text);
+        } catch (IOException e) {
+            throw new AssertionError("Appending to a StringBuilder does not fail", e);
+        }
+        return text.toString();
+    }
+}
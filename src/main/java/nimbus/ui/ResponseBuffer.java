@@ -0,0 +1,66 @@
+package nimbus.ui;
+
+/**
+ * A response that keeps at most a fixed number of characters, for showing in a dialog box.
+ * Anything written past the limit is dropped, and the response ends with a note saying it was cut short.
+ */
+public class ResponseBuffer implements Appendable {
+    private static final String CUT_SHORT_NOTE = "\n... (cut short; try a smaller page or a narrower search)";
+
+    private final StringBuilder text = new StringBuilder();
+    private final int limit;
+    private boolean isCutShort;
+
+    /**
+     * Constructs an empty ResponseBuffer.
+     *
+     * @param limit The most characters kept, not counting the note added when the response is cut short.
+     */
+    public ResponseBuffer(int limit) {
+        assert limit >= 0 : "Response limit should not be negative";
+        this.limit = limit;
+    }
+
+    @Override
+    public ResponseBuffer append(CharSequence csq) {
+        return append(csq == null ? "null" : csq, 0, csq == null ? 4 : csq.length());
+    }
+
+    @Override
+    public ResponseBuffer append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        int room = limit - text.length();
+        if (end - start > room) {
+            isCutShort = true;
+            end = start + room;
+        }
+        text.append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public ResponseBuffer append(char c) {
+        if (text.length() < limit) {
+            text.append(c);
+        } else {
+            isCutShort = true;
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether anything was dropped because the limit was reached.
+     *
+     * @return True if the response was cut short.
+     */
+    public boolean isCutShort() {
+        return isCutShort;
+    }
+
+    @Override
+    public String toString() {
+        return isCutShort ? text + CUT_SHORT_NOTE : text.toString();
+    }
+}
@@ -1,8 +1,11 @@
 package nimbus.ui;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import nimbus.tasks.Deadline;
 import nimbus.tasks.Event;
@@ -13,6 +16,7 @@ import nimbus.tasks.Task;
  * Responsible for displaying messages, reading user input, and presenting task-related information.
  */
 public class UI {
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
 
     /**
      * Displays an exit message when the application is terminated.
@@ -35,23 +39,54 @@ public class UI {
      *
      * @param tasks The list of tasks to display.
      */
-    public String showTaskList(ArrayList<Task> tasks) {
+    public String showTaskList(List<Task> tasks) {
         assert tasks != null : "Task list should not be null";
 
-        StringBuilder output = new StringBuilder();
-        if (tasks.isEmpty()) {
-            output.append("Hmm... Your task list is empty. Ready to add something?");
-        } else {
-            output.append("Here are the tasks in your list:\n");
-            for (int i = 0; i < tasks.size(); i++) {
-                output.append((i + 1)).append(". ").append(tasks.get(i)).append("\n");
-            }
+        return showTaskPage(tasks, 1, tasks.size(), null);
+    }
+
+    /**
+     * Displays one page of the task list. Only the tasks on the page are rendered; when the page does not
+     * hold every task, a last line gives the range shown, the total and the command for the next page.
+     *
+     * @param page The tasks on the page, in list order.
+     * @param firstNumber The list number of the first task on the page.
+     * @param totalTasks The number of tasks in the whole list.
+     * @param nextCommand The command that shows the next page, or null if this is the last page.
+     */
+    public String showTaskPage(Iterable<Task> page, int firstNumber, int totalTasks, String nextCommand) {
+        return Renderer.toText(out -> showTaskPage(out, page, firstNumber, totalTasks, nextCommand));
+    }
+
+    /**
+     * Writes one page of the task list into the given destination, one task at a time.
+     *
+     * @param out Where to write the page.
+     * @param page The tasks on the page, in list order.
+     * @param firstNumber The list number of the first task on the page.
+     * @param totalTasks The number of tasks in the whole list.
+     * @param nextCommand The command that shows the next page, or null if this is the last page.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void showTaskPage(Appendable out, Iterable<Task> page, int firstNumber, int totalTasks,
+            String nextCommand) throws IOException {
+        assert page != null : "Task page should not be null";
+
+        if (totalTasks == 0) {
+            out.append("Hmm... Your task list is empty. Ready to add something?");
+            return;
         }
-        return output.toString().trim();
+        out.append("Here are the tasks in your list:");
+        int taskNumber = firstNumber;
+        for (Task task : page) { // iterates rather than indexes, as lookups by position are not O(1)
+            appendNumbered(out, taskNumber++, task);
+        }
+        appendPageFooter(out, "tasks", firstNumber, taskNumber - firstNumber, totalTasks, nextCommand);
     }
 
     /**
      * Displays a confirmation message when a task is added.
+     * The task ID is shown when the task has one, so it can be used with {@code mark #id} and {@code delete #id}.
      *
      * @param task The task that was added.
      * @param size The current number of tasks in the list.
@@ -60,7 +95,8 @@ public class UI {
         assert task != null : "Task should not be null when adding";
         assert size >= 0 : "Task list size should not be negative";
 
-        return "Got it. I've added this task:\n"
+        String idLabel = task.getId() == 0 ? "" : " as #" + task.getId();
+        return "Got it. I've added this task" + idLabel + ":\n"
                 + "  " + task + "\n"
                 + "Now you have " + size + " tasks in the list.";
     }
@@ -96,6 +132,39 @@ public class UI {
                 + "Now you have " + size + " tasks in the list.";
     }
 
+    /**
+     * Displays one summary after marking or unmarking several tasks.
+     *
+     * @param changed The number of tasks whose status changed.
+     * @param selected The number of tasks selected, including those already in that status.
+     * @param isDone True if the tasks were marked as done, false if unmarked.
+     */
+    public String showTasksMarked(int changed, int selected, boolean isDone) {
+        String message = (isDone ? "Nice! I've marked " : "OK, I've marked ") + countTasks(changed)
+                + (isDone ? " as done." : " as not done yet.");
+        int unchanged = selected - changed;
+        if (unchanged > 0) {
+            message += "\n" + (unchanged == 1 ? "1 task was" : unchanged + " tasks were") + " already "
+                    + (isDone ? "done." : "not done.");
+        }
+        return message;
+    }
+
+    /**
+     * Displays one summary after deleting several tasks.
+     *
+     * @param removed The number of tasks removed.
+     * @param size The current number of tasks in the list after deletion.
+     */
+    public String showTasksDeleted(int removed, int size) {
+        return "Noted. I've removed " + countTasks(removed) + ".\n"
+                + "Now you have " + size + " tasks in the list.";
+    }
+
+    private static String countTasks(int count) {
+        return count + (count == 1 ? " task" : " tasks");
+    }
+
     /**
      * Displays a message when all tasks have been cleared.
      */
@@ -103,35 +172,84 @@ public class UI {
         return "✅ All tasks have been cleared.";
     }
 
+    /**
+     * Displays one summary for a batch of commands instead of a message per command.
+     *
+     * @param commandCounts How many times each command keyword was run, in the order first run.
+     * @param size The number of tasks in the list after the batch.
+     */
+    public String showBatchSummary(Map<String, Integer> commandCounts, int size) {
+        int total = 0;
+        StringBuilder counts = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : commandCounts.entrySet()) {
+            total += entry.getValue();
+            counts.append("  ").append(entry.getValue()).append(" x ").append(entry.getKey()).append("\n");
+        }
+        return "Done! I ran " + total + (total == 1 ? " command" : " commands") + " as one batch:\n"
+                + counts
+                + "Now you have " + size + " tasks in the list.";
+    }
+
     /**
      * Displays tasks that occur on a specific date.
      *
      * @param searchDate The date to search for tasks.
      * @param tasks The list of tasks to filter and display.
      */
-    public static String showTasksOnDate(LocalDate searchDate, ArrayList<Task> tasks) {
+    public static String showTasksOnDate(LocalDate searchDate, List<Task> tasks) {
         assert searchDate != null : "Search date should not be null";
         assert tasks != null : "Task list should not be null";
 
-        StringBuilder output = new StringBuilder();
-        output.append("Tasks on ").append(searchDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"))).append(":\n");
-
-        boolean isFound = false;
+        List<Task> matchingTasks = new ArrayList<>();
         for (Task task : tasks) {
             if (task instanceof Deadline deadline && deadline.isOnDate(searchDate.atStartOfDay())) {
-                output.append("  ").append(task).append("\n");
-                isFound = true;
+                matchingTasks.add(task);
             }
             if (task instanceof Event event && event.isOnDate(searchDate.atStartOfDay())) {
-                output.append("  ").append(task).append("\n");
-                isFound = true;
+                matchingTasks.add(task);
             }
         }
+        return showDatedTasks("Tasks on " + searchDate.format(DATE_FORMAT) + ":\n", matchingTasks,
+                "No tasks found on this date.");
+    }
 
-        if (!isFound) {
-            output.append("  No tasks found on this date.");
-        }
+    /**
+     * Displays tasks already known to occur on a specific date.
+     *
+     * @param searchDate The date that was searched.
+     * @param matchingTasks The tasks on that date.
+     */
+    public String showMatchingTasksOnDate(LocalDate searchDate, List<Task> matchingTasks) {
+        assert searchDate != null : "Search date should not be null";
+        assert matchingTasks != null : "Matching tasks list should not be null";
 
+        return showDatedTasks("Tasks on " + searchDate.format(DATE_FORMAT) + ":\n", matchingTasks,
+                "No tasks found on this date.");
+    }
+
+    /**
+     * Displays tasks that occur within a date range.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @param matchingTasks The tasks within the range.
+     */
+    public String showTasksInRange(LocalDate from, LocalDate to, List<Task> matchingTasks) {
+        assert from != null && to != null : "Range dates should not be null";
+        assert matchingTasks != null : "Matching tasks list should not be null";
+
+        return showDatedTasks("Tasks from " + from.format(DATE_FORMAT) + " to " + to.format(DATE_FORMAT) + ":\n",
+                matchingTasks, "No tasks found in this range.");
+    }
+
+    private static String showDatedTasks(String heading, List<Task> matchingTasks, String emptyMessage) {
+        StringBuilder output = new StringBuilder(heading);
+        for (Task task : matchingTasks) {
+            output.append("  ").append(task).append("\n");
+        }
+        if (matchingTasks.isEmpty()) {
+            output.append("  ").append(emptyMessage);
+        }
         return output.toString().trim();
     }
 
@@ -141,29 +259,236 @@ public class UI {
      * @param matchingTasks The list of tasks that match the keyword.
      * @param keyword The keyword used for the search.
      */
-    public String showMatchingTasks(ArrayList<Task> matchingTasks, String keyword) {
+    public String showMatchingTasks(List<Task> matchingTasks, String keyword) {
         assert matchingTasks != null : "Matching tasks list should not be null";
-        assert keyword != null && !keyword.isBlank() : "Search keyword should not be null or empty";
 
-        StringBuilder output = new StringBuilder();
-        output.append("Here are the matching tasks for \"").append(keyword).append("\":\n");
+        return showMatchingTaskPage(matchingTasks, keyword, 1, matchingTasks.size(), null);
+    }
 
-        if (matchingTasks.isEmpty()) {
-            output.append("  No matching tasks found.");
-        } else {
-            for (int i = 0; i < matchingTasks.size(); i++) {
-                output.append((i + 1)).append(". ").append(matchingTasks.get(i)).append("\n");
-            }
+    /**
+     * Displays one page of the tasks that match the given keyword, numbered by their place among the matches.
+     *
+     * @param page The matching tasks on the page.
+     * @param keyword The keyword used for the search.
+     * @param firstNumber The place of the first task on the page among all the matches.
+     * @param totalMatches The number of matching tasks.
+     * @param nextCommand The command that shows the next page, or null if this is the last page.
+     */
+    public String showMatchingTaskPage(List<Task> page, String keyword, int firstNumber, int totalMatches,
+            String nextCommand) {
+        return Renderer.toText(out -> showMatchingTaskPage(out, page, keyword, firstNumber, totalMatches,
+                nextCommand));
+    }
+
+    /**
+     * Writes one page of the tasks that match the given keyword into the given destination.
+     *
+     * @param out Where to write the page.
+     * @param page The matching tasks on the page.
+     * @param keyword The keyword used for the search.
+     * @param firstNumber The place of the first task on the page among all the matches.
+     * @param totalMatches The number of matching tasks.
+     * @param nextCommand The command that shows the next page, or null if this is the last page.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void showMatchingTaskPage(Appendable out, List<Task> page, String keyword, int firstNumber,
+            int totalMatches, String nextCommand) throws IOException {
+        assert page != null : "Matching tasks page should not be null";
+        assert keyword != null && !keyword.isBlank() : "Search keyword should not be null or empty";
+
+        out.append("Here are the matching tasks for \"").append(keyword).append("\":");
+        if (totalMatches == 0) {
+            out.append("\n  No matching tasks found.");
+        }
+        for (int i = 0; i < page.size(); i++) {
+            appendNumbered(out, firstNumber + i, page.get(i));
         }
+        appendPageFooter(out, "matches", firstNumber, page.size(), totalMatches, nextCommand);
+    }
+
+    /**
+     * Displays each pair of events whose times overlap.
+     *
+     * @param conflicts The overlapping pairs, each holding the earlier event first.
+     */
+    public String showConflicts(List<Task[]> conflicts) {
+        assert conflicts != null : "Conflicts list should not be null";
 
+        if (conflicts.isEmpty()) {
+            return "No events overlap. Your schedule is clear!";
+        }
+        StringBuilder output = new StringBuilder("Here are the events that overlap:\n");
+        for (int i = 0; i < conflicts.size(); i++) {
+            output.append((i + 1)).append(". ").append(conflicts.get(i)[0]).append("\n")
+                    .append("   overlaps ").append(conflicts.get(i)[1]).append("\n");
+        }
         return output.toString().trim();
     }
 
-    public String showSortedTasks(ArrayList<Task> sortedTasks) {
+    public String showSortedTasks(List<Task> sortedTasks) {
         StringBuilder response = new StringBuilder("Tasks sorted successfully:\n");
-        for (int i = 0; i < sortedTasks.size(); i++) {
-            response.append((i + 1)).append(". ").append(sortedTasks.get(i)).append("\n");
+        int taskNumber = 1;
+        for (Task task : sortedTasks) {
+            response.append(taskNumber++).append(". ").append(task).append("\n");
         }
         return response.toString().trim();
     }
+
+    /**
+     * Writes one page of the tasks that match a list filter into the given destination, each with its number
+     * in the task list, followed by which matches are shown and how to see more.
+     *
+     * @param out Where to write the tasks.
+     * @param filter The filter words, as entered.
+     * @param page The matching tasks on the page, in list order.
+     * @param taskNumbers The 1-based list number of each task.
+     * @param firstMatch The 1-based rank of the first task on the page among all the matches.
+     * @param totalMatches The number of matching tasks.
+     * @param nextCommand The command that shows the next page, or null if this is the last.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void showFilteredTaskPage(Appendable out, String filter, List<Task> page, List<Integer> taskNumbers,
+            int firstMatch, int totalMatches, String nextCommand) throws IOException {
+        showNumberedTasks(out, "Here are your tasks filtered by \"" + filter + "\":", page, taskNumbers,
+                "No matching tasks found.");
+        appendPageFooter(out, "matches", firstMatch, page.size(), totalMatches, nextCommand);
+    }
+
+    /**
+     * Displays the undone deadlines and events coming up next, soonest first.
+     *
+     * @param upcomingTasks The upcoming tasks, in time order.
+     * @param taskNumbers The 1-based list number of each task.
+     */
+    public String showUpcomingTasks(List<Task> upcomingTasks, List<Integer> taskNumbers) {
+        return Renderer.toText(out -> showNumberedTasks(out, "Here is what's coming up next:", upcomingTasks,
+                taskNumbers, "Nothing coming up. Enjoy the free time!"));
+    }
+
+    /**
+     * Displays the undone deadlines that are past their due time, earliest first.
+     *
+     * @param overdueTasks The overdue deadlines, in due order.
+     * @param taskNumbers The 1-based list number of each task.
+     */
+    public String showOverdueTasks(List<Task> overdueTasks, List<Integer> taskNumbers) {
+        return Renderer.toText(out -> showNumberedTasks(out, "These deadlines are overdue:", overdueTasks,
+                taskNumbers, "No overdue deadlines. Great job!"));
+    }
+
+    /**
+     * Displays the tasks matching a query, in list order.
+     *
+     * @param matchingTasks The matching tasks.
+     * @param taskNumbers The 1-based list number of each task.
+     */
+    public String showQueryResults(List<Task> matchingTasks, List<Integer> taskNumbers) {
+        return Renderer.toText(out -> showQueryResults(out, matchingTasks, taskNumbers));
+    }
+
+    /**
+     * Writes the tasks matching a query into the given destination.
+     *
+     * @param out Where to write the tasks.
+     * @param matchingTasks The matching tasks.
+     * @param taskNumbers The 1-based list number of each task.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void showQueryResults(Appendable out, List<Task> matchingTasks, List<Integer> taskNumbers)
+            throws IOException {
+        showNumberedTasks(out, "Here are the tasks matching your query:", matchingTasks, taskNumbers,
+                "No tasks match your query.");
+    }
+
+    /**
+     * Displays how a query would be run.
+     *
+     * @param explanation The steps of the plan and its estimated cost.
+     */
+    public String showQueryPlan(String explanation) {
+        return "Here is how I would run your query:\n" + explanation;
+    }
+
+    private static void showNumberedTasks(Appendable out, String heading, List<Task> tasks,
+            List<Integer> taskNumbers, String emptyMessage) throws IOException {
+        assert tasks.size() == taskNumbers.size() : "Every listed task should have a task number";
+
+        out.append(heading);
+        if (tasks.isEmpty()) {
+            out.append("\n  ").append(emptyMessage);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            appendNumbered(out, taskNumbers.get(i), tasks.get(i));
+        }
+    }
+
+    /**
+     * Displays tasks in sorted order, each with its number in the task list.
+     *
+     * @param sortedTasks The tasks in sorted order.
+     * @param taskNumbers The 1-based list number of each task.
+     */
+    public String showSortedTasks(List<Task> sortedTasks, List<Integer> taskNumbers) {
+        return showSortedTaskPage(sortedTasks, taskNumbers, 1, sortedTasks.size(), null);
+    }
+
+    /**
+     * Displays one page of the tasks in sorted order, each with its number in the task list.
+     *
+     * @param sortedTasks The tasks on the page, in sorted order.
+     * @param taskNumbers The 1-based list number of each task.
+     * @param firstRank The place of the first task on the page in the sorted order.
+     * @param totalTasks The number of tasks in the whole list.
+     * @param nextCommand The command that shows the next page, or null if this is the last page.
+     */
+    public String showSortedTaskPage(List<Task> sortedTasks, List<Integer> taskNumbers, int firstRank,
+            int totalTasks, String nextCommand) {
+        return Renderer.toText(out -> showSortedTaskPage(out, sortedTasks, taskNumbers, firstRank, totalTasks,
+                nextCommand));
+    }
+
+    /**
+     * Writes one page of the tasks in sorted order into the given destination.
+     *
+     * @param out Where to write the page.
+     * @param sortedTasks The tasks on the page, in sorted order.
+     * @param taskNumbers The 1-based list number of each task.
+     * @param firstRank The place of the first task on the page in the sorted order.
+     * @param totalTasks The number of tasks in the whole list.
+     * @param nextCommand The command that shows the next page, or null if this is the last page.
+     * @throws IOException If the destination cannot be written to.
+     */
+    public void showSortedTaskPage(Appendable out, List<Task> sortedTasks, List<Integer> taskNumbers,
+            int firstRank, int totalTasks, String nextCommand) throws IOException {
+        assert sortedTasks.size() == taskNumbers.size() : "Every sorted task should have a task number";
+
+        out.append("Tasks sorted successfully:");
+        for (int i = 0; i < sortedTasks.size(); i++) {
+            appendNumbered(out, taskNumbers.get(i), sortedTasks.get(i));
+        }
+        appendPageFooter(out, "tasks", firstRank, sortedTasks.size(), totalTasks, nextCommand);
+    }
+
+    /**
+     * Writes a task on a new line after its number.
+     */
+    private static void appendNumbered(Appendable out, int taskNumber, Task task) throws IOException {
+        out.append('\n').append(Integer.toString(taskNumber)).append(". ").append(task.toString());
+    }
+
+    /**
+     * Writes a line giving the range of items on a page and the total, unless the page holds every item.
+     */
+    private static void appendPageFooter(Appendable out, String items, int first, int shown, int total,
+            String nextCommand) throws IOException {
+        if (shown == total) {
+            return;
+        }
+        out.append("\nShowing ").append(items).append(" ").append(Integer.toString(first)).append("-")
+                .append(Integer.toString(first + shown - 1)).append(" of ").append(Integer.toString(total))
+                .append(".");
+        if (nextCommand != null) {
+            out.append(" Type '").append(nextCommand).append("' for more.");
+        }
+    }
 }
@@ -0,0 +1,85 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DateIndexTest {
+
+    private DateIndex index;
+    private Task conference;
+    private Task rent;
+
+    @BeforeEach
+    void setUp() {
+        index = new DateIndex();
+        conference = new Event("Conference", LocalDateTime.of(2024, 3, 4, 9, 0), LocalDateTime.of(2024, 3, 6, 17, 0));
+        Task[] tasks = {
+            new Todo("Read book"),
+            new Deadline("Submit report", LocalDateTime.of(2024, 3, 1, 18, 0)),
+            conference,
+            new Deadline("Pay rent", LocalDateTime.of(2024, 3, 6, 12, 0)),
+        };
+        rent = tasks[3];
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].setId(i + 1);
+            index.add(tasks[i]);
+        }
+    }
+
+    @Test
+    void testFindOn_usesDueDateAndSkipsEvents() {
+        assertArrayEquals(new int[] {2}, index.findOn(LocalDate.of(2024, 3, 1)).toArray());
+        assertArrayEquals(new int[] {}, index.findOn(LocalDate.of(2024, 3, 4)).toArray());
+        assertArrayEquals(new int[] {4}, index.findOn(LocalDate.of(2024, 3, 6)).toArray());
+        assertArrayEquals(new int[] {}, index.findOn(LocalDate.of(2024, 3, 2)).toArray());
+    }
+
+    @Test
+    void testFindBetween_inclusiveWithoutDuplicates() {
+        assertArrayEquals(new int[] {2, 4},
+                index.findBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31)).toArray());
+        assertArrayEquals(new int[] {4},
+                index.findBetween(LocalDate.of(2024, 3, 4), LocalDate.of(2024, 3, 6)).toArray());
+        assertArrayEquals(new int[] {},
+                index.findBetween(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 3)).toArray());
+    }
+
+    @Test
+    void testRemove_dropsEmptyDates() {
+        index.remove(conference);
+        assertEquals(2, index.getDateCount());
+        index.remove(rent);
+        assertEquals(1, index.getDateCount());
+        assertArrayEquals(new int[] {}, index.findOn(LocalDate.of(2024, 3, 6)).toArray());
+    }
+
+    @Test
+    void testRemove_skipsRemovedDeadlinesBeforeTheyArePurged() {
+        for (int id = 5; id < 25; id++) {
+            Task task = new Deadline("Daily report " + id, LocalDateTime.of(2024, 3, 1, 9, id));
+            task.setId(id);
+            index.add(task);
+        }
+        Task removed = new Deadline("Daily report 12", LocalDateTime.of(2024, 3, 1, 9, 12));
+        removed.setId(12);
+
+        index.remove(removed);
+        index.remove(removed);
+        assertEquals(20, index.findOn(LocalDate.of(2024, 3, 1)).size());
+        assertEquals(21, index.findBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 6)).size());
+        assertTrue(index.countBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1)) >= 20);
+        assertEquals(2, index.getDateCount());
+        assertEquals(20, index.countBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 1)));
+    }
+}
@@ -0,0 +1,63 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import nimbus.index.FilterIndex.Filter;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FilterIndexTest {
+
+    private FilterIndex index;
+    private Task report;
+
+    @BeforeEach
+    void setUp() {
+        index = new FilterIndex();
+        report = new Deadline("Submit report", LocalDateTime.of(2024, 3, 1, 18, 0));
+        Task[] tasks = {
+            new Todo("Read book"),
+            report,
+            new Event("Conference", LocalDateTime.of(2024, 3, 4, 9, 0), LocalDateTime.of(2024, 3, 6, 17, 0)),
+            new Deadline("Pay rent", LocalDateTime.of(2024, 3, 6, 12, 0)),
+        };
+        tasks[3].markAsDone();
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].setId(i + 1);
+            index.add(tasks[i]);
+        }
+    }
+
+    @Test
+    void testFind_intersectsFilters() {
+        assertArrayEquals(new int[] {2, 4}, index.find(List.of(Filter.DEADLINES)).toArray());
+        assertArrayEquals(new int[] {2}, index.find(List.of(Filter.PENDING, Filter.DEADLINES)).toArray());
+        assertArrayEquals(new int[] {}, index.find(List.of(Filter.DONE, Filter.EVENTS)).toArray());
+    }
+
+    @Test
+    void testStatusChanged_movesTaskBetweenStatuses() {
+        report.markAsDone();
+        index.statusChanged(report);
+        assertArrayEquals(new int[] {2, 4}, index.find(List.of(Filter.DONE)).toArray());
+
+        index.remove(report);
+        assertArrayEquals(new int[] {4}, index.find(List.of(Filter.DONE, Filter.DEADLINES)).toArray());
+    }
+
+    @Test
+    void testParse_acceptsSingularAndAnyCase() {
+        assertEquals(Filter.DEADLINES, Filter.parse("Deadline"));
+        assertEquals(Filter.PENDING, Filter.parse("pending"));
+        assertNull(Filter.parse("someday"));
+    }
+}
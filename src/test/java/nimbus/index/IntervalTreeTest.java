@@ -0,0 +1,105 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTest {
+
+    private IntervalTree tree;
+    private Task lunch;
+
+    @BeforeEach
+    void setUp() {
+        tree = new IntervalTree();
+        lunch = new Event("Lunch", LocalDateTime.of(2024, 3, 5, 12, 0), LocalDateTime.of(2024, 3, 5, 13, 0));
+        Task[] tasks = {
+            new Event("Conference", LocalDateTime.of(2024, 3, 4, 9, 0), LocalDateTime.of(2024, 3, 6, 17, 0)),
+            lunch,
+            new Event("Meeting", LocalDateTime.of(2024, 3, 5, 13, 0), LocalDateTime.of(2024, 3, 5, 14, 0)),
+            new Todo("Read book"),
+            new Deadline("Pay rent", LocalDateTime.of(2024, 3, 5, 12, 30)),
+            new Event("Dinner", LocalDateTime.of(2024, 3, 7, 19, 0), LocalDateTime.of(2024, 3, 7, 19, 0)),
+        };
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].setId(i + 1);
+            tree.add(tasks[i]);
+        }
+    }
+
+    @Test
+    void testAdd_indexesEventsOnly() {
+        assertEquals(4, tree.size());
+    }
+
+    @Test
+    void testFindAt_endIsExclusive() {
+        assertArrayEquals(new int[] {1, 2}, tree.findAt(LocalDateTime.of(2024, 3, 5, 12, 30)).toArray());
+        assertArrayEquals(new int[] {1, 3}, tree.findAt(LocalDateTime.of(2024, 3, 5, 13, 0)).toArray());
+        assertArrayEquals(new int[] {6}, tree.findAt(LocalDateTime.of(2024, 3, 7, 19, 0)).toArray());
+        assertArrayEquals(new int[] {}, tree.findAt(LocalDateTime.of(2024, 3, 6, 17, 0)).toArray());
+    }
+
+    @Test
+    void testFindOverlapping_halfOpenRange() {
+        assertArrayEquals(new int[] {1, 2, 3}, tree.findOverlapping(LocalDateTime.of(2024, 3, 5, 0, 0),
+                LocalDateTime.of(2024, 3, 6, 0, 0)).toArray());
+        assertArrayEquals(new int[] {1}, tree.findOverlapping(LocalDateTime.of(2024, 3, 4, 0, 0),
+                LocalDateTime.of(2024, 3, 5, 12, 0)).toArray());
+        assertArrayEquals(new int[] {6}, tree.findOverlapping(LocalDateTime.of(2024, 3, 6, 17, 0),
+                LocalDateTime.of(2024, 3, 8, 0, 0)).toArray());
+    }
+
+    @Test
+    void testFindConflicts_backToBackEventsDoNotConflict() {
+        List<int[]> conflicts = tree.findConflicts();
+        assertEquals(2, conflicts.size());
+        assertArrayEquals(new int[] {1, 2}, conflicts.get(0));
+        assertArrayEquals(new int[] {1, 3}, conflicts.get(1));
+    }
+
+    @Test
+    void testRemove_dropsEvent() {
+        tree.remove(lunch);
+        assertEquals(3, tree.size());
+        assertArrayEquals(new int[] {1}, tree.findAt(LocalDateTime.of(2024, 3, 5, 12, 30)).toArray());
+        assertEquals(1, tree.findConflicts().size());
+    }
+
+    @Test
+    void testFindOverlapping_matchesLinearScanOnManyEvents() {
+        IntervalTree large = new IntervalTree();
+        List<long[]> ranges = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int id = 1; id <= 2000; id++) {
+            long start = (id * 7919L) % 10000;
+            long length = (id * 104729L) % 300;
+            ranges.add(new long[] {start, Math.max(start + length, start + 1)});
+            Task event = new Event("Event " + id, base.plusMinutes(start), base.plusMinutes(start + length));
+            event.setId(id);
+            large.add(event);
+        }
+
+        for (long from = 0; from < 10000; from += 997) {
+            long to = from + 50;
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                if (ranges.get(i)[0] < to && ranges.get(i)[1] > from) {
+                    expected.add(i + 1);
+                }
+            }
+            int[] actual = large.findOverlapping(base.plusMinutes(from), base.plusMinutes(to)).toArray();
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual);
+        }
+    }
+}
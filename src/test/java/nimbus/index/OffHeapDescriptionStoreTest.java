@@ -0,0 +1,65 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapDescriptionStoreTest {
+
+    @Test
+    void testPutAndGet_latin1AndUtf16() {
+        OffHeapDescriptionStore store = new OffHeapDescriptionStore(64);
+        store.put(1, "Café au lait");
+        store.put(2, "Read 本 and write");
+        store.put(5, "");
+
+        assertEquals("Café au lait", store.get(1));
+        assertEquals("Read 本 and write", store.get(2));
+        assertEquals("", store.get(5));
+        assertNull(store.get(3));
+        assertNull(store.get(100));
+    }
+
+    @Test
+    void testContainsIgnoreCase_searchesBytesInPlace() {
+        OffHeapDescriptionStore store = new OffHeapDescriptionStore(64);
+        store.put(1, "Return library BOOK");
+        store.put(2, "CAFÉ 本 Meeting");
+
+        assertTrue(store.containsIgnoreCase(1, "book"));
+        assertTrue(store.containsIgnoreCase(1, "ry b"));
+        assertFalse(store.containsIgnoreCase(1, "books"));
+        assertTrue(store.containsIgnoreCase(2, "café 本 m"));
+        assertFalse(store.containsIgnoreCase(3, "book"));
+    }
+
+    @Test
+    void testReplacements_compactIntoNewChunks() {
+        OffHeapDescriptionStore store = new OffHeapDescriptionStore(256);
+        for (int round = 0; round < 200; round++) {
+            for (int key = 0; key < 20; key++) {
+                store.put(key, "Task " + key + " in round " + round);
+            }
+        }
+        store.remove(7);
+
+        assertEquals("Task 3 in round 199", store.get(3));
+        assertNull(store.get(7));
+        assertTrue(store.getOffHeapBytes() <= 8 * 256);
+
+        store.clear();
+        assertNull(store.get(3));
+        assertEquals(0, store.getOffHeapBytes());
+    }
+
+    @Test
+    void testPut_longerThanChunk() {
+        OffHeapDescriptionStore store = new OffHeapDescriptionStore(16);
+        String description = "A description longer than one chunk";
+        store.put(1, description);
+        assertEquals(description, store.get(1));
+    }
+}
@@ -0,0 +1,47 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PackedDescriptionStoreTest {
+
+    @Test
+    void testPutGetAndRemove() {
+        PackedDescriptionStore store = new PackedDescriptionStore(4);
+        store.put(3, "Read book");
+        store.put(40, "Write report");
+        store.put(3, "Return book");
+        store.remove(40);
+
+        assertEquals("Return book", store.get(3));
+        assertNull(store.get(40));
+        assertNull(store.get(0));
+    }
+
+    @Test
+    void testContainsIgnoreCase_matchesStringSemantics() {
+        PackedDescriptionStore store = new PackedDescriptionStore();
+        store.put(1, "Return library BOOK");
+
+        assertTrue(store.containsIgnoreCase(1, "book"));
+        assertTrue(store.containsIgnoreCase(1, "return"));
+        assertFalse(store.containsIgnoreCase(1, "books"));
+        assertFalse(store.containsIgnoreCase(2, "book"));
+    }
+
+    @Test
+    void testReplacements_keepLatestDescriptions() {
+        PackedDescriptionStore store = new PackedDescriptionStore();
+        for (int round = 0; round < 300; round++) {
+            for (int key = 0; key < 50; key++) {
+                store.put(key, "Task " + key + " in round " + round);
+            }
+        }
+        assertEquals("Task 0 in round 299", store.get(0));
+        assertEquals("Task 49 in round 299", store.get(49));
+    }
+}
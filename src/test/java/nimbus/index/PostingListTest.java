@@ -0,0 +1,75 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+class PostingListTest {
+
+    private static PostingList of(int... ids) {
+        PostingList list = new PostingList();
+        for (int id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    @Test
+    void testAdd_keepsSortedWithoutDuplicates() {
+        PostingList list = of(5, 1, 9, 5, 3);
+        assertArrayEquals(new int[] {1, 3, 5, 9}, list.toArray());
+
+        list.remove(3);
+        list.remove(4);
+        assertArrayEquals(new int[] {1, 5, 9}, list.toArray());
+        assertTrue(list.contains(9));
+        assertFalse(list.contains(3));
+    }
+
+    @Test
+    void testIntersect_mergeAndSearchAgree() {
+        PostingList small = of(3, 40, 77);
+        PostingList large = new PostingList();
+        for (int id = 1; id <= 100; id += 2) {
+            large.add(id);
+        }
+        assertArrayEquals(new int[] {3, 77}, PostingList.intersect(small, large).toArray());
+        assertArrayEquals(new int[] {3, 77}, PostingList.intersect(large, small).toArray());
+        assertArrayEquals(new int[] {2, 4}, PostingList.intersect(of(1, 2, 4, 6), of(2, 3, 4, 5)).toArray());
+    }
+
+    @Test
+    void testIndexAfter_findsFirstLargerId() {
+        PostingList list = of(3, 7, 9);
+        assertEquals(0, list.indexAfter(0));
+        assertEquals(1, list.indexAfter(3));
+        assertEquals(2, list.indexAfter(8));
+        assertEquals(3, list.indexAfter(9));
+    }
+
+    @Test
+    void testUnion_mergesInOrder() {
+        assertArrayEquals(new int[] {1, 2, 3, 4, 6}, PostingList.union(of(1, 4, 6), of(2, 3, 4)).toArray());
+        assertArrayEquals(new int[] {7}, PostingList.union(new PostingList(), of(7)).toArray());
+    }
+
+    @Test
+    void testRemoveAll_keepsTheRestInOrder() {
+        PostingList list = of(1, 3, 5, 7, 9, 11);
+        BitSet removedIds = new BitSet();
+        removedIds.set(1);
+        removedIds.set(5);
+        removedIds.set(6);
+        removedIds.set(11);
+
+        list.removeAll(removedIds);
+        assertArrayEquals(new int[] {3, 7, 9}, list.toArray());
+        list.add(12);
+        assertArrayEquals(new int[] {3, 7, 9, 12}, list.toArray());
+    }
+}
@@ -0,0 +1,89 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class RoaringBitmapTest {
+
+    private static int[] toArray(TreeSet<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    void testAddAndRemove_matchSortedSetAcrossContainerKinds() {
+        Random random = new Random(3);
+        RoaringBitmap bitmap = new RoaringBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 30_000; i++) {
+            int value = random.nextInt(200_000);
+            bitmap.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 25_000; i++) {
+            int value = random.nextInt(200_000);
+            bitmap.remove(value);
+            expected.remove(value);
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertArrayEquals(toArray(expected), bitmap.toArray());
+        assertEquals(expected.contains(1234), bitmap.contains(1234));
+    }
+
+    @Test
+    void testAnd_denseAndSparseGroups() {
+        RoaringBitmap evens = new RoaringBitmap();
+        RoaringBitmap sparse = new RoaringBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int value = 0; value < 150_000; value += 2) {
+            evens.add(value);
+        }
+        for (int value = 0; value < 150_000; value += 7) {
+            sparse.add(value);
+            if (value % 2 == 0) {
+                expected.add(value);
+            }
+        }
+
+        assertArrayEquals(toArray(expected), RoaringBitmap.and(evens, sparse).toArray());
+        assertArrayEquals(toArray(expected), RoaringBitmap.and(sparse, evens).toArray());
+        assertEquals(75_000, RoaringBitmap.and(evens, evens).cardinality());
+    }
+
+    @Test
+    void testToArrayRange_matchesSliceOfAllValues() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int value = 0; value < 200_000; value += 3) {
+            bitmap.add(value);
+        }
+        bitmap.add(500_000);
+        int[] all = bitmap.toArray();
+
+        for (int from : new int[] {0, 10, 21_845, 21_846, 43_690, 66_666, 66_667, 70_000}) {
+            int end = Math.min(all.length, from + 50);
+            assertArrayEquals(Arrays.copyOfRange(all, Math.min(from, all.length), end), bitmap.toArray(from, 50));
+        }
+        assertArrayEquals(Arrays.copyOfRange(all, 21_800, 21_900), bitmap.toArray(21_800, 100));
+        assertArrayEquals(new int[] {}, bitmap.toArray(5, 0));
+    }
+
+    @Test
+    void testRemove_lastValueDropsGroup() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        bitmap.add(70_000);
+        bitmap.add(3);
+        bitmap.remove(70_000);
+
+        assertFalse(bitmap.contains(70_000));
+        assertTrue(bitmap.contains(3));
+        assertArrayEquals(new int[] {3}, bitmap.toArray());
+    }
+}
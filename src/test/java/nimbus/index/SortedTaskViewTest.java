@@ -0,0 +1,64 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SortedTaskViewTest {
+
+    private SortedTaskView view;
+    private Task rent;
+
+    @BeforeEach
+    void setUp() {
+        view = new SortedTaskView();
+        Task todo = new Todo("Read book");
+        todo.setCreatedAt(LocalDateTime.of(2024, 3, 2, 8, 0));
+        rent = new Deadline("Pay rent", LocalDateTime.of(2024, 3, 1, 12, 0));
+        Task[] tasks = {
+            todo,
+            new Event("Long meeting", LocalDateTime.of(2024, 3, 1, 9, 0), LocalDateTime.of(2024, 3, 1, 17, 0)),
+            rent,
+            new Event("Short meeting", LocalDateTime.of(2024, 3, 1, 9, 0), LocalDateTime.of(2024, 3, 1, 10, 0)),
+            new Deadline("Submit report", LocalDateTime.of(2024, 3, 1, 12, 0)),
+        };
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].setId(i + 1);
+            view.add(tasks[i]);
+        }
+    }
+
+    private List<Integer> ids() {
+        List<Integer> ids = new ArrayList<>();
+        PrimitiveIterator.OfInt iterator = view.idIterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.nextInt());
+        }
+        return ids;
+    }
+
+    @Test
+    void testGetTasks_chronologicalWithTiesBrokenByEndThenId() {
+        assertEquals(List.of(4, 2, 3, 5, 1), ids());
+    }
+
+    @Test
+    void testRemove_keepsRemainingOrder() {
+        view.remove(rent);
+        assertEquals(List.of(4, 2, 5, 1), ids());
+        assertEquals(4, view.size());
+
+        view.clear();
+        assertEquals(List.of(), ids());
+    }
+}
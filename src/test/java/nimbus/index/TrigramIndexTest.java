@@ -0,0 +1,152 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        String[] descriptions = {"Read book", "Return library BOOK", "Write report", "Read report, then notebook"};
+        for (int i = 0; i < descriptions.length; i++) {
+            Task task = new Todo(descriptions[i]);
+            task.setId(i + 1);
+            index.add(task);
+        }
+    }
+
+    @Test
+    void testTrigrams_distinctAndCaseInsensitive() {
+        assertEquals(1, TrigramIndex.trigrams("AaAaA").length);
+        assertArrayEquals(TrigramIndex.trigrams("book"), TrigramIndex.trigrams("BOOK"));
+        assertEquals(0, TrigramIndex.trigrams("ab").length);
+    }
+
+    @Test
+    void testFind_keepsSubstringSemantics() {
+        assertArrayEquals(new int[] {1, 2, 4}, index.find("ook").toArray());
+        assertArrayEquals(new int[] {1, 2, 4}, index.find("BOOK").toArray());
+        assertArrayEquals(new int[] {1, 4}, index.find("ad").toArray());
+        assertArrayEquals(new int[] {4}, index.find("book /and report /or missing").toArray());
+        assertArrayEquals(new int[] {4}, index.find("notebook /and report").toArray());
+    }
+
+    @Test
+    void testFind_keywordIsOnePhrase() {
+        Task task = new Todo("Book to read");
+        task.setId(5);
+        index.add(task);
+
+        assertArrayEquals(new int[] {1}, index.find("  READ book ").toArray());
+        assertArrayEquals(new int[] {4}, index.find("report, then").toArray());
+        assertArrayEquals(new int[] {}, index.find("read missing").toArray());
+    }
+
+    @Test
+    void testFind_andAndOrNeedExplicitSyntax() {
+        Task task = new Todo("Call Bob OR Alice");
+        task.setId(5);
+        index.add(task);
+
+        assertArrayEquals(new int[] {1, 4}, index.find("READ /and book").toArray());
+        assertArrayEquals(new int[] {2, 3, 4}, index.find("library /or report").toArray());
+        assertArrayEquals(new int[] {3, 4, 5}, index.find("OR").toArray());
+        assertArrayEquals(new int[] {5}, index.find("bob or alice").toArray());
+        assertArrayEquals(new int[] {}, index.find("library or report").toArray());
+    }
+
+    @Test
+    void testFind_ignoresCaseWhateverTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            Task task = new Todo("Fix LINT errors");
+            task.setId(5);
+            index.add(task);
+            assertArrayEquals(new int[] {5}, index.find("LINT").toArray());
+            assertArrayEquals(new int[] {5}, index.find("lint").toArray());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void testFind_verifiesCandidatesThatShareTrigrams() {
+        Task task = new Todo("abcxbcd");
+        task.setId(5);
+        index.add(task);
+        assertArrayEquals(new int[] {}, index.find("abcd").toArray());
+        assertTrue(TrigramIndex.containsIgnoreCase("abcxbcd", "xbc"));
+        assertFalse(TrigramIndex.containsIgnoreCase("abcxbcd", "abcd"));
+    }
+
+    @Test
+    void testRemove_dropsPostingsAndEmptyTrigrams() {
+        Task task = new Todo("Return library BOOK");
+        task.setId(2);
+        int trigramCount = index.getTrigramCount();
+
+        index.remove(task);
+        assertArrayEquals(new int[] {1, 4}, index.find("book").toArray());
+        assertArrayEquals(new int[] {}, index.find("library").toArray());
+        assertTrue(index.getTrigramCount() < trigramCount);
+    }
+
+    @Test
+    void testRemove_skipsRemovedTasksBeforeTheyArePurged() {
+        Task removed = null;
+        for (int id = 5; id < 25; id++) {
+            Task task = new Todo("Shared chore " + id);
+            task.setId(id);
+            index.add(task);
+            removed = id == 12 ? task : removed;
+        }
+
+        index.remove(removed);
+        assertEquals(19, index.find("shared").size());
+        assertEquals(19, index.find("sha").size());
+        assertEquals(19, index.find("sh").size());
+        assertArrayEquals(new int[] {}, index.find("chore 12").toArray());
+        assertTrue(index.estimate("shared") >= 19);
+
+        index.remove(removed);
+        assertEquals(19, index.find("shared").size());
+    }
+
+    @Test
+    void testRemoveAll_matchesRemovingOneByOne() {
+        Task first = new Todo("Read book");
+        first.setId(1);
+        Task second = new Todo("Return library BOOK");
+        second.setId(2);
+        Task unknown = new Todo("Not indexed");
+        unknown.setId(9);
+
+        index.removeAll(List.of(first, second, unknown));
+        assertArrayEquals(new int[] {4}, index.find("book").toArray());
+        assertArrayEquals(new int[] {3, 4}, index.find("re").toArray());
+        assertArrayEquals(new int[] {}, index.find("library").toArray());
+
+        TrigramIndex oneByOne = new TrigramIndex();
+        String[] descriptions = {"Write report", "Read report, then notebook"};
+        for (int i = 0; i < descriptions.length; i++) {
+            Task task = new Todo(descriptions[i]);
+            task.setId(i + 3);
+            oneByOne.add(task);
+        }
+        assertEquals(oneByOne.getTrigramCount(), index.getTrigramCount());
+    }
+}
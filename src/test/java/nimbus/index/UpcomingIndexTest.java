@@ -0,0 +1,100 @@
+package nimbus.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UpcomingIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 5, 12, 0);
+
+    private UpcomingIndex index;
+    private Task[] tasks;
+
+    @BeforeEach
+    void setUp() {
+        index = new UpcomingIndex();
+        tasks = new Task[] {
+            new Todo("Read book"),
+            new Deadline("Submit report", LocalDateTime.of(2024, 3, 1, 18, 0)),
+            new Event("Conference", LocalDateTime.of(2024, 3, 6, 9, 0), LocalDateTime.of(2024, 3, 6, 17, 0)),
+            new Deadline("Pay rent", LocalDateTime.of(2024, 3, 6, 12, 0)),
+            new Deadline("File taxes", LocalDateTime.of(2024, 3, 5, 11, 0)),
+            new Event("Lunch", LocalDateTime.of(2024, 3, 5, 12, 0), LocalDateTime.of(2024, 3, 5, 13, 0)),
+        };
+        for (int i = 0; i < tasks.length; i++) {
+            tasks[i].setId(i + 1);
+            index.add(tasks[i]);
+        }
+    }
+
+    @Test
+    void testFindNext_mergesDeadlinesAndEventsInTimeOrder() {
+        assertArrayEquals(new int[] {6, 3, 4}, index.findNext(NOW, 10));
+        assertArrayEquals(new int[] {6, 3}, index.findNext(NOW, 2));
+    }
+
+    @Test
+    void testFindOverdue_onlyUndoneDeadlinesBeforeNow() {
+        assertArrayEquals(new int[] {2, 5}, index.findOverdue(NOW));
+    }
+
+    @Test
+    void testStatusChanged_skipsDoneTasksAndRestoresUnmarked() {
+        tasks[1].markAsDone();
+        index.statusChanged(tasks[1]);
+        tasks[2].markAsDone();
+        index.statusChanged(tasks[2]);
+        assertArrayEquals(new int[] {5}, index.findOverdue(NOW));
+        assertArrayEquals(new int[] {6, 4}, index.findNext(NOW, 10));
+
+        tasks[1].unmark();
+        index.statusChanged(tasks[1]);
+        tasks[2].unmark();
+        index.statusChanged(tasks[2]);
+        assertArrayEquals(new int[] {2, 5}, index.findOverdue(NOW));
+        assertArrayEquals(new int[] {6, 3, 4}, index.findNext(NOW, 10));
+    }
+
+    @Test
+    void testRemove_dropsTask() {
+        index.remove(tasks[5]);
+        index.remove(tasks[1]);
+        assertArrayEquals(new int[] {3, 4}, index.findNext(NOW, 10));
+        assertArrayEquals(new int[] {5}, index.findOverdue(NOW));
+    }
+
+    @Test
+    void testStatusChanged_doneTasksNotKept() {
+        assertEquals(5, index.getEntryCount());
+        tasks[1].markAsDone();
+        index.statusChanged(tasks[1]);
+        tasks[5].markAsDone();
+        index.statusChanged(tasks[5]);
+        assertEquals(3, index.getEntryCount());
+
+        tasks[1].unmark();
+        index.statusChanged(tasks[1]);
+        assertEquals(4, index.getEntryCount());
+    }
+
+    @Test
+    void testFindNext_clockGoingBackFindsEventsAgain() {
+        Task breakfast = new Event("Breakfast", LocalDateTime.of(2024, 3, 5, 8, 0), LocalDateTime.of(2024, 3, 5, 9, 0));
+        breakfast.setId(7);
+        index.add(breakfast);
+
+        assertArrayEquals(new int[] {3, 4}, index.findNext(NOW.plusHours(1), 10));
+        assertArrayEquals(new int[] {6, 3, 4}, index.findNext(NOW, 10));
+        assertArrayEquals(new int[] {7, 5, 6}, index.findNext(NOW.minusHours(5), 3));
+        assertEquals(6, index.getEntryCount());
+    }
+}
@@ -0,0 +1,58 @@
+package nimbus.parser;
+
+import nimbus.parser.CommandLine.Marker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandLineTest {
+
+    @Test
+    void testKeywordAndArguments() {
+        CommandLine line = new CommandLine("todo  Read book ");
+        assertEquals(4, line.getKeywordEnd());
+        assertEquals(5, line.getArgumentStart());
+        assertEquals("Read book", line.getArguments());
+        assertEquals("Read book", line.getDescription());
+    }
+
+    @Test
+    void testKeywordOnly() {
+        CommandLine line = new CommandLine("list");
+        assertEquals(4, line.getKeywordEnd());
+        assertEquals("", line.getArguments());
+        assertEquals(4, line.getFirstArgumentEnd());
+    }
+
+    @Test
+    void testFirstArgument() {
+        CommandLine line = new CommandLine("mark 12 now");
+        assertEquals(5, line.getArgumentStart());
+        assertEquals(7, line.getFirstArgumentEnd());
+    }
+
+    @Test
+    void testMarkers_inAnyOrder() {
+        CommandLine line = new CommandLine("event Team meeting /to 2023-10-15 1800 /from 2023-10-15 1600");
+        assertEquals("Team meeting", line.getDescription());
+        assertEquals("2023-10-15 1600", line.getValue(Marker.FROM));
+        assertEquals("2023-10-15 1800", line.getValue(Marker.TO));
+        assertFalse(line.has(Marker.BY));
+        assertNull(line.getValue(Marker.BY));
+    }
+
+    @Test
+    void testMarkers_needSpacesAround() {
+        CommandLine line = new CommandLine("deadline Read a/by b /by");
+        assertFalse(line.has(Marker.BY));
+        assertEquals("Read a/by b /by", line.getDescription());
+
+        line = new CommandLine("deadline Submit /by 2023-12-01 1800");
+        assertTrue(line.has(Marker.BY));
+        assertEquals("Submit", line.getDescription());
+        assertEquals("2023-12-01 1800", line.getValue(Marker.BY));
+    }
+}
@@ -0,0 +1,70 @@
+package nimbus.parser;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.parser.Parser.Command;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandTrieTest {
+    private final CommandTrie trie = new CommandTrie(Command.values());
+
+    private Command find(String keyword) throws NimbusException {
+        return trie.find(keyword, 0, keyword.length());
+    }
+
+    @Test
+    void testFind_fullKeywordInAnyCase() throws NimbusException {
+        assertEquals(Command.DEADLINE, find("deadline"));
+        assertEquals(Command.FIND_DATE, find("FIND_DATE"));
+        assertEquals(Command.LIST, find("LiSt"));
+    }
+
+    @Test
+    void testFind_uniquePrefix() throws NimbusException {
+        assertEquals(Command.DEADLINE, find("dead"));
+        assertEquals(Command.LIST, find("li"));
+        assertEquals(Command.FIND_RANGE, find("find_r"));
+    }
+
+    @Test
+    void testFind_fullKeywordWinsOverLongerOnes() throws NimbusException {
+        assertEquals(Command.FIND, find("find"));
+    }
+
+    @Test
+    void testFind_unknown_returnsNull() throws NimbusException {
+        assertNull(find("deadlines"));
+        assertNull(find("x"));
+        assertNull(find(""));
+    }
+
+    @Test
+    void testFind_ambiguousPrefix() {
+        NimbusException exception = assertThrows(NimbusException.class, () -> find("de"));
+        assertEquals("Oops! 'de' could be deadline or delete. Please type more of the command.",
+                exception.getMessage());
+    }
+
+    @Test
+    void testFind_destructiveCommandsNeedFullKeyword() throws NimbusException {
+        for (String prefix : new String[] {"cl", "CLEA", "b", "by", "r", "ru"}) {
+            NimbusException exception = assertThrows(NimbusException.class, () -> find(prefix));
+            assertTrue(exception.getMessage().endsWith("' in full to run it."), exception.getMessage());
+        }
+        assertEquals("Oops! Please type 'clear' in full to run it.",
+                assertThrows(NimbusException.class, () -> find("cl")).getMessage());
+        assertEquals(Command.CLEAR, find("clear"));
+        assertEquals(Command.BYE, find("BYE"));
+        assertEquals(Command.RUN, find("run"));
+        assertEquals(Command.CONFLICTS, find("co"));
+    }
+
+    @Test
+    void testFind_withinText() throws NimbusException {
+        assertEquals(Command.TODO, trie.find("todo Read book", 0, 2));
+    }
+}
@@ -3,12 +3,17 @@ package nimbus.parser;
 import nimbus.exceptions.NimbusException;
 import nimbus.storage.Storage;
 import nimbus.tasklist.TaskList;
+import nimbus.tasks.Task;
 import nimbus.ui.UI;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,6 +42,12 @@ class ParserTest {
         assertEquals(Parser.Command.TODO, Parser.Command.parseCommand("todo Read book"));
     }
 
+    @Test
+    void testParseCommand_prefix() throws NimbusException {
+        assertEquals(Parser.Command.DEADLINE, Parser.Command.parseCommand("dead Submit /by 2023-12-01 1800"));
+        assertEquals(Parser.Command.LIST, Parser.Command.parseCommand("li"));
+    }
+
     @Test
     void testParseCommand_invalidCommand() {
         NimbusException exception = assertThrows(NimbusException.class, () -> {
@@ -52,4 +63,167 @@ class ParserTest {
         });
         assertEquals("Oops! It seems like you entered nothing.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCommand_declaresMutation() {
+        assertTrue(Parser.Command.TODO.isMutating());
+        assertTrue(Parser.Command.CLEAR.isMutating());
+        assertFalse(Parser.Command.LIST.isMutating());
+        assertFalse(Parser.Command.FIND.isMutating());
+    }
+
+    @Test
+    void testProcessCommand_readOnlyCommandsSkipWrites() throws NimbusException {
+        parser.processCommand("list");
+        parser.processCommand("find book");
+        assertEquals(0, parser.getPerformedWrites());
+        assertEquals(2, parser.getSkippedWrites());
+    }
+
+    @Test
+    void testProcessCommand_unchangedMarkSkipsWrite() throws NimbusException {
+        Storage tempStorage = new Storage("test_parser_tasks.txt");
+        Parser tempParser = new Parser(new TaskList(tempStorage, ui), ui, tempStorage);
+        try {
+            tempParser.processCommand("todo Read book");
+            tempParser.processCommand("mark 1");
+            tempParser.processCommand("mark 1");
+            tempParser.processCommand("clear");
+            tempParser.processCommand("clear");
+            assertEquals(3, tempParser.getPerformedWrites());
+            assertEquals(2, tempParser.getSkippedWrites());
+        } finally {
+            new File("test_parser_tasks.txt").delete();
+        }
+    }
+
+    @Test
+    void testProcessCommand_writesResponseIntoAppendable() throws NimbusException {
+        Storage tempStorage = new Storage("test_parser_tasks.txt");
+        Parser tempParser = new Parser(new TaskList(tempStorage, ui), ui, tempStorage);
+        try {
+            tempParser.processCommand("todo Read book");
+            tempParser.processCommand("todo Write essay");
+            StringWriter out = new StringWriter();
+            tempParser.processCommand("list", out);
+            assertEquals(tempParser.processCommand("list"), out.toString());
+            assertEquals("Here are the tasks in your list:\n1. [T][ ] Read book\n2. [T][ ] Write essay",
+                    out.toString());
+        } finally {
+            new File("test_parser_tasks.txt").delete();
+        }
+    }
+
+    @Test
+    void testProcessCommand_multiLineInputRunsAsOneBatch() throws NimbusException {
+        Storage tempStorage = new Storage("test_parser_tasks.txt");
+        TaskList tempTaskList = new TaskList(tempStorage, ui);
+        Parser tempParser = new Parser(tempTaskList, ui, tempStorage);
+        try {
+            String response = tempParser.processCommand("todo Read book\n\ntodo Write essay\n# done later\nmark 2");
+            assertEquals("Done! I ran 3 commands as one batch:\n  2 x todo\n  1 x mark\n"
+                    + "Now you have 2 tasks in the list.", response);
+            assertEquals(1, tempParser.getPerformedWrites());
+            assertEquals(2, new TaskList(new Storage("test_parser_tasks.txt"), ui).getTasks().size());
+        } finally {
+            new File("test_parser_tasks.txt").delete();
+        }
+    }
+
+    @Test
+    void testProcessBatch_failedLineUndoesTheWholeBatch() throws NimbusException {
+        Storage tempStorage = new Storage("test_parser_tasks.txt");
+        TaskList tempTaskList = new TaskList(tempStorage, ui);
+        Parser tempParser = new Parser(tempTaskList, ui, tempStorage);
+        try {
+            tempParser.processCommand("todo Read book");
+            NimbusException exception = assertThrows(NimbusException.class, () -> {
+                tempParser.processBatch(List.of("mark 1", "todo Write essay", "delete 9"),
+                        new StringWriter());
+            });
+            assertEquals("Oops! Line 3 of the batch failed, so nothing was changed:\n  delete 9\n"
+                    + "Oops! That task number doesn't exist. Please check your list.", exception.getMessage());
+            assertEquals(1, tempTaskList.getTasks().size());
+            assertFalse(tempTaskList.getTasks().get(0).isDone());
+            assertFalse(tempTaskList.isDirty());
+            assertEquals(1, tempParser.getPerformedWrites());
+
+            tempParser.processCommand("todo Write essay");
+            assertEquals("[T][ ] Write essay", tempTaskList.getTasks().get(1).toString());
+            assertEquals(2, tempTaskList.findTaskPosition(tempTaskList.getTasks().get(1).getId()) + 1);
+        } finally {
+            new File("test_parser_tasks.txt").delete();
+        }
+    }
+
+    @Test
+    void testProcessCommand_runFile() throws Exception {
+        Storage tempStorage = new Storage("test_parser_tasks.txt");
+        Parser tempParser = new Parser(new TaskList(tempStorage, ui), ui, tempStorage);
+        File batch = new File("test_parser_batch.txt");
+        try {
+            Files.writeString(batch.toPath(), "todo Read book\nrun test_parser_batch.txt\n");
+            NimbusException exception = assertThrows(NimbusException.class, () -> {
+                tempParser.processCommand("run test_parser_batch.txt");
+            });
+            assertTrue(exception.getMessage().startsWith("Oops! Line 2 of the batch failed"));
+            assertEquals(0, tempParser.getPerformedWrites());
+
+            Files.writeString(batch.toPath(), "todo Read book\ndead Submit report /by 2023-12-01 1800\n");
+            assertEquals("Done! I ran 2 commands as one batch:\n  1 x todo\n  1 x deadline\n"
+                    + "Now you have 2 tasks in the list.", tempParser.processCommand("run test_parser_batch.txt"));
+            assertEquals(1, tempParser.getPerformedWrites());
+        } finally {
+            batch.delete();
+            new File("test_parser_tasks.txt").delete();
+        }
+    }
+
+    @Test
+    void testProcessBatch_failedBatchIsNotJournaled() throws NimbusException {
+        Storage tempStorage = new Storage("test_parser_tasks.txt", true);
+        Parser tempParser = new Parser(new TaskList(tempStorage, ui), ui, tempStorage);
+        try {
+            tempParser.processCommand("todo Read book");
+            assertThrows(NimbusException.class, () -> {
+                tempParser.processCommand("delete 1\ntodo Write essay\nunknown");
+            });
+            tempParser.processCommand("todo Buy milk");
+            tempStorage.close();
+
+            Storage reopened = new Storage("test_parser_tasks.txt", true);
+            List<Task> tasks = reopened.loadTasks();
+            reopened.close();
+            assertEquals(2, tasks.size());
+            assertEquals("[T][ ] Read book", tasks.get(0).toString());
+            assertEquals("[T][ ] Buy milk", tasks.get(1).toString());
+        } finally {
+            new File("test_parser_tasks.txt").delete();
+            new File("test_parser_tasks.txt.journal").delete();
+        }
+    }
+
+    @Test
+    void testProcessCommand_bulkDeleteWritesOnceAndReplays() throws NimbusException {
+        Storage tempStorage = new Storage("test_parser_tasks.txt", true);
+        Parser tempParser = new Parser(new TaskList(tempStorage, ui), ui, tempStorage);
+        try {
+            tempParser.processCommand("todo A\ntodo B\ntodo C\ntodo D\ntodo E\ntodo F");
+            tempParser.processCommand("mark 2,6");
+            long writes = tempParser.getPerformedWrites();
+            tempParser.processCommand("delete 1,3-5");
+            assertEquals(writes + 1, tempParser.getPerformedWrites());
+            tempStorage.close();
+
+            Storage reopened = new Storage("test_parser_tasks.txt", true);
+            List<Task> tasks = reopened.loadTasks();
+            reopened.close();
+            assertEquals(2, tasks.size());
+            assertEquals("[T][X] B", tasks.get(0).toString());
+            assertEquals("[T][X] F", tasks.get(1).toString());
+        } finally {
+            new File("test_parser_tasks.txt").delete();
+            new File("test_parser_tasks.txt.journal").delete();
+        }
+    }
+}
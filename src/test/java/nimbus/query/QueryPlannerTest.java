@@ -0,0 +1,102 @@
+package nimbus.query;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.index.DateIndex;
+import nimbus.index.FilterIndex;
+import nimbus.index.IntervalTree;
+import nimbus.index.TrigramIndex;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryPlannerTest {
+
+    private final List<Task> tasks = new ArrayList<>();
+    private QueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new Todo("Read chapter " + i));
+        }
+        for (int i = 0; i < 10; i++) {
+            tasks.add(new Deadline("Pay bill " + i, LocalDateTime.of(2024, 1, 1 + i, 9, 0)));
+        }
+        tasks.add(new Deadline("Submit report", LocalDateTime.of(2024, 12, 1, 18, 0)));
+        tasks.add(new Event("Conference", LocalDateTime.of(2024, 3, 4, 9, 0), LocalDateTime.of(2024, 3, 6, 17, 0)));
+
+        TrigramIndex trigramIndex = new TrigramIndex();
+        DateIndex dateIndex = new DateIndex();
+        IntervalTree intervalTree = new IntervalTree();
+        FilterIndex filterIndex = new FilterIndex();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            task.setId(i + 1);
+            trigramIndex.add(task);
+            dateIndex.add(task);
+            intervalTree.add(task);
+            filterIndex.add(task);
+        }
+        planner = new QueryPlanner(trigramIndex, dateIndex, intervalTree, filterIndex);
+    }
+
+    @Test
+    void plan_drivesFromMostSelectiveIndex() throws NimbusException {
+        QueryPlan plan = planner.plan(Query.parse("type:deadline done:false text:report"), tasks.size());
+
+        assertFalse(plan.isScan());
+        assertEquals(1, plan.getEstimatedCost());
+        assertArrayEquals(new int[] {31}, plan.findCandidates().toArray());
+        assertTrue(plan.matches(tasks.get(30)));
+    }
+
+    @Test
+    void plan_checksRemainingConditionsOnCandidates() throws NimbusException {
+        QueryPlan plan = planner.plan(Query.parse("due<2024-01-04 text:bill"), tasks.size());
+
+        assertEquals(3, plan.getEstimatedCost());
+        assertArrayEquals(new int[] {21, 22, 23}, plan.findCandidates().toArray());
+        tasks.get(21).markAsDone();
+        assertTrue(plan.matches(tasks.get(21)));
+        assertFalse(plan.matches(new Deadline("Renew pass", LocalDateTime.of(2024, 1, 2, 9, 0))));
+    }
+
+    @Test
+    void plan_findsEventsOnDateWithIntervalTree() throws NimbusException {
+        QueryPlan plan = planner.plan(Query.parse("on:2024-03-05"), tasks.size());
+
+        assertArrayEquals(new int[] {32}, plan.findCandidates().toArray());
+    }
+
+    @Test
+    void plan_scansWhenNoIndexHelps() throws NimbusException {
+        QueryPlan plan = planner.plan(Query.parse("done:false"), tasks.size());
+
+        assertTrue(plan.isScan());
+        assertEquals(tasks.size(), plan.getEstimatedCost());
+        assertTrue(plan.matches(tasks.get(0)));
+    }
+
+    @Test
+    void explain_showsChosenPlanAlternativesAndCost() throws NimbusException {
+        QueryPlan plan = planner.plan(Query.parse("type:deadline text:report"), tasks.size());
+
+        assertEquals("Query: type:deadline text:report\n"
+                + "  1. Look up text:report in the keyword index (about 1 task)\n"
+                + "  2. Check type:deadline on each candidate\n"
+                + "  Not chosen: Look up type:deadline in the status and type bitmaps (about 11 tasks)\n"
+                + "Estimated cost: 1 of 32 tasks checked", plan.explain());
+    }
+}
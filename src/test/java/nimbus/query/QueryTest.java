@@ -0,0 +1,79 @@
+package nimbus.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.index.FilterIndex.Filter;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.Test;
+
+class QueryTest {
+
+    @Test
+    void parse_buildsOneConditionPerTerm() throws NimbusException {
+        Query query = Query.parse("type:Deadline done:false due<2025-01-01 text:Report");
+
+        assertEquals(List.of(
+                new Condition.Is(Filter.DEADLINES, "type:deadline"),
+                new Condition.Is(Filter.PENDING, "done:false"),
+                new Condition.Due(LocalDate.MIN, LocalDate.of(2024, 12, 31), "due<2025-01-01"),
+                new Condition.Text("report", "text:Report")), query.getConditions());
+        assertEquals("type:deadline done:false due<2025-01-01 text:Report", query.toString());
+    }
+
+    @Test
+    void parse_readsDueOperatorsAndBareWords() throws NimbusException {
+        LocalDate date = LocalDate.of(2025, 1, 1);
+
+        assertEquals(List.of(
+                new Condition.Due(date, LocalDate.MAX, "due>=2025-01-01"),
+                new Condition.Due(date.plusDays(1), LocalDate.MAX, "due>01/01/2025"),
+                new Condition.Due(date, date, "due:2025-01-01"),
+                new Condition.On(date, "on:2025-01-01"),
+                new Condition.Text("duel", "duel")),
+                Query.parse("due>=2025-01-01 due>01/01/2025 due:2025-01-01 on:2025-01-01 duel").getConditions());
+    }
+
+    @Test
+    void parse_rejectsUnknownTerms() {
+        for (String text : List.of("", "type:pending", "done:maybe", "due<tomorrow", "on:", "text:", "size:3")) {
+            NimbusException exception = assertThrows(NimbusException.class, () -> Query.parse(text));
+            assertTrue(exception.getMessage().startsWith("Oops!"));
+        }
+    }
+
+    @Test
+    void matches_requiresEveryCondition() throws NimbusException {
+        Task report = new Deadline("Submit REPORT", LocalDateTime.of(2024, 12, 1, 18, 0));
+        Task doneReport = new Deadline("Old report", LocalDateTime.of(2024, 11, 1, 18, 0));
+        doneReport.markAsDone();
+        Task todo = new Todo("Write report");
+        Query query = Query.parse("type:deadline done:false due<2025-01-01 text:report");
+
+        assertTrue(query.matches(report));
+        assertFalse(query.matches(doneReport));
+        assertFalse(query.matches(todo));
+    }
+
+    @Test
+    void onCondition_matchesEventsOverlappingTheDay() {
+        Condition on = new Condition.On(LocalDate.of(2024, 3, 5), "on:2024-03-05");
+
+        assertTrue(on.test(new Event("Trip", LocalDateTime.of(2024, 3, 4, 9, 0), LocalDateTime.of(2024, 3, 6, 9, 0))));
+        assertTrue(on.test(new Event("Call", LocalDateTime.of(2024, 3, 5, 0, 0), LocalDateTime.of(2024, 3, 5, 0, 0))));
+        assertFalse(on.test(new Event("Party", LocalDateTime.of(2024, 3, 4, 20, 0),
+                LocalDateTime.of(2024, 3, 5, 0, 0))));
+        assertTrue(on.test(new Deadline("Essay", LocalDateTime.of(2024, 3, 5, 23, 59))));
+        assertFalse(on.test(new Todo("Read book")));
+    }
+}
@@ -0,0 +1,73 @@
+package nimbus.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.exceptions.NimbusException;
+import org.junit.jupiter.api.Test;
+
+class AsyncWriterTest {
+
+    private final List<String> written = new ArrayList<>();
+
+    @Test
+    void testFlush_coalescesQueuedSaves() throws NimbusException {
+        AsyncWriter writer = new AsyncWriter(DurabilityPolicy.ON_SHUTDOWN, 0);
+        writer.submit(new Recorded("a", false));
+        writer.submit(new Recorded("b", false));
+        writer.submit(new Recorded("c", false));
+        assertEquals(0, written.size());
+
+        writer.flush();
+        assertEquals(List.of("abc"), written);
+    }
+
+    @Test
+    void testFlush_writesUnmergeableSavesInOrder() throws NimbusException {
+        AsyncWriter writer = new AsyncWriter(DurabilityPolicy.ON_SHUTDOWN, 0);
+        writer.submit(new Recorded("a", true));
+        writer.submit(new Recorded("b", false));
+        writer.close();
+        assertEquals(List.of("a", "b"), written);
+    }
+
+    @Test
+    void testFlush_failedSaveStaysQueued() throws NimbusException {
+        AsyncWriter writer = new AsyncWriter(DurabilityPolicy.ON_SHUTDOWN, 0);
+        Recorded failing = new Recorded("a", false);
+        failing.isFailing = true;
+        writer.submit(failing);
+
+        assertThrows(NimbusException.class, writer::flush);
+        failing.isFailing = false;
+        writer.flush();
+        assertEquals(List.of("a"), written);
+    }
+
+    private class Recorded implements PendingWrite {
+        private final String label;
+        private final boolean isBarrier;
+        private boolean isFailing;
+
+        Recorded(String label, boolean isBarrier) {
+            this.label = label;
+            this.isBarrier = isBarrier;
+        }
+
+        @Override
+        public void write() throws NimbusException {
+            if (isFailing) {
+                throw new NimbusException("disk full");
+            }
+            written.add(label);
+        }
+
+        @Override
+        public PendingWrite coalesce(PendingWrite newer) {
+            return isBarrier ? null : new Recorded(label + ((Recorded) newer).label, false);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package nimbus.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.tasklist.TaskList;
+import nimbus.tasklist.TaskStore;
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import nimbus.ui.UI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LazyTaskListTest {
+
+    private File tempFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempFile = File.createTempFile("nimbus_lazy", ".bin");
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(i % 2 == 0 ? new Todo("Todo " + i) : new Deadline("Deadline " + i, "2023-12-01 1800"));
+        }
+        BinaryTaskCodec.writeFile(tempFile.toPath(), 0, tasks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tempFile.delete();
+    }
+
+    private LazyTaskList openList(int cacheSize) throws Exception {
+        ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(tempFile.toPath()));
+        long[] header = BinaryTaskCodec.readHeader(records);
+        return new LazyTaskList(records, LazyTaskList.indexRecords(records, (int) header[1]), cacheSize);
+    }
+
+    @Test
+    void testGet_decodesOnlyTouchedTasks() throws Exception {
+        LazyTaskList tasks = openList(8);
+        assertEquals(100, tasks.size());
+        assertEquals(0, tasks.residentCount());
+
+        assertEquals("[D][ ] Deadline 51 (by: Dec 01 2023, 6:00 pm)", tasks.get(51).toString());
+        assertEquals("[T][ ] Todo 2", tasks.get(2).toString());
+        assertEquals(2, tasks.residentCount());
+    }
+
+    @Test
+    void testSet_keepsChangesAfterEviction() throws Exception {
+        LazyTaskList tasks = openList(2);
+        Task task = tasks.get(4);
+        task.markAsDone();
+        tasks.set(4, task);
+
+        for (int i = 10; i < 20; i++) {
+            tasks.get(i);
+        }
+        assertEquals("[T][X] Todo 4", tasks.get(4).toString());
+    }
+
+    @Test
+    void testAddAndRemove_shiftPositions() throws Exception {
+        LazyTaskList tasks = openList(8);
+        tasks.remove(0);
+        tasks.add(new Todo("Appended"));
+        tasks.add(0, new Todo("Inserted"));
+
+        assertEquals(101, tasks.size());
+        assertEquals("[T][ ] Inserted", tasks.get(0).toString());
+        assertEquals("[D][ ] Deadline 1 (by: Dec 01 2023, 6:00 pm)", tasks.get(1).toString());
+        assertEquals("[T][ ] Appended", tasks.get(100).toString());
+    }
+
+    @Test
+    void testWriteRecords_roundTripsThroughStorage() throws Exception {
+        Storage storage = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, false,
+                DurabilityPolicy.SYNC, 0);
+        List<Task> tasks = storage.loadTasksLazily();
+        assertTrue(tasks instanceof LazyTaskList);
+
+        Task task = tasks.get(1);
+        task.markAsDone();
+        tasks.set(1, task);
+        tasks.remove(0);
+        storage.saveTasks(tasks);
+
+        List<Task> reloaded = storage.loadTasks();
+        assertEquals(99, reloaded.size());
+        assertEquals("[D][X] Deadline 1 (by: Dec 01 2023, 6:00 pm)", reloaded.get(0).toString());
+        assertEquals("[D][ ] Deadline 99 (by: Dec 01 2023, 6:00 pm)", reloaded.get(98).toString());
+    }
+
+    @Test
+    void testRemoveIf_keepsOrderOfTheRest() throws Exception {
+        LazyTaskList tasks = openList(8);
+        Task added = new Todo("Added");
+        tasks.add(added);
+        assertTrue(tasks.removeIf(task -> task.getDescription().startsWith("Deadline")));
+        assertEquals(51, tasks.size());
+        assertEquals("[T][ ] Todo 98", tasks.get(49).toString());
+        assertEquals(added, tasks.get(50));
+    }
+
+    @Test
+    void testRestore_keepsUnchangedTasksInTheFile() throws Exception {
+        int taskCount = 2 * LazyTaskList.DEFAULT_CACHE_SIZE;
+        List<Task> written = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Todo("Todo " + i);
+            task.setId(i + 1);
+            written.add(task);
+        }
+        BinaryTaskCodec.writeFile(tempFile.toPath(), 0, written);
+        Storage storage = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, false,
+                DurabilityPolicy.SYNC, 0);
+        TaskList taskList = new TaskList(storage, new UI(), TaskStore.LAZY);
+        LazyTaskList tasks = (LazyTaskList) taskList.getTasks();
+
+        TaskList.Snapshot snapshot = taskList.snapshot();
+        taskList.markTask("mark 1", true);
+        taskList.addTodoTask("todo Appended");
+        taskList.deleteTask("delete 2-3");
+        taskList.restore(snapshot);
+
+        assertEquals(taskCount, tasks.size());
+        assertEquals("[T][ ] Todo 0", tasks.get(0).toString());
+        assertEquals("[T][ ] Todo 2", tasks.get(2).toString());
+        assertTrue(tasks.residentCount() <= LazyTaskList.DEFAULT_CACHE_SIZE + 3);
+    }
+}
@@ -0,0 +1,68 @@
+package nimbus.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.tasks.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelTextLoaderTest {
+
+    private File tempFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempFile = File.createTempFile("nimbus_parallel", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tempFile.delete();
+    }
+
+    @Test
+    void testLoad_keepsFileOrderAcrossChunks() throws Exception {
+        List<String> lines = new ArrayList<>();
+        lines.add("#seq 42");
+        for (int i = 0; i < 500; i++) {
+            lines.add(i % 3 == 0
+                    ? "D | 1 | Deadline " + i + " | 2023-12-01 1800"
+                    : "T | 0 | Todo " + i);
+        }
+        Files.write(tempFile.toPath(), lines);
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        long seq = ParallelTextLoader.load(tempFile.toPath(), tasks, 256);
+
+        assertEquals(42, seq);
+        assertEquals(500, tasks.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(lines.get(i + 1), tasks.get(i).toFileString());
+        }
+    }
+
+    @Test
+    void testLoad_skipsCorruptedLines() throws Exception {
+        Files.write(tempFile.toPath(), List.of("T | 0 | First", "garbage", "T | 1 | Second"));
+
+        ArrayList<Task> tasks = new ArrayList<>();
+        ParallelTextLoader.load(tempFile.toPath(), tasks, 4);
+
+        assertEquals(2, tasks.size());
+        assertEquals("[T][X] Second", tasks.get(1).toString());
+    }
+
+    @Test
+    void testIsWorthwhile() {
+        assertFalse(ParallelTextLoader.isWorthwhile(1024));
+        assertTrue(ParallelTextLoader.isWorthwhile(ParallelTextLoader.MIN_PARALLEL_BYTES));
+    }
+}
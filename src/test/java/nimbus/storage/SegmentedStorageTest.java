@@ -0,0 +1,190 @@
+package nimbus.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import nimbus.exceptions.NimbusException;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SegmentedStorageTest {
+
+    private Path tempDir;
+    private String filePath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tempDir = Files.createTempDirectory("nimbus_segments");
+        filePath = tempDir.resolve("nimbus.txt").toString();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private List<Task> addTasks(SegmentedStorage storage, int count) throws NimbusException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = new Todo("Task " + i);
+            tasks.add(task);
+            storage.logAdded(task);
+        }
+        storage.saveTasks(tasks);
+        return tasks;
+    }
+
+    private Set<String> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(filePath + ".segments"))) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-"))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+
+    @Test
+    void testMark_rewritesOnlyItsSegment() throws Exception {
+        SegmentedStorage storage = new SegmentedStorage(filePath, StorageFormat.BINARY, 10, DurabilityPolicy.SYNC, 0);
+        List<Task> tasks = addTasks(storage, 35);
+        assertEquals(4, storage.getSegmentCount());
+        Set<String> before = segmentFiles();
+
+        tasks.get(12).markAsDone();
+        storage.logMarked(12, true);
+        storage.saveTasks(tasks);
+
+        Set<String> after = segmentFiles();
+        Set<String> unchanged = new TreeSet<>(before);
+        unchanged.retainAll(after);
+        assertEquals(3, unchanged.size());
+        assertFalse(after.containsAll(before));
+
+        ArrayList<Task> loaded = new SegmentedStorage(filePath, StorageFormat.BINARY, 10,
+                DurabilityPolicy.SYNC, 0).loadTasks();
+        assertEquals(35, loaded.size());
+        assertEquals("[T][X] Task 12", loaded.get(12).toString());
+    }
+
+    @Test
+    void testDelete_doesNotRewriteLaterSegments() throws Exception {
+        SegmentedStorage storage = new SegmentedStorage(filePath, StorageFormat.TEXT, 10, DurabilityPolicy.SYNC, 0);
+        List<Task> tasks = addTasks(storage, 30);
+        Set<String> before = segmentFiles();
+
+        tasks.remove(3);
+        storage.logDeleted(3);
+        storage.saveTasks(tasks);
+
+        Set<String> unchanged = new TreeSet<>(before);
+        unchanged.retainAll(segmentFiles());
+        assertEquals(2, unchanged.size());
+
+        ArrayList<Task> loaded = new SegmentedStorage(filePath, StorageFormat.TEXT, 10,
+                DurabilityPolicy.SYNC, 0).loadTasks();
+        assertEquals(29, loaded.size());
+        assertEquals("[T][ ] Task 4", loaded.get(3).toString());
+        assertEquals("[T][ ] Task 29", loaded.get(28).toString());
+    }
+
+    @Test
+    void testClear_removesAllSegments() throws Exception {
+        SegmentedStorage storage = new SegmentedStorage(filePath, StorageFormat.BINARY, 10, DurabilityPolicy.SYNC, 0);
+        List<Task> tasks = addTasks(storage, 25);
+
+        tasks.clear();
+        storage.logCleared();
+        storage.saveTasks(tasks);
+
+        assertTrue(segmentFiles().isEmpty());
+        assertTrue(new SegmentedStorage(filePath, StorageFormat.BINARY, DurabilityPolicy.SYNC, 0)
+                .loadTasks().isEmpty());
+    }
+
+    @Test
+    void testLoad_splitsSingleTaskFile() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            tasks.add(new Todo("Task " + i));
+        }
+        new Storage(filePath).saveTasks(tasks);
+
+        SegmentedStorage storage = new SegmentedStorage(filePath, StorageFormat.BINARY, 10, DurabilityPolicy.SYNC, 0);
+        ArrayList<Task> loaded = storage.loadTasks();
+        assertEquals(25, loaded.size());
+        assertEquals(3, storage.getSegmentCount());
+        assertEquals(3, segmentFiles().size());
+    }
+
+    @Test
+    void testAsyncSaves_coalesceIntoLatestManifest() throws Exception {
+        SegmentedStorage storage = new SegmentedStorage(filePath, StorageFormat.BINARY, 10,
+                DurabilityPolicy.ON_SHUTDOWN, 0);
+        List<Task> tasks = addTasks(storage, 20);
+        for (int i = 0; i < 5; i++) {
+            tasks.get(i).markAsDone();
+            storage.logMarked(i, true);
+            storage.saveTasks(tasks);
+        }
+        storage.close();
+
+        assertEquals(2, segmentFiles().size());
+        ArrayList<Task> loaded = new SegmentedStorage(filePath, StorageFormat.BINARY, 10,
+                DurabilityPolicy.SYNC, 0).loadTasks();
+        assertEquals("[T][X] Task 4", loaded.get(4).toString());
+        assertEquals("[T][ ] Task 5", loaded.get(5).toString());
+    }
+
+    @Test
+    void testOpen_segmentedLayout() {
+        assertEquals(StorageLayout.SEGMENTED, StorageLayout.parse(" Segmented"));
+        assertEquals(null, StorageLayout.parse("segments"));
+        assertTrue(Storage.open(filePath, StorageFormat.BINARY, StorageLayout.SEGMENTED, DurabilityPolicy.SYNC, 0)
+                instanceof SegmentedStorage);
+        assertFalse(Storage.open(filePath, StorageFormat.BINARY, StorageLayout.JOURNAL, DurabilityPolicy.SYNC, 0)
+                instanceof SegmentedStorage);
+    }
+
+    @Test
+    void testLoad_appliesJournalOfSingleFile() throws Exception {
+        Storage journaled = Storage.open(filePath, StorageFormat.BINARY, StorageLayout.JOURNAL,
+                DurabilityPolicy.SYNC, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new Todo("Task " + i));
+            journaled.logAdded(tasks.get(i));
+        }
+        journaled.saveTasks(tasks);
+        tasks.get(1).markAsDone();
+        journaled.logMarked(1, true);
+        tasks.remove(0);
+        journaled.logDeleted(0);
+        journaled.saveTasks(tasks);
+        journaled.close();
+        assertTrue(Files.exists(Path.of(filePath + ".journal")));
+
+        ArrayList<Task> loaded = new SegmentedStorage(filePath, StorageFormat.BINARY, 10,
+                DurabilityPolicy.SYNC, 0).loadTasks();
+        assertEquals(2, loaded.size());
+        assertEquals("[T][X] Task 1", loaded.get(0).toString());
+        assertEquals(1, segmentFiles().size());
+    }
+}
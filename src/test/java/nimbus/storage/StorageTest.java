@@ -10,7 +10,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -31,6 +35,8 @@ class StorageTest {
         if (tempFile.exists()) {
             tempFile.delete();
         }
+        new File(tempFile.getAbsolutePath() + ".journal").delete();
+        new File(tempFile.getAbsolutePath() + ".bak").delete();
     }
 
     @Test
@@ -78,4 +84,196 @@ class StorageTest {
         assertTrue(loadedTasks.isEmpty());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testJournalReplaysMutations() throws NimbusException {
+        Storage journaled = new Storage(tempFile.getAbsolutePath(), true);
+        ArrayList<Task> tasks = journaled.loadTasks();
+
+        Task first = new Todo("First");
+        tasks.add(first);
+        journaled.logAdded(first);
+        Task second = new Deadline("Second", "2023-12-01 1800");
+        tasks.add(second);
+        journaled.logAdded(second);
+        journaled.saveTasks(tasks);
+
+        second.markAsDone();
+        journaled.logMarked(1, true);
+        tasks.remove(0);
+        journaled.logDeleted(0);
+        journaled.saveTasks(tasks);
+        journaled.close();
+
+        ArrayList<Task> loadedTasks = new Storage(tempFile.getAbsolutePath(), true).loadTasks();
+        assertEquals(1, loadedTasks.size());
+        assertEquals("[D][X] Second (by: Dec 01 2023, 6:00 pm)", loadedTasks.get(0).toString());
+    }
+
+    @Test
+    void testJournalCompaction() throws Exception {
+        Storage journaled = new Storage(tempFile.getAbsolutePath(), true, 3);
+        ArrayList<Task> tasks = journaled.loadTasks();
+
+        for (int i = 1; i <= 4; i++) {
+            Task task = new Todo("Task " + i);
+            tasks.add(task);
+            journaled.logAdded(task);
+            journaled.saveTasks(tasks);
+        }
+        journaled.close();
+
+        ArrayList<Task> loadedTasks = new Storage(tempFile.getAbsolutePath(), true).loadTasks();
+        assertEquals(4, loadedTasks.size());
+        assertEquals("[T][ ] Task 4", loadedTasks.get(3).toString());
+        assertEquals(1, Files.readAllLines(Path.of(tempFile.getAbsolutePath() + ".journal")).size());
+    }
+
+    @Test
+    void testJournalReorderWritesSnapshot() throws Exception {
+        Storage journaled = new Storage(tempFile.getAbsolutePath(), true);
+        ArrayList<Task> tasks = journaled.loadTasks();
+        Task first = new Todo("First");
+        Task second = new Todo("Second");
+        tasks.add(first);
+        journaled.logAdded(first);
+        tasks.add(second);
+        journaled.logAdded(second);
+        journaled.saveTasks(tasks);
+
+        tasks.remove(second);
+        tasks.add(0, second);
+        journaled.logReordered();
+        journaled.saveTasks(tasks);
+        journaled.close();
+
+        ArrayList<Task> loadedTasks = new Storage(tempFile.getAbsolutePath(), true).loadTasks();
+        assertEquals("[T][ ] Second", loadedTasks.get(0).toString());
+        assertEquals("[T][ ] First", loadedTasks.get(1).toString());
+        assertTrue(Files.readAllLines(Path.of(tempFile.getAbsolutePath() + ".journal")).isEmpty());
+    }
+
+    @Test
+    void testAsyncSaveWrittenOnFlush() throws NimbusException {
+        Storage async = new Storage(tempFile.getAbsolutePath(), false, DurabilityPolicy.ON_SHUTDOWN, 0);
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Queued"));
+        async.saveTasks(tasks);
+        assertTrue(storage.loadTasks().isEmpty());
+
+        async.close();
+        assertEquals("[T][ ] Queued", storage.loadTasks().get(0).toString());
+    }
+
+    @Test
+    void testAsyncJournalSurvivesRestart() throws NimbusException {
+        Storage async = new Storage(tempFile.getAbsolutePath(), true, DurabilityPolicy.EVERY_COMMAND, 0);
+        ArrayList<Task> tasks = async.loadTasks();
+        for (int i = 1; i <= 3; i++) {
+            Task task = new Todo("Task " + i);
+            tasks.add(task);
+            async.logAdded(task);
+            async.saveTasks(tasks);
+        }
+        async.close();
+
+        assertEquals(3, new Storage(tempFile.getAbsolutePath(), true).loadTasks().size());
+    }
+
+    @Test
+    void testBinaryFormatKeepsPipesInDescriptions() throws Exception {
+        Storage binary = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, false,
+                DurabilityPolicy.SYNC, 0);
+        ArrayList<Task> tasksToSave = new ArrayList<>();
+        tasksToSave.add(new Todo("Read A | B"));
+        Task event = new Event("Team meeting", "2023-11-01 1000", "2023-11-01 1200");
+        event.markAsDone();
+        tasksToSave.add(event);
+
+        binary.saveTasks(tasksToSave);
+        ArrayList<Task> loadedTasks = binary.loadTasks();
+
+        assertTrue(BinaryTaskCodec.isBinaryFile(tempFile.toPath()));
+        assertEquals("[T][ ] Read A | B", loadedTasks.get(0).toString());
+        assertEquals("[E][X] Team meeting (from: Nov 01 2023, 10:00 am to: Nov 01 2023, 12:00 pm)",
+                loadedTasks.get(1).toString());
+    }
+
+    @Test
+    void testTextFileMigratedToBinaryOnLoad() throws Exception {
+        Files.write(tempFile.toPath(), List.of("T | 1 | Old todo", "D | 0 | Old deadline | 2023-12-01 1800"));
+        Storage binary = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, true,
+                DurabilityPolicy.SYNC, 0);
+
+        ArrayList<Task> loadedTasks = binary.loadTasks();
+        assertEquals(2, loadedTasks.size());
+        assertTrue(BinaryTaskCodec.isBinaryFile(tempFile.toPath()));
+        assertTrue(new File(tempFile.getAbsolutePath() + ".bak").exists());
+
+        Task added = new Todo("New todo");
+        loadedTasks.add(added);
+        binary.logAdded(added);
+        binary.saveTasks(loadedTasks);
+        binary.close();
+
+        ArrayList<Task> reloadedTasks = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, true,
+                DurabilityPolicy.SYNC, 0).loadTasks();
+        assertEquals("[T][X] Old todo", reloadedTasks.get(0).toString());
+        assertEquals("[T][ ] New todo", reloadedTasks.get(2).toString());
+    }
+
+    @Test
+    void testEventEndingBeforeStartKeptThroughMigration() throws Exception {
+        String overnight = "E | 0 | Overnight shift | 2023-11-10 2200 | 2023-11-10 0600";
+        Files.write(tempFile.toPath(), List.of(overnight));
+        Storage binary = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, true,
+                DurabilityPolicy.SYNC, 0);
+        assertEquals(1, binary.loadTasks().size());
+        binary.close();
+
+        List<Task> reloadedTasks = new Storage(tempFile.getAbsolutePath(), StorageFormat.BINARY, true,
+                DurabilityPolicy.SYNC, 0).loadTasksLazily();
+        assertEquals(1, reloadedTasks.size());
+        assertEquals(overnight, reloadedTasks.get(0).toFileString());
+    }
+
+    @Test
+    void testIdAndCreationTimePersisted() throws Exception {
+        for (StorageFormat format : StorageFormat.values()) {
+            Storage formatStorage = new Storage(tempFile.getAbsolutePath(), format, true, DurabilityPolicy.SYNC, 0);
+            ArrayList<Task> tasksToSave = new ArrayList<>();
+            Task todo = new Todo("Read book");
+            todo.setId(7);
+            todo.setCreatedAt(LocalDateTime.of(2023, 11, 1, 9, 30, 15, 123_000_000));
+            tasksToSave.add(todo);
+            formatStorage.logReordered();
+            formatStorage.saveTasks(tasksToSave);
+
+            Task deadline = new Deadline("Submit report", "2023-12-01 1800");
+            deadline.setId(9);
+            tasksToSave.add(deadline);
+            formatStorage.logAdded(deadline);
+            formatStorage.saveTasks(tasksToSave);
+            formatStorage.close();
+
+            ArrayList<Task> loadedTasks = new Storage(tempFile.getAbsolutePath(), format, true,
+                    DurabilityPolicy.SYNC, 0).loadTasks();
+            assertEquals(7, loadedTasks.get(0).getId());
+            assertEquals(todo.getCreatedAt(), loadedTasks.get(0).getCreatedAt());
+            assertEquals(9, loadedTasks.get(1).getId());
+            assertEquals(deadline.getCreatedAt(), loadedTasks.get(1).getCreatedAt());
+            tearDown();
+        }
+    }
+
+    @Test
+    void testParseTask_acceptsLinesWithAndWithoutId() throws NimbusException {
+        Task legacy = Storage.parseTask("T | 1 | Old todo");
+        assertEquals(0, legacy.getId());
+        assertEquals("[T][X] Old todo", legacy.toString());
+
+        Task withId = Storage.parseTask("12 | 2023-11-01T09:30 | D | 0 | Report | 2023-12-01 1800");
+        assertEquals(12, withId.getId());
+        assertEquals(LocalDateTime.of(2023, 11, 1, 9, 30), withId.getCreatedAt());
+        assertEquals("12 | 2023-11-01T09:30 | D | 0 | Report | 2023-12-01 1800", Storage.formatTask(withId));
+    }
+}
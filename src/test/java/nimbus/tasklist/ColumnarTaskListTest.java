@@ -0,0 +1,105 @@
+package nimbus.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import nimbus.tasks.Deadline;
+import nimbus.tasks.Event;
+import nimbus.tasks.Task;
+import nimbus.tasks.Todo;
+import org.junit.jupiter.api.Test;
+
+class ColumnarTaskListTest {
+
+    private static List<Task> sampleTasks() {
+        Task todo = new Todo("Read book");
+        todo.setId(1);
+        todo.markAsDone();
+        Task deadline = new Deadline("Submit report", LocalDateTime.of(2024, 3, 1, 18, 0));
+        deadline.setId(2);
+        Task event = new Event("Conference", LocalDateTime.of(2024, 3, 4, 9, 0), LocalDateTime.of(2024, 3, 6, 17, 0));
+        event.setId(3);
+        event.setCreatedAt(LocalDateTime.of(2024, 2, 1, 10, 30, 15, 123_000_000));
+        return List.of(todo, deadline, event);
+    }
+
+    private static List<String> fileStrings(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.getId() + " " + task.getCreatedAt() + " " + task.toFileString());
+        }
+        return lines;
+    }
+
+    @Test
+    void testGet_rebuildsEveryField() {
+        List<Task> tasks = sampleTasks();
+        assertEquals(fileStrings(tasks), fileStrings(new ColumnarTaskList(tasks)));
+    }
+
+    @Test
+    void testSet_writesBackChangedTask() {
+        ColumnarTaskList list = new ColumnarTaskList(sampleTasks());
+        Task task = list.get(1);
+        task.markAsDone();
+        assertEquals("[D][ ] Submit report (by: Mar 01 2024, 6:00 pm)", list.get(1).toString());
+
+        list.set(1, task);
+        assertEquals("[D][X] Submit report (by: Mar 01 2024, 6:00 pm)", list.get(1).toString());
+    }
+
+    @Test
+    void testAddAndRemove_shiftColumnsAndDoneFlags() {
+        ColumnarTaskList list = new ColumnarTaskList(sampleTasks());
+        list.add(0, new Todo("Water plants"));
+        assertEquals("[T][X] Read book", list.get(1).toString());
+
+        list.remove(1);
+        list.remove(0);
+        assertEquals(List.of("[D][ ] Submit report (by: Mar 01 2024, 6:00 pm)",
+                "[E][ ] Conference (from: Mar 04 2024, 9:00 am to: Mar 06 2024, 5:00 pm)"),
+                list.stream().map(Task::toString).toList());
+    }
+
+    @Test
+    void testManyReplacements_compactDescriptions() {
+        ColumnarTaskList list = new ColumnarTaskList();
+        for (int i = 0; i < 100; i++) {
+            list.add(new Todo("Task " + i));
+        }
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                list.set(i, new Todo("Task " + i + " round " + round));
+            }
+            list.remove(round);
+            list.add(new Todo("Added " + round));
+        }
+        assertEquals("[T][ ] Task 50 round 49", list.get(49).toString());
+        assertEquals("[T][ ] Added 49", list.get(99).toString());
+    }
+
+    @Test
+    void testColumnBytes_under64BytesPerTask() {
+        ColumnarTaskList list = new ColumnarTaskList();
+        for (int i = 0; i < 100_000; i++) {
+            list.add(new Todo("Task " + i));
+        }
+        assertTrue(list.getColumnBytes() / list.size() < 64);
+    }
+
+    @Test
+    void testRemoveIf_compactsColumns() {
+        List<Task> tasks = sampleTasks();
+        ColumnarTaskList list = new ColumnarTaskList(tasks);
+        assertTrue(list.removeIf(task -> task.getId() == 2));
+        assertEquals(fileStrings(List.of(tasks.get(0), tasks.get(2))), fileStrings(list));
+
+        list.add(new Todo("Write essay"));
+        assertEquals("[T][ ] Write essay", list.get(2).toString());
+        assertEquals("[T][X] Read book", list.get(0).toString());
+    }
+}
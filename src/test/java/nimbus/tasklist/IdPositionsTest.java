@@ -0,0 +1,54 @@
+package nimbus.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IdPositionsTest {
+
+    @Test
+    void testRandomOperations_matchPositionsInList() {
+        Random random = new Random(8);
+        List<Integer> ids = new ArrayList<>();
+        IdPositions positions = new IdPositions();
+        int nextId = 1;
+        for (int i = 0; i < 20_000; i++) {
+            if (random.nextInt(3) > 0 || ids.isEmpty()) {
+                nextId += 1 + random.nextInt(3);
+                ids.add(nextId);
+                positions.add(nextId);
+            } else {
+                int removed = ids.remove(random.nextInt(ids.size()));
+                positions.remove(removed);
+                assertFalse(positions.contains(removed));
+            }
+            if (i % 1000 == 0) {
+                for (int position = 0; position < ids.size(); position++) {
+                    assertEquals(position, positions.positionOf(ids.get(position)));
+                }
+            }
+        }
+        for (int position = 0; position < ids.size(); position++) {
+            assertTrue(positions.contains(ids.get(position)));
+            assertEquals(position, positions.positionOf(ids.get(position)));
+        }
+    }
+
+    @Test
+    void testClear_forgetsEveryId() {
+        IdPositions positions = new IdPositions();
+        positions.add(3);
+        positions.add(40);
+        positions.clear();
+        assertFalse(positions.contains(3));
+        positions.add(1);
+        assertEquals(0, positions.positionOf(1));
+        assertFalse(positions.contains(0));
+    }
+}
@@ -1,18 +1,26 @@
 package nimbus.tasklist;
 
 import nimbus.exceptions.NimbusException;
+import nimbus.storage.DurabilityPolicy;
 import nimbus.storage.Storage;
+import nimbus.storage.StorageFormat;
 import nimbus.tasklist.TaskList;
+import nimbus.tasks.Task;
 import nimbus.ui.UI;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.List;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TaskListTest {
 
@@ -46,6 +54,23 @@ class TaskListTest {
         assertEquals("Oops! The description of a todo cannot be empty.", exception.getMessage());
     }
 
+    @Test
+    void testAddTasks_shortKeywordsAndMarkersInAnyOrder() throws NimbusException {
+        taskList.addDeadlineTask("dead Submit report /by 2023-12-01 1800");
+        taskList.addEventTask("ev Party /to 2023-12-01 2200 /from 2023-12-01 1900");
+        assertEquals("[D][ ] Submit report (by: Dec 01 2023, 6:00 pm)", taskList.getTasks().get(0).toString());
+        assertEquals("[E][ ] Party (from: Dec 01 2023, 7:00 pm to: Dec 01 2023, 10:00 pm)",
+                taskList.getTasks().get(1).toString());
+    }
+
+    @Test
+    void testAddDeadlineTask_missingDate() {
+        NimbusException exception = assertThrows(NimbusException.class, () -> {
+            taskList.addDeadlineTask("deadline Submit report /by");
+        });
+        assertEquals("Oops! Deadlines need a description and a '/by' date.", exception.getMessage());
+    }
+
     @Test
     void testDeleteTask_validInput() throws NimbusException {
         taskList.addTodoTask("todo Read book");
@@ -75,4 +100,439 @@ class TaskListTest {
         taskList.markTask("unmark 1", false);
         assertEquals("[T][ ] Read book", taskList.getTasks().get(0).toString());
     }
+
+    @Test
+    void testVersion_changesOnlyOnMutation() throws NimbusException {
+        assertFalse(taskList.isDirty());
+        taskList.addTodoTask("todo Read book");
+        long version = taskList.getVersion();
+        assertTrue(taskList.isDirty());
+
+        taskList.markSaved();
+        taskList.findTasksByKeyword("find book");
+        taskList.markTask("unmark 1", false);
+        assertEquals(version, taskList.getVersion());
+        assertFalse(taskList.isDirty());
+    }
+
+    @Test
+    void testTaskIds_assignedInOrderAndUsableAfterDeletes() throws NimbusException {
+        taskList.addTodoTask("todo First");
+        taskList.addTodoTask("todo Second");
+        taskList.addTodoTask("todo Third");
+        assertEquals(2, taskList.getTasks().get(1).getId());
+
+        taskList.deleteTask("delete #1");
+        taskList.markTask("mark #3", true);
+        assertEquals("[T][X] Third", taskList.getTasks().get(1).toString());
+        assertEquals(0, taskList.findTaskPosition(2));
+
+        taskList.deleteTask("delete #3");
+        taskList.addTodoTask("todo Fourth");
+        assertEquals(4, taskList.getTasks().get(1).getId());
+        assertEquals(1, taskList.findTaskPosition(4));
+    }
+
+    @Test
+    void testTaskIds_unknownIdRejected() throws NimbusException {
+        taskList.addTodoTask("todo Read book");
+        NimbusException exception = assertThrows(NimbusException.class, () -> {
+            taskList.markTask("mark #5", true);
+        });
+        assertEquals("Oops! There is no task #5. Please check your list.", exception.getMessage());
+    }
+
+    @Test
+    void testTaskIds_assignedToLegacyTasksAndSaved() throws Exception {
+        File file = File.createTempFile("nimbus_ids", ".txt");
+        try {
+            Files.write(file.toPath(), List.of("T | 0 | Old todo", "T | 1 | Older todo"));
+            TaskList loaded = new TaskList(new Storage(file.getAbsolutePath()), ui);
+            assertEquals(1, loaded.getTasks().get(0).getId());
+            assertEquals(2, loaded.getTasks().get(1).getId());
+            loaded.addTodoTask("todo New todo");
+            assertEquals(3, loaded.getTasks().get(2).getId());
+
+            TaskList reloaded = new TaskList(new Storage(file.getAbsolutePath()), ui);
+            assertEquals(loaded.getTasks().get(1).getCreatedAt(), reloaded.getTasks().get(1).getCreatedAt());
+            assertEquals(1, reloaded.findTaskPosition(2));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testTaskIds_positionsKeptUpToDateByDeletes() throws NimbusException {
+        for (int i = 1; i <= 200; i++) {
+            taskList.addTodoTask("todo Task " + i);
+        }
+        taskList.deleteTask("delete 1");
+        taskList.deleteTask("delete #100");
+        taskList.deleteTask("delete 10-19");
+        taskList.addTodoTask("todo Task 201");
+
+        List<Task> tasks = taskList.getTasks();
+        for (int position = 0; position < tasks.size(); position++) {
+            assertEquals(position, taskList.findTaskPosition(tasks.get(position).getId()));
+        }
+        assertThrows(NimbusException.class, () -> taskList.findTaskPosition(100));
+    }
+
+    @Test
+    void testTaskIds_renumberedWhenNotIncreasing() throws Exception {
+        File file = File.createTempFile("nimbus_ids", ".txt");
+        try {
+            Files.write(file.toPath(), List.of("5 | 2024-01-01T09:00 | T | 0 | First",
+                    "T | 0 | Legacy", "3 | 2024-01-01T09:00 | T | 0 | Edited by hand",
+                    "9 | 2024-01-01T09:00 | T | 0 | Last"));
+            TaskList loaded = new TaskList(new Storage(file.getAbsolutePath()), ui);
+            List<Task> tasks = loaded.getTasks();
+            assertEquals(List.of(5, 6, 7, 9), List.of(tasks.get(0).getId(), tasks.get(1).getId(),
+                    tasks.get(2).getId(), tasks.get(3).getId()));
+            assertEquals(2, loaded.findTaskPosition(7));
+            loaded.addTodoTask("todo New");
+            assertEquals(10, tasks.get(4).getId());
+
+            TaskList reloaded = new TaskList(new Storage(file.getAbsolutePath()), ui);
+            assertEquals(7, reloaded.getTasks().get(2).getId());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testFindTasksByKeyword_usesIndexWithAndOr() throws NimbusException {
+        taskList.addTodoTask("todo Read book");
+        taskList.addTodoTask("todo Return book");
+        taskList.addTodoTask("todo Write report");
+        taskList.deleteTask("delete 1");
+
+        assertEquals("Here are the matching tasks for \"book\":\n1. [T][ ] Return book",
+                taskList.findTasksByKeyword("find book"));
+        assertEquals("Here are the matching tasks for \"return /or report\":\n"
+                + "1. [T][ ] Return book\n2. [T][ ] Write report",
+                taskList.findTasksByKeyword("find return /or report"));
+        assertEquals("Here are the matching tasks for \"return /and report\":\n  No matching tasks found.",
+                taskList.findTasksByKeyword("find return /and report"));
+        assertEquals("Here are the matching tasks for \"book return\":\n  No matching tasks found.",
+                taskList.findTasksByKeyword("find book return"));
+        assertEquals("Here are the matching tasks for \"return book\":\n1. [T][ ] Return book",
+                taskList.findTasksByKeyword("find return book"));
+    }
+
+    @Test
+    void testFindTasksInRange_listsDatedTasksInRange() throws NimbusException {
+        taskList.addDeadlineTask("deadline Submit report /by 2023-12-01 1800");
+        taskList.addTodoTask("todo Read book");
+        taskList.addEventTask("event Conference /from 2023-12-10 0900 /to 2023-12-12 1700");
+        taskList.addDeadlineTask("deadline Pay rent /by 2024-01-01 0900");
+
+        assertEquals("Tasks from Dec 01 2023 to Dec 31 2023:\n"
+                + "  [D][ ] Submit report (by: Dec 01 2023, 6:00 pm)\n"
+                + "  [E][ ] Conference (from: Dec 10 2023, 9:00 am to: Dec 12 2023, 5:00 pm)",
+                taskList.findTasksInRange("find_range 2023-12-01 2023-12-31"));
+        assertEquals("Tasks from Dec 12 2023 to Jan 01 2024:\n"
+                + "  [E][ ] Conference (from: Dec 10 2023, 9:00 am to: Dec 12 2023, 5:00 pm)\n"
+                + "  [D][ ] Pay rent (by: Jan 01 2024, 9:00 am)",
+                taskList.findTasksInRange("find_range Dec 12 2023 01 01 2024"));
+        assertEquals("Tasks on Dec 01 2023:\n  [D][ ] Submit report (by: Dec 01 2023, 6:00 pm)",
+                taskList.findTasksByDate("find_date 2023-12-01"));
+
+        taskList.deleteTask("delete 1");
+        assertEquals("Tasks on Dec 01 2023:\n  No tasks found on this date.",
+                taskList.findTasksByDate("find_date 2023-12-01"));
+        assertEquals("⚠ ERROR: Oops! The first date of the range must not be after the last.",
+                taskList.findTasksInRange("find_range 2024-01-01 2023-12-01"));
+    }
+
+    @Test
+    void testFindTasksByDate_findsEventOnEveryDayOfItsSpan() throws NimbusException {
+        taskList.addEventTask("event Conference /from 2023-12-10 0900 /to 2023-12-12 1700");
+        taskList.addEventTask("event Dinner /from 2023-12-12 1900 /to 2023-12-12 2100");
+
+        assertEquals("Tasks on Dec 11 2023:\n"
+                + "  [E][ ] Conference (from: Dec 10 2023, 9:00 am to: Dec 12 2023, 5:00 pm)",
+                taskList.findTasksByDate("find_date 2023-12-11"));
+        assertEquals("Tasks on Dec 13 2023:\n  No tasks found on this date.",
+                taskList.findTasksByDate("find_date 2023-12-13"));
+    }
+
+    @Test
+    void testFindConflicts_listsOverlappingEventPairs() throws NimbusException {
+        taskList.addEventTask("event Conference /from 2023-12-10 0900 /to 2023-12-12 1700");
+        taskList.addEventTask("event Lunch /from 2023-12-11 1200 /to 2023-12-11 1300");
+        taskList.addEventTask("event Dinner /from 2023-12-12 1700 /to 2023-12-12 1900");
+
+        assertEquals("Here are the events that overlap:\n"
+                + "1. [E][ ] Conference (from: Dec 10 2023, 9:00 am to: Dec 12 2023, 5:00 pm)\n"
+                + "   overlaps [E][ ] Lunch (from: Dec 11 2023, 12:00 pm to: Dec 11 2023, 1:00 pm)",
+                taskList.findConflicts());
+
+        taskList.deleteTask("delete 2");
+        assertEquals("No events overlap. Your schedule is clear!", taskList.findConflicts());
+    }
+
+    @Test
+    void testSortTasks_keepsInsertionOrderAndListNumbers() throws NimbusException {
+        taskList.addDeadlineTask("deadline Submit report /by 2023-12-01 1800");
+        taskList.addEventTask("event Conference /from 2023-11-10 0900 /to 2023-11-12 1700");
+        taskList.addDeadlineTask("deadline Pay rent /by 2023-11-30 0900");
+
+        String sorted = "Tasks sorted successfully:\n"
+                + "2. [E][ ] Conference (from: Nov 10 2023, 9:00 am to: Nov 12 2023, 5:00 pm)\n"
+                + "3. [D][ ] Pay rent (by: Nov 30 2023, 9:00 am)\n"
+                + "1. [D][ ] Submit report (by: Dec 01 2023, 6:00 pm)";
+        assertEquals(sorted, taskList.sortTasks());
+        assertEquals(sorted, taskList.listTasks("list sorted"));
+        assertEquals("[D][ ] Submit report (by: Dec 01 2023, 6:00 pm)", taskList.getTasks().get(0).toString());
+
+        taskList.deleteTask("delete 2");
+        assertEquals("Tasks sorted successfully:\n"
+                + "2. [D][ ] Pay rent (by: Nov 30 2023, 9:00 am)\n"
+                + "1. [D][ ] Submit report (by: Dec 01 2023, 6:00 pm)", taskList.listTasks("list sorted"));
+        assertEquals("⚠ ERROR: Oops! I can list your tasks with 'list', 'list sorted', "
+                + "or filters like 'list pending deadlines'.\nFilters: pending, done, todos, deadlines, events",
+                taskList.listTasks("list backwards"));
+    }
+
+    @Test
+    void testOffHeapStore_behavesLikeDefaultStore() throws Exception {
+        File file = File.createTempFile("nimbus_off_heap", ".txt");
+        try {
+            Files.write(file.toPath(), List.of("T | 0 | Read book", "D | 1 | Return café book | 2023-12-01 1800"));
+            TaskList offHeap = new TaskList(new Storage(file.getAbsolutePath()), ui, TaskStore.OFF_HEAP);
+            offHeap.addTodoTask("todo Write report");
+            offHeap.markTask("mark 1", true);
+            offHeap.deleteTask("delete 3");
+
+            assertEquals("Here are the matching tasks for \"CAFÉ BOOK\":\n"
+                    + "1. [D][X] Return café book (by: Dec 01 2023, 6:00 pm)",
+                    offHeap.findTasksByKeyword("find CAFÉ BOOK"));
+            assertEquals("[T][X] Read book", offHeap.getTasks().get(0).toString());
+            assertEquals(2, offHeap.getTasks().get(1).getId());
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testLazyAndColumnarStores_findDescriptionsInTheList() throws Exception {
+        File file = File.createTempFile("nimbus_stores", ".bin");
+        try {
+            Storage binary = new Storage(file.getAbsolutePath(), StorageFormat.BINARY, false, DurabilityPolicy.SYNC, 0);
+            TaskList writer = new TaskList(binary, ui);
+            writer.addTodoTask("todo Read book");
+            writer.addTodoTask("todo Book to read");
+            writer.addTodoTask("todo Read book again");
+            binary.saveTasks(writer.getTasks());
+
+            for (TaskStore store : List.of(TaskStore.LAZY, TaskStore.COLUMNAR)) {
+                TaskList list = new TaskList(new Storage(file.getAbsolutePath(), StorageFormat.BINARY, false,
+                        DurabilityPolicy.SYNC, 0), ui, store);
+                list.deleteTask("delete 1");
+                list.addTodoTask("todo READ BOOK later");
+                assertEquals("Here are the matching tasks for \"read book\":\n"
+                        + "1. [T][ ] Read book again\n2. [T][ ] READ BOOK later",
+                        list.findTasksByKeyword("find read book"), store.name());
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testListTasks_filtersByStatusAndType() throws NimbusException {
+        taskList.addTodoTask("todo Read book");
+        taskList.addDeadlineTask("deadline Submit report /by 2023-12-01 1800");
+        taskList.addDeadlineTask("deadline Pay rent /by 2023-11-30 0900");
+        taskList.addEventTask("event Conference /from 2023-11-10 0900 /to 2023-11-12 1700");
+        taskList.markTask("mark 2", true);
+
+        assertEquals("Here are your tasks filtered by \"pending deadlines\":\n"
+                + "3. [D][ ] Pay rent (by: Nov 30 2023, 9:00 am)", taskList.listTasks("list pending deadlines"));
+        assertEquals("Here are your tasks filtered by \"done\":\n"
+                + "2. [D][X] Submit report (by: Dec 01 2023, 6:00 pm)", taskList.listTasks("list done"));
+
+        taskList.markTask("mark 2", false);
+        taskList.deleteTask("delete 1");
+        assertEquals("Here are your tasks filtered by \"done\":\n  No matching tasks found.",
+                taskList.listTasks("list done"));
+        assertEquals("Here are your tasks filtered by \"pending\":\n"
+                + "1. [D][ ] Submit report (by: Dec 01 2023, 6:00 pm)\n"
+                + "2. [D][ ] Pay rent (by: Nov 30 2023, 9:00 am)\n"
+                + "3. [E][ ] Conference (from: Nov 10 2023, 9:00 am to: Nov 12 2023, 5:00 pm)",
+                taskList.listTasks("list pending"));
+    }
+
+    @Test
+    void testAddEventTask_endBeforeStart_notAdded() throws NimbusException {
+        NimbusException exception = assertThrows(NimbusException.class,
+                () -> taskList.addEventTask("event Backwards /from 2023-12-10 1700 /to 2023-12-09 0900"));
+        assertEquals("Oops! An event cannot end before it starts. Please check the '/from' and '/to' times.",
+                exception.getMessage());
+        assertEquals(0, taskList.getTasks().size());
+        assertEquals("No events overlap. Your schedule is clear!", taskList.findConflicts());
+    }
+
+    @Test
+    void testListTasks_filteredListIsPaged() throws NimbusException {
+        for (int i = 1; i <= 60; i++) {
+            taskList.addTodoTask("todo Chore " + i);
+        }
+        taskList.markTask("mark 1-6", true);
+        taskList.deleteTask("delete 2");
+
+        String firstPage = taskList.listTasks("list pending todos");
+        assertTrue(firstPage.startsWith("Here are your tasks filtered by \"pending todos\":\n6. [T][ ] Chore 7\n"));
+        assertTrue(firstPage.endsWith("\n55. [T][ ] Chore 56\nShowing matches 1-50 of 54. "
+                + "Type 'list pending todos 2' for more."));
+        assertEquals("Here are your tasks filtered by \"pending todos\":\n"
+                + "57. [T][ ] Chore 58\n58. [T][ ] Chore 59\n59. [T][ ] Chore 60\nShowing matches 52-54 of 54.",
+                taskList.listTasks("list PENDING todos 18 3"));
+        assertEquals("Here are your tasks filtered by \"done\":\n"
+                + "3. [T][X] Chore 4\n4. [T][X] Chore 5\nShowing matches 3-4 of 5. Type 'list done 3 2' for more.",
+                taskList.listTasks("list done 2 2"));
+        assertEquals("⚠ ERROR: Oops! There is no page 3. Your list has 1 page.",
+                taskList.listTasks("list done 3"));
+        assertEquals("⚠ ERROR: Oops! Please enter a page number and an optional page size. Example: list 2 50",
+                taskList.listTasks("list done 1 2 3"));
+    }
+
+    @Test
+    void testUpcomingAndOverdue_skipDoneTasks() throws NimbusException {
+        taskList.addDeadlineTask("deadline Old report /by 2001-01-01 0900");
+        taskList.addEventTask("event Far conference /from 2999-05-01 0900 /to 2999-05-02 1700");
+        taskList.addDeadlineTask("deadline Far rent /by 2999-01-01 0900");
+        taskList.addTodoTask("todo Read book");
+
+        assertEquals("Here is what's coming up next:\n"
+                + "3. [D][ ] Far rent (by: Jan 01 2999, 9:00 am)", taskList.findUpcomingTasks("next 1"));
+        assertEquals("These deadlines are overdue:\n"
+                + "1. [D][ ] Old report (by: Jan 01 2001, 9:00 am)", taskList.findOverdueTasks());
+
+        taskList.markTask("mark 1", true);
+        taskList.markTask("mark 3", true);
+        assertEquals("No overdue deadlines. Great job!", taskList.findOverdueTasks().split("\n")[1].trim());
+        assertEquals("Here is what's coming up next:\n"
+                + "2. [E][ ] Far conference (from: May 01 2999, 9:00 am to: May 02 2999, 5:00 pm)",
+                taskList.findUpcomingTasks("next"));
+        assertEquals("⚠ ERROR: Oops! Please enter how many tasks to show. Example: next 5",
+                taskList.findUpcomingTasks("next soon"));
+    }
+
+    @Test
+    void testRunQuery_listsMatchesWithListNumbers() throws NimbusException {
+        taskList.addTodoTask("todo Write report");
+        taskList.addDeadlineTask("deadline Submit report /by 2024-12-01 1800");
+        taskList.addDeadlineTask("deadline Print report /by 2025-02-01 0900");
+        taskList.addDeadlineTask("deadline Draft report /by 2024-11-01 0900");
+        taskList.addEventTask("event Report review /from 2024-11-30 0900 /to 2024-12-02 1700");
+        taskList.markTask("mark 4", true);
+
+        assertEquals("Here are the tasks matching your query:\n"
+                + "2. [D][ ] Submit report (by: Dec 01 2024, 6:00 pm)",
+                taskList.runQuery("query type:deadline done:false due<2025-01-01 text:report"));
+        assertEquals("Here are the tasks matching your query:\n"
+                + "2. [D][ ] Submit report (by: Dec 01 2024, 6:00 pm)\n"
+                + "5. [E][ ] Report review (from: Nov 30 2024, 9:00 am to: Dec 02 2024, 5:00 pm)",
+                taskList.runQuery("query on:2024-12-01"));
+        assertEquals("Here are the tasks matching your query:\n  No tasks match your query.",
+                taskList.runQuery("query type:todo done:true"));
+        assertTrue(taskList.explainQuery("explain type:deadline text:submit")
+                .contains("1. Look up text:submit in the keyword index (about 1 task)"));
+        assertTrue(taskList.runQuery("query").startsWith("⚠ ERROR: Oops!"));
+    }
+
+    @Test
+    void testListTasks_showsOnlyRequestedPage() throws NimbusException {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTodoTask("todo Task " + i);
+        }
+
+        assertEquals("Here are the tasks in your list:\n"
+                + "3. [T][ ] Task 3\n"
+                + "4. [T][ ] Task 4\n"
+                + "Showing tasks 3-4 of 5. Type 'list 3 2' for more.", taskList.listTasks("list 2 2"));
+        assertEquals("Here are the tasks in your list:\n"
+                + "5. [T][ ] Task 5\n"
+                + "Showing tasks 5-5 of 5.", taskList.listTasks("list 3 2"));
+        assertEquals("Tasks sorted successfully:\n"
+                + "2. [T][ ] Task 2\n"
+                + "Showing tasks 2-2 of 5. Type 'list sorted 3 1' for more.", taskList.listTasks("list sorted 2 1"));
+        assertEquals("⚠ ERROR: Oops! There is no page 4. Your list has 3 pages.", taskList.listTasks("list 4 2"));
+        assertTrue(taskList.listTasks("list 0").startsWith("⚠ ERROR: Oops! Please enter a page number"));
+        assertEquals(taskList.listTasks("list"), taskList.listTasks("list 1"));
+    }
+
+    @Test
+    void testFindTasksByKeyword_continuesAfterCursor() throws NimbusException {
+        for (int i = 1; i <= 60; i++) {
+            taskList.addTodoTask("todo Read book " + i);
+        }
+
+        String firstPage = taskList.findTasksByKeyword("find book");
+        assertTrue(firstPage.endsWith("50. [T][ ] Read book 50\n"
+                + "Showing matches 1-50 of 60. Type 'find book /after 50' for more."));
+
+        taskList.deleteTask("delete 1");
+        String nextPage = taskList.findTasksByKeyword("find book /after 50");
+        assertTrue(nextPage.startsWith("Here are the matching tasks for \"book\":\n"
+                + "50. [T][ ] Read book 51\n"
+                + "51. [T][ ] Read book 52\n"));
+        assertTrue(nextPage.endsWith("59. [T][ ] Read book 60\nShowing matches 50-59 of 59."));
+    }
+
+    @Test
+    void testMarkTasks_listAndRanges() throws NimbusException {
+        for (int i = 1; i <= 25; i++) {
+            taskList.addTodoTask("todo Task " + i);
+        }
+        taskList.markTask("mark 4", true);
+        assertEquals("Nice! I've marked 15 tasks as done.\n1 task was already done.",
+                taskList.markTask("mark 1, 4,7-20", true));
+        assertEquals("[T][X] Task 7", taskList.getTasks().get(6).toString());
+        assertEquals("[T][ ] Task 21", taskList.getTasks().get(20).toString());
+
+        assertEquals("OK, I've marked 2 tasks as not done yet.\n3 tasks were already not done.",
+                taskList.markTask("unmark 19-23", false));
+        assertEquals("[T][X] Task 18", taskList.getTasks().get(17).toString());
+        assertEquals("[T][ ] Task 19", taskList.getTasks().get(18).toString());
+    }
+
+    @Test
+    void testDeleteTasks_rangeListAndDone() throws NimbusException {
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTodoTask("todo Task " + i);
+        }
+        assertEquals("Noted. I've removed 4 tasks.\nNow you have 6 tasks in the list.",
+                taskList.deleteTask("delete 2-4,9"));
+        assertEquals("[T][ ] Task 5", taskList.getTasks().get(1).toString());
+        assertEquals(5, taskList.findTaskPosition(10));
+
+        taskList.markTask("mark 1,#6", true);
+        assertEquals("Noted. I've removed 2 tasks.\nNow you have 4 tasks in the list.",
+                taskList.deleteTask("delete done"));
+        assertEquals("[T][ ] Task 5", taskList.getTasks().get(0).toString());
+        assertEquals(2, taskList.findTaskPosition(8));
+        assertEquals("Here are the matching tasks for \"Task\":\n"
+                + "1. [T][ ] Task 5\n"
+                + "2. [T][ ] Task 7\n"
+                + "3. [T][ ] Task 8\n"
+                + "4. [T][ ] Task 10", taskList.findTasksByKeyword("find Task"));
+    }
+
+    @Test
+    void testDeleteTasks_invalidSelectionChangesNothing() throws NimbusException {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTodoTask("todo Task " + i);
+        }
+        NimbusException exception = assertThrows(NimbusException.class, () -> taskList.deleteTask("delete 4-2"));
+        assertEquals("Oops! The range 4-2 runs backwards. Please put the smaller number first.",
+                exception.getMessage());
+        exception = assertThrows(NimbusException.class, () -> taskList.deleteTask("delete 1,3-9"));
+        assertEquals("Oops! That task number doesn't exist. Please check your list.", exception.getMessage());
+        exception = assertThrows(NimbusException.class, () -> taskList.deleteTask("delete 1,,x"));
+        assertTrue(exception.getMessage().startsWith("Oops! Please provide task numbers like 3, 1,4,7-20"));
+        assertEquals(5, taskList.getTasks().size());
+    }
 }
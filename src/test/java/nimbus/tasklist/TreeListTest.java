@@ -0,0 +1,91 @@
+package nimbus.tasklist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TreeListTest {
+
+    @Test
+    void testRandomOperations_matchArrayList() {
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        TreeList<Integer> actual = new TreeList<>();
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (operation < 2 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -i), actual.set(index, -i));
+            }
+        }
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testConstructor_keepsOrderOfCollection() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(i);
+        }
+        TreeList<Integer> list = new TreeList<>(elements);
+        assertEquals(elements, list);
+
+        list.remove(0);
+        list.add(500, -1);
+        assertEquals(List.of(1, -1, 999), List.of(list.get(0), list.get(500), list.get(999)));
+    }
+
+    @Test
+    void testIteratorRemove_continuesFromNextElement() {
+        TreeList<Integer> list = new TreeList<>(List.of(1, 2, 3, 4, 5, 6));
+        Iterator<Integer> iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertEquals(List.of(1, 3, 5), list);
+    }
+
+    @Test
+    void testOutOfRange_throws() {
+        TreeList<String> list = new TreeList<>(List.of("a", "b"));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(3, "c"));
+    }
+
+    @Test
+    void testRemoveIf_matchesArrayList() {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        TreeList<Integer> actual = new TreeList<>(expected);
+        assertEquals(expected.removeIf(i -> i % 3 == 0 || (i > 100 && i < 700)),
+                actual.removeIf(i -> i % 3 == 0 || (i > 100 && i < 700)));
+        assertEquals(expected, actual);
+        assertEquals(false, actual.removeIf(i -> i < 0));
+
+        actual.add(5, -1);
+        expected.add(5, -1);
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,110 @@
+package nimbus.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DateTimeParserTest {
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HHmm"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HHmm"),
+            DateTimeFormatter.ofPattern("MMM dd yyyy HHmm"),
+            DateTimeFormatter.ofPattern("dd MM yyyy HHmm")
+    );
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("MMM dd yyyy"),
+            DateTimeFormatter.ofPattern("dd MM yyyy")
+    );
+
+    @Test
+    void testParseDateTime_everyFormat() {
+        LocalDateTime expected = LocalDateTime.of(2023, 10, 15, 18, 0);
+        assertEquals(expected, DateTimeParser.parseDateTime("2023-10-15 1800"));
+        assertEquals(expected, DateTimeParser.parseDateTime("15/10/2023 1800"));
+        assertEquals(expected, DateTimeParser.parseDateTime("Oct 15 2023 1800"));
+        assertEquals(expected, DateTimeParser.parseDateTime("15 10 2023 1800"));
+    }
+
+    @Test
+    void testParseDateTime_resolvesLikeTheFormatters() {
+        assertEquals(LocalDateTime.of(2023, 2, 28, 9, 30), DateTimeParser.parseDateTime("2023-02-31 0930"));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), DateTimeParser.parseDateTime("31/12/2023 2400"));
+        assertEquals(LocalDateTime.of(12345, 1, 2, 3, 4), DateTimeParser.parseDateTime("+12345-01-02 0304"));
+    }
+
+    @Test
+    void testParseDateTime_invalid_returnsNull() {
+        assertNull(DateTimeParser.parseDateTime("12-01-2023 1800"));
+        assertNull(DateTimeParser.parseDateTime("2023-10-15 2401"));
+        assertNull(DateTimeParser.parseDateTime("2023-13-15 1800"));
+        assertNull(DateTimeParser.parseDateTime("0000-10-15 1800"));
+        assertNull(DateTimeParser.parseDateTime("oct 15 2023 1800"));
+        assertNull(DateTimeParser.parseDateTime("2023-10-15 1800 "));
+        assertNull(DateTimeParser.parseDateTime("2023-10-15"));
+        assertNull(DateTimeParser.parseDateTime(""));
+    }
+
+    @Test
+    void testParseDate_everyFormat() {
+        LocalDate expected = LocalDate.of(2023, 10, 15);
+        assertEquals(expected, DateTimeParser.parseDate("2023-10-15"));
+        assertEquals(expected, DateTimeParser.parseDate("15/10/2023"));
+        assertEquals(expected, DateTimeParser.parseDate("Oct 15 2023"));
+        assertEquals(expected, DateTimeParser.parseDate("15 10 2023"));
+        assertNull(DateTimeParser.parseDate("2023-10-15 1800"));
+    }
+
+    @Test
+    void testParsers_acceptTheSameInputsAsTheFormatters() {
+        Random random = new Random(22);
+        String[] years = {"2023", "2024", "1900", "0001", "0000", "+12345", "+2023", "-2023", "202", "20231",
+            "+999999999", "+1000000000", "+0000000000000000001", "+00000000000000000001"};
+        String[] pieces = {"01", "02", "09", "10", "12", "13", "00", "28", "29", "30", "31", "32", "1", "1a"};
+        String[] months = {"Jan", "Feb", "Apr", "Sep", "Oct", "Dec", "oct", "OCT", "October", "Xyz"};
+        String[] times = {"0000", "0930", "2359", "2400", "2401", "2460", "1260", "930", "09:30", ""};
+        String[] separators = {"-", "/", " ", ".", ""};
+
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            String year = years[random.nextInt(years.length)];
+            String month = pieces[random.nextInt(pieces.length)];
+            String day = pieces[random.nextInt(pieces.length)];
+            String separator = separators[random.nextInt(separators.length)];
+            String date = switch (random.nextInt(4)) {
+            case 0 -> year + separator + month + separator + day;
+            case 1 -> day + separator + month + separator + year;
+            case 2 -> months[random.nextInt(months.length)] + separator + day + separator + year;
+            default -> day + " " + month + separator + year;
+            };
+            inputs.add(date);
+            inputs.add(date + " " + times[random.nextInt(times.length)]);
+        }
+        inputs.add("+999999999-12-31 2400");
+
+        for (String input : inputs) {
+            assertEquals(parseWithFormatters(input, DATE_TIME_FORMATS), DateTimeParser.parseDateTime(input), input);
+            assertEquals(parseWithFormatters(input, DATE_FORMATS), DateTimeParser.parseDate(input), input);
+        }
+    }
+
+    private static Object parseWithFormatters(String input, List<DateTimeFormatter> formats) {
+        for (DateTimeFormatter format : formats) {
+            try {
+                return formats == DATE_FORMATS ? LocalDate.parse(input, format) : LocalDateTime.parse(input, format);
+            } catch (DateTimeParseException ignored) {
+            }
+        }
+        return null;
+    }
+}
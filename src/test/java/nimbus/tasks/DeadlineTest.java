@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DeadlineTest {
@@ -16,6 +17,18 @@ class DeadlineTest {
         assertEquals("[D][ ] Submit report (by: Dec 01 2023, 6:00 pm)", deadline.toString());
     }
 
+    @Test
+    void testToString_updatesAfterMarking() throws NimbusException {
+        Deadline deadline = new Deadline("Submit report", "2023-12-01 1800");
+        String rendered = deadline.toString();
+        assertSame(rendered, deadline.toString());
+
+        deadline.markAsDone();
+        assertEquals("[D][X] Submit report (by: Dec 01 2023, 6:00 pm)", deadline.toString());
+        deadline.unmark();
+        assertEquals(rendered, deadline.toString());
+    }
+
     @Test
     void testInvalidDateFormat() {
         NimbusException exception = assertThrows(NimbusException.class, () -> {
@@ -40,4 +40,21 @@ class EventTest {
         LocalDateTime date = LocalDateTime.parse("2023-11-11T15:00");
         assertEquals(true, event.isOnDate(date));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testIsOnDate_daysInsideSpan() throws NimbusException {
+        Event event = new Event("Retreat", "2023-11-10 0900", "2023-11-13 1700");
+        assertEquals(true, event.isOnDate(LocalDateTime.parse("2023-11-12T08:00")));
+        assertEquals(false, event.isOnDate(LocalDateTime.parse("2023-11-14T08:00")));
+    }
+
+    @Test
+    void testEndsBeforeStart() throws NimbusException {
+        assertEquals(true, new Event("Overnight shift", "2023-11-10 2200", "2023-11-10 0600").endsBeforeStart());
+        assertEquals(false, new Event("Alarm", "2023-11-10 0900", "2023-11-10 0900").endsBeforeStart());
+
+        Event instant = new Event("Alarm", "2023-11-10 0900", "2023-11-10 0900");
+        assertEquals(true, instant.isOnDate(LocalDateTime.parse("2023-11-10T23:00")));
+        assertEquals(false, instant.isOnDate(LocalDateTime.parse("2023-11-11T00:00")));
+    }
+}
@@ -0,0 +1,28 @@
+package nimbus.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ResponseBufferTest {
+
+    @Test
+    void append_keepsEverythingWithinLimit() {
+        ResponseBuffer buffer = new ResponseBuffer(10);
+        buffer.append("Hello").append(',').append(" you", 0, 4);
+
+        assertFalse(buffer.isCutShort());
+        assertEquals("Hello, you", buffer.toString());
+    }
+
+    @Test
+    void append_dropsTextPastLimitAndSaysSo() {
+        ResponseBuffer buffer = new ResponseBuffer(8);
+        buffer.append("Here are").append('\n').append("1. [T][ ] Read book");
+
+        assertTrue(buffer.isCutShort());
+        assertTrue(buffer.toString().startsWith("Here are\n... (cut short"));
+    }
+}
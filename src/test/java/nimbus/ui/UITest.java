@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 import nimbus.exceptions.NimbusException;
 import nimbus.tasks.Deadline;
@@ -66,6 +67,17 @@ public class UITest {
         assertEquals(expected, ui.showTaskAdded(task, 1));
     }
 
+    @Test
+    void testShowTaskAdded_withId() {
+        Task task = new Todo("Read book");
+        task.setId(12);
+
+        String expected = "Got it. I've added this task as #12:\n" +
+                "  [T][ ] Read book\n" +
+                "Now you have 1 tasks in the list.";
+        assertEquals(expected, ui.showTaskAdded(task, 1));
+    }
+
     @Test
     void testShowTaskMarked() {
         Task task = new Todo("Read book");
@@ -117,6 +129,18 @@ public class UITest {
         assertEquals(expected, UI.showTasksOnDate(searchDate, taskList));
     }
 
+    @Test
+    void testShowTasksInRange() throws NimbusException {
+        Deadline deadline = new Deadline("Submit report", "20/02/2025 1800");
+
+        String expected = "Tasks from Feb 01 2025 to Feb 28 2025:\n"
+                + "  [D][ ] Submit report (by: Feb 20 2025, 6:00 pm)";
+        assertEquals(expected, ui.showTasksInRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28),
+                List.of(deadline)));
+        assertEquals("Tasks from Feb 01 2025 to Feb 28 2025:\n  No tasks found in this range.",
+                ui.showTasksInRange(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), List.of()));
+    }
+
     @Test
     void testShowMatchingTasks_NoMatches() {
         String expected = "Here are the matching tasks for \"report\":\n  No matching tasks found.";
@@ -133,6 +157,28 @@ public class UITest {
         assertEquals(expected, ui.showMatchingTasks(taskList, "report"));
     }
 
+    @Test
+    void testShowTaskPage_rendersOnlyThePageWithTotals() {
+        List<Task> page = List.of(new Todo("Task 3"), new Todo("Task 4"));
+
+        assertEquals("Here are the tasks in your list:\n"
+                + "3. [T][ ] Task 3\n"
+                + "4. [T][ ] Task 4\n"
+                + "Showing tasks 3-4 of 7. Type 'list 3 2' for more.", ui.showTaskPage(page, 3, 7, "list 3 2"));
+        assertEquals("Here are the tasks in your list:\n"
+                + "3. [T][ ] Task 3\n"
+                + "4. [T][ ] Task 4\n"
+                + "Showing tasks 3-4 of 4.", ui.showTaskPage(page, 3, 4, null));
+    }
+
+    @Test
+    void testShowMatchingTaskPage_numbersByPlaceAmongMatches() {
+        assertEquals("Here are the matching tasks for \"book\":\n"
+                + "51. [T][ ] Read book\n"
+                + "Showing matches 51-51 of 120. Type 'find book /after 88' for more.",
+                ui.showMatchingTaskPage(List.of(new Todo("Read book")), "book", 51, 120, "find book /after 88"));
+    }
+
     @Test
     void testShowSortedTasks() throws NimbusException {
         Task task1 = new Todo("Read book");